@@ -0,0 +1,32 @@
+package ru.rsreu.savushkin.mazerobot.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Точка входа для запуска бенчмарков.
+ * <p>Принимает стандартные аргументы командной строки JMH и всегда подключает профилировщик
+ * {@link GCProfiler}, чтобы в отчете присутствовала скорость выделения памяти
+ * ({@code gc.alloc.rate} и {@code gc.alloc.rate.norm}).</p>
+ */
+public class BenchmarkRunner {
+    /**
+     * Запускает бенчмарки.
+     *
+     * @param args Аргументы JMH (например, фильтр бенчмарков или {@code -p size=200}).
+     * @throws RunnerException при ошибке выполнения бенчмарков.
+     * @throws CommandLineOptionException при некорректных аргументах.
+     */
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
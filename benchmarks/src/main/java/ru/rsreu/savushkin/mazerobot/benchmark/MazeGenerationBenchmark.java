@@ -0,0 +1,75 @@
+package ru.rsreu.savushkin.mazerobot.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.rsreu.savushkin.mazerobot.core.model.MazeModel;
+import ru.rsreu.savushkin.mazerobot.core.model.generator.EllerGenerator;
+import ru.rsreu.savushkin.mazerobot.core.model.generator.KruskalGenerator;
+import ru.rsreu.savushkin.mazerobot.core.model.generator.MazeGenerator;
+import ru.rsreu.savushkin.mazerobot.core.model.generator.RandomFillGenerator;
+import ru.rsreu.savushkin.mazerobot.core.model.generator.RecursiveBacktrackerGenerator;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарк построения лабиринта конструктором {@link MazeModel}.
+ * <p>Измеряет генерацию сетки генераторами, проходимыми по построению: случайное заполнение с
+ * восстановлением связности и идеальные лабиринты (рекурсивный возврат, Краскал, Эллер).</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MazeGenerationBenchmark {
+    /** Сторона квадратного лабиринта. */
+    @Param({"50", "200", "500"})
+    private int size;
+
+    /** Вероятность стены во внутренней клетке. */
+    @Param({"0.1", "0.2", "0.3"})
+    private double wallDensity;
+
+    /** Зерно генератора лабиринта. */
+    @Param({"1", "42"})
+    private long seed;
+
+    /** Алгоритм генерации; плотность стен учитывается только случайным заполнением. */
+    @Param({"random", "backtracker", "kruskal", "eller"})
+    private String generatorName;
+
+    private MazeGenerator generator;
+
+    /**
+     * Создает генератор по имени параметра.
+     */
+    @Setup
+    public void setUp() {
+        generator = switch (generatorName) {
+            case "backtracker" -> new RecursiveBacktrackerGenerator();
+            case "kruskal" -> new KruskalGenerator();
+            case "eller" -> new EllerGenerator();
+            default -> new RandomFillGenerator(wallDensity);
+        };
+    }
+
+    /**
+     * Измеряет создание одного лабиринта.
+     *
+     * @return Построенная модель (возвращается, чтобы JIT не удалил вычисление).
+     */
+    @Benchmark
+    public MazeModel generate() {
+        return new MazeModel(size, size, generator, seed, false);
+    }
+}
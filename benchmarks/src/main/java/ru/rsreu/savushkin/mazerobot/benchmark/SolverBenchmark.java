@@ -0,0 +1,86 @@
+package ru.rsreu.savushkin.mazerobot.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.rsreu.savushkin.mazerobot.core.model.MazeModel;
+import ru.rsreu.savushkin.mazerobot.core.solver.PathFindingManager;
+import ru.rsreu.savushkin.mazerobot.core.state.maze.MazeEnvironment;
+import ru.rsreu.savushkin.mazerobot.core.state.maze.MazeState;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарк алгоритмов поиска пути через {@link PathFindingManager#findPath}.
+ * <p>Лабиринт строится один раз на каждую комбинацию параметров (размер, плотность стен, зерно),
+ * поэтому в измерение попадает только сам поиск. Кэш путей менеджера отключен: иначе после первого
+ * вызова каждое измерение было бы обращением к кэшу, а не поиском.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SolverBenchmark {
+    /** Сторона квадратного лабиринта. */
+    @Param({"50", "200", "500"})
+    private int size;
+
+    /** Вероятность стены во внутренней клетке. */
+    @Param({"0.1", "0.2", "0.3"})
+    private double wallDensity;
+
+    /** Зерно генератора лабиринта. */
+    @Param({"1", "42"})
+    private long seed;
+
+    /** Имя алгоритма, зарегистрированного в {@link PathFindingManager}. */
+    @Param({
+            "Breadth-First Search (BFS)",
+            "Depth-First Search (Graph DFS)",
+            "A* Search",
+            "A* Search (Grid Engine)",
+            "A* Search (Bucket Queue)",
+            "Gradient Search"
+    })
+    private String algorithm;
+
+    private PathFindingManager manager;
+    private MazeEnvironment environment;
+    private MazeState start;
+
+    /**
+     * Генерирует лабиринт и выбирает алгоритм перед серией измерений.
+     */
+    @Setup
+    public void setUp() {
+        environment = new MazeEnvironment(new MazeModel(size, size, wallDensity, seed));
+        start = environment.getInitialState();
+        manager = new PathFindingManager();
+        manager.setCacheEnabled(false);
+        if (!manager.getAvailable().contains(algorithm)) {
+            throw new IllegalArgumentException("Unknown algorithm: " + algorithm);
+        }
+        manager.setAlgorithm(algorithm);
+    }
+
+    /**
+     * Измеряет один поиск пути от стартового состояния до цели.
+     *
+     * @return Найденный путь (возвращается, чтобы JIT не удалил вычисление).
+     */
+    @Benchmark
+    public List<MazeState> findPath() {
+        return manager.findPath(environment, start);
+    }
+}
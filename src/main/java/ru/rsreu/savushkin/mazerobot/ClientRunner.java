@@ -1,6 +1,8 @@
 package ru.rsreu.savushkin.mazerobot;
 
 import ru.rsreu.savushkin.mazerobot.core.controller.MazeController;
+import ru.rsreu.savushkin.mazerobot.core.model.EventBus;
+import ru.rsreu.savushkin.mazerobot.core.model.MazeFile;
 import ru.rsreu.savushkin.mazerobot.core.model.MazeModel;
 import ru.rsreu.savushkin.mazerobot.core.model.RobotAgent;
 import ru.rsreu.savushkin.mazerobot.core.solver.PathFindingManager;
@@ -9,6 +11,8 @@ import ru.rsreu.savushkin.mazerobot.ui.view.AboutDialog;
 import ru.rsreu.savushkin.mazerobot.ui.view.MazeView;
 
 import javax.swing.*;
+import java.io.IOException;
+import java.nio.file.Path;
 
 /**
  * Intelligent Maze Robot Solver
@@ -25,15 +29,20 @@ public class ClientRunner {
     /**
      * Основной метод приложения. Запускает инициализацию GUI в потоке AWT Event Dispatch Thread.
      *
-     * @param args Аргументы командной строки (не используются).
+     * @param args Аргументы командной строки: необязательный путь к файлу лабиринта ({@link MazeFile}).
+     *             Без аргументов генерируется случайный лабиринт.
+     * @throws IOException если файл лабиринта не удалось открыть.
      */
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
+        // Файл отображается в память и готов к работе без разбора содержимого
+        MazeModel maze = args.length > 0 ? MazeFile.open(Path.of(args[0])) : new MazeModel(20, 15);
+
         SwingUtilities.invokeLater(() -> {
 
             // 1. Инициализация MVC
-            MazeModel maze = new MazeModel(20, 15);
             var env = new MazeEnvironment(maze);
-            var agent = new RobotAgent<>(env);
+            // События агента доставляются в потоке Swing, а серии быстрых ходов объединяются
+            var agent = new RobotAgent<>(env, new EventBus(SwingUtilities::invokeLater));
             var pathMgr = new PathFindingManager();
 
             var view = new MazeView(maze, agent, pathMgr);
@@ -0,0 +1,100 @@
+package ru.rsreu.savushkin.mazerobot.batch;
+
+import ru.rsreu.savushkin.mazerobot.core.model.MazeModel;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Параметры командной строки пакетного запуска.
+ */
+final class BatchOptions {
+    static final String USAGE = """
+            Usage: BatchRunner [options]
+              --maze FILE           solve a maze file (repeatable)
+              --generate N          generate N mazes with seeds seed, seed + 1, ...
+              --size WxH            size of generated mazes (default 201x201)
+              --generator NAME      random | backtracker | kruskal | eller (default random)
+              --density D           wall density for the random generator (default %s)
+              --seed S              first seed for generated mazes (default 1)
+              --terrain MAX         add terrain with cell costs 1..MAX to generated mazes (default: none)
+              --solvers LIST        comma-separated solver names or name fragments, "all" or "optimal" (default all)
+              --repeat N            runs per solver and maze (default 1)
+              --threads N           worker threads (default: number of processors)
+              --format FORMAT       csv | jsonl (default: by output extension, otherwise csv)
+              --output FILE         result file (default: standard output)
+              --list                print available solvers and exit
+            """.formatted(MazeModel.DEFAULT_WALL_DENSITY);
+
+    final List<Path> mazeFiles = new ArrayList<>();
+    int generateCount;
+    int width = 201;
+    int height = 201;
+    String generator = "random";
+    double density = MazeModel.DEFAULT_WALL_DENSITY;
+    long seed = 1;
+    int terrain;
+    String solvers = "all";
+    int repeat = 1;
+    int threads = Runtime.getRuntime().availableProcessors();
+    String format;
+    Path output;
+    boolean list;
+
+    private BatchOptions() {
+    }
+
+    /**
+     * Разбирает аргументы командной строки.
+     *
+     * @param args Аргументы.
+     * @return Параметры запуска.
+     * @throws IllegalArgumentException при неизвестном параметре или неверном значении.
+     */
+    static BatchOptions parse(String[] args) {
+        BatchOptions options = new BatchOptions();
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (arg.equals("--list")) {
+                options.list = true;
+                continue;
+            }
+            if (i + 1 >= args.length) throw new IllegalArgumentException("Missing value for " + arg);
+            String value = args[++i];
+            switch (arg) {
+                case "--maze" -> options.mazeFiles.add(Path.of(value));
+                case "--generate" -> options.generateCount = positive(arg, value);
+                case "--size" -> {
+                    String[] parts = value.split("x");
+                    if (parts.length != 2) throw new IllegalArgumentException("Size must be WxH: " + value);
+                    options.width = positive(arg, parts[0]);
+                    options.height = positive(arg, parts[1]);
+                }
+                case "--generator" -> options.generator = value;
+                case "--density" -> options.density = Double.parseDouble(value);
+                case "--seed" -> options.seed = Long.parseLong(value);
+                case "--terrain" -> options.terrain = positive(arg, value);
+                case "--solvers" -> options.solvers = value;
+                case "--repeat" -> options.repeat = positive(arg, value);
+                case "--threads" -> options.threads = positive(arg, value);
+                case "--format" -> options.format = value;
+                case "--output" -> options.output = Path.of(value);
+                default -> throw new IllegalArgumentException("Unknown option: " + arg);
+            }
+        }
+        if (options.format == null) {
+            options.format = options.output != null && options.output.toString().endsWith(".jsonl") ? "jsonl" : "csv";
+        }
+        if (!options.list && options.mazeFiles.isEmpty() && options.generateCount == 0) {
+            throw new IllegalArgumentException("Nothing to solve: use --maze or --generate");
+        }
+        return options;
+    }
+
+    private static int positive(String option, String value) {
+        int n = Integer.parseInt(value);
+        if (n < 1) throw new IllegalArgumentException(option + " must be positive: " + value);
+        return n;
+    }
+}
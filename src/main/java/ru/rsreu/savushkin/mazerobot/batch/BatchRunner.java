@@ -0,0 +1,254 @@
+package ru.rsreu.savushkin.mazerobot.batch;
+
+import ru.rsreu.savushkin.mazerobot.core.jfr.SolveEvent;
+import ru.rsreu.savushkin.mazerobot.core.model.MazeFile;
+import ru.rsreu.savushkin.mazerobot.core.model.MazeModel;
+import ru.rsreu.savushkin.mazerobot.core.model.generator.EllerGenerator;
+import ru.rsreu.savushkin.mazerobot.core.model.generator.KruskalGenerator;
+import ru.rsreu.savushkin.mazerobot.core.model.generator.MazeGenerator;
+import ru.rsreu.savushkin.mazerobot.core.model.generator.RandomFillGenerator;
+import ru.rsreu.savushkin.mazerobot.core.model.generator.RecursiveBacktrackerGenerator;
+import ru.rsreu.savushkin.mazerobot.core.model.generator.TerrainGenerator;
+import ru.rsreu.savushkin.mazerobot.core.solver.PathFindingManager;
+import ru.rsreu.savushkin.mazerobot.core.solver.ProblemSolver;
+import ru.rsreu.savushkin.mazerobot.core.solver.SearchStats;
+import ru.rsreu.savushkin.mazerobot.core.state.maze.MazeEnvironment;
+import ru.rsreu.savushkin.mazerobot.core.state.maze.MazeState;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Консольный пакетный запуск решателей без графического интерфейса.
+ * <p>Загружает лабиринты из файлов ({@link MazeFile}) или генерирует их, запускает выбранные
+ * решатели из {@link PathFindingManager} на каждом лабиринте в пуле потоков и выводит результат
+ * каждого запуска в CSV или JSON Lines. Не использует AWT/Swing и работает на серверах без дисплея.</p>
+ * <p>Решатели вызываются напрямую, в обход кэша путей менеджера, чтобы каждый повтор выполнял
+ * настоящий поиск. Для каждого запуска создается новый экземпляр решателя, поэтому повторы и потоки
+ * не разделяют внутренние кэши решателей. Следствие: у HPA*, поиска по полю расстояний и D* Lite
+ * колонки {@code nanos}, {@code expanded} и {@code allocated_bytes} каждого запуска включают
+ * однократную подготовку (построение графа кластеров, поля расстояний или первый полный поиск),
+ * а не только ответ на запрос. Лабиринты загружаются по мере
+ * освобождения потоков, так что в памяти одновременно находится лишь несколько лабиринтов.</p>
+ */
+public class BatchRunner {
+    /** Размер «пятен» рельефа в клетках для {@code --terrain}. */
+    private static final int TERRAIN_FEATURE_SIZE = 16;
+
+    private final BatchOptions options;
+    private final List<String> solverNames;
+    private final PathFindingManager manager = new PathFindingManager();
+    private final List<MemoryPoolMXBean> heapPools = new ArrayList<>();
+
+    /**
+     * Точка входа.
+     *
+     * @param args Аргументы командной строки (см. {@code --help}).
+     */
+    public static void main(String[] args) {
+        BatchOptions options;
+        try {
+            if (args.length == 0 || args[0].equals("--help")) {
+                System.out.print(BatchOptions.USAGE);
+                return;
+            }
+            options = BatchOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.print(BatchOptions.USAGE);
+            System.exit(2);
+            return;
+        }
+
+        if (options.list) {
+            new PathFindingManager().getAvailable().forEach(System.out::println);
+            return;
+        }
+        try {
+            new BatchRunner(options).run();
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Batch run failed: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    BatchRunner(BatchOptions options) {
+        this.options = options;
+        this.solverNames = selectSolvers(manager, options.solvers);
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) heapPools.add(pool);
+        }
+    }
+
+    /**
+     * Выбирает решатели по списку имен: точное совпадение имени или вхождение фрагмента без учета регистра.
+     *
+     * @param manager Менеджер с зарегистрированными решателями.
+     * @param spec Список через запятую, {@code all} или {@code optimal}.
+     * @return Имена выбранных решателей в порядке регистрации.
+     * @throws IllegalArgumentException если фрагмент не соответствует ни одному решателю.
+     */
+    static List<String> selectSolvers(PathFindingManager manager, String spec) {
+        List<String> selected = new ArrayList<>();
+        for (String token : spec.split(",")) {
+            String fragment = token.trim().toLowerCase(Locale.ROOT);
+            boolean matched = false;
+            for (String name : manager.getAvailable()) {
+                boolean match = switch (fragment) {
+                    case "all" -> true;
+                    case "optimal" -> manager.getSolver(name).isOptimal();
+                    default -> name.equalsIgnoreCase(fragment) || name.toLowerCase(Locale.ROOT).contains(fragment);
+                };
+                if (match) {
+                    matched = true;
+                    if (!selected.contains(name)) selected.add(name);
+                }
+            }
+            if (!matched) throw new IllegalArgumentException("Unknown solver: " + token);
+        }
+        return selected;
+    }
+
+    /**
+     * Выполняет все запуски и выводит результаты по мере завершения.
+     *
+     * @throws IOException при ошибке чтения лабиринта или вывода результатов.
+     */
+    void run() throws IOException {
+        Writer out = options.output != null
+                ? Files.newBufferedWriter(options.output, StandardCharsets.UTF_8)
+                : new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+        int mazeCount = options.mazeFiles.size() + options.generateCount;
+        ExecutorService pool = Executors.newFixedThreadPool(options.threads);
+        try (ResultWriter writer = ResultWriter.create(options.format, out)) {
+            CompletionService<RunRecord> completion = new ExecutorCompletionService<>(pool);
+            int pending = 0;
+            for (int m = 0; m < mazeCount; m++) {
+                // Следующий лабиринт загружаем только когда освободились потоки
+                while (pending >= options.threads) {
+                    writer.write(take(completion));
+                    pending--;
+                }
+                String mazeName = mazeName(m);
+                MazeModel maze = loadMaze(m);
+                for (String solver : solverNames) {
+                    for (int r = 0; r < options.repeat; r++) {
+                        int run = r;
+                        completion.submit(() -> solveOnce(mazeName, maze, solver, run));
+                        pending++;
+                    }
+                }
+            }
+            for (; pending > 0; pending--) writer.write(take(completion));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private String mazeName(int index) {
+        if (index < options.mazeFiles.size()) return options.mazeFiles.get(index).getFileName().toString();
+        long seed = options.seed + index - options.mazeFiles.size();
+        return options.generator + "-" + options.width + "x" + options.height + "-" + seed;
+    }
+
+    private MazeModel loadMaze(int index) throws IOException {
+        if (index < options.mazeFiles.size()) return MazeFile.open(options.mazeFiles.get(index), FileChannel.MapMode.READ_ONLY);
+        long seed = options.seed + index - options.mazeFiles.size();
+        MazeModel maze = new MazeModel(options.width, options.height, generator(options.generator, options.density), seed, false);
+        if (options.terrain > 0) maze.generateTerrain(new TerrainGenerator(options.terrain, TERRAIN_FEATURE_SIZE), seed);
+        return maze;
+    }
+
+    /**
+     * Создает генератор лабиринта по имени.
+     *
+     * @param name Имя: {@code random}, {@code backtracker}, {@code kruskal} или {@code eller}.
+     * @param density Плотность стен для случайного заполнения.
+     * @return Генератор.
+     * @throws IllegalArgumentException если имя неизвестно.
+     */
+    static MazeGenerator generator(String name, double density) {
+        return switch (name) {
+            case "random" -> new RandomFillGenerator(density);
+            case "backtracker" -> new RecursiveBacktrackerGenerator();
+            case "kruskal" -> new KruskalGenerator();
+            case "eller" -> new EllerGenerator();
+            default -> throw new IllegalArgumentException("Unknown generator: " + name);
+        };
+    }
+
+    /**
+     * Выполняет один поиск в рабочем потоке и измеряет время и память.
+     */
+    private RunRecord solveOnce(String mazeName, MazeModel maze, String solverName, int run) {
+        ProblemSolver solver = manager.createSolver(solverName);
+        MazeEnvironment env = new MazeEnvironment(maze);
+        MazeState start = env.getInitialState();
+        if (options.threads == 1) heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+
+        SearchStats stats = new SearchStats();
+        SolveEvent event = new SolveEvent();
+        long allocatedBefore = allocatedBytes();
+        event.begin();
+        long startTime = System.nanoTime();
+        List<MazeState> path = List.of();
+        String error = null;
+        try {
+            path = solver.solve(env, start, stats);
+        } catch (RuntimeException | OutOfMemoryError e) {
+            error = e.toString();
+        }
+        long nanos = System.nanoTime() - startTime;
+        event.end();
+        long allocatedAfter = allocatedBytes();
+        if (error == null && event.shouldCommit()) {
+            event.set(solverName, maze.getWidth(), maze.getHeight(), stats);
+            event.commit();
+        }
+
+        long peakHeap = 0;
+        for (MemoryPoolMXBean pool : heapPools) peakHeap += pool.getPeakUsage().getUsed();
+        boolean found = !path.isEmpty();
+        return new RunRecord(mazeName, maze.getWidth(), maze.getHeight(), solverName, run, found,
+                found ? env.pathCost(path) : Double.POSITIVE_INFINITY, path.size(), error == null ? stats.getExpanded() : -1, nanos,
+                allocatedBefore < 0 ? -1 : allocatedAfter - allocatedBefore, peakHeap, error);
+    }
+
+    /**
+     * Возвращает объем памяти, выделенный текущим потоком, если JVM это поддерживает.
+     */
+    private static long allocatedBytes() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads
+                && threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()) {
+            return threads.getCurrentThreadAllocatedBytes();
+        }
+        return -1;
+    }
+
+    private static RunRecord take(CompletionService<RunRecord> completion) throws IOException {
+        try {
+            return completion.take().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Batch run interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Batch run failed", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package ru.rsreu.savushkin.mazerobot.batch;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Вывод результатов в формате CSV (RFC 4180) с заголовком.
+ */
+public class CsvResultWriter implements ResultWriter {
+    private static final String HEADER =
+            "maze,width,height,solver,run,found,cost,length,expanded,nanos,allocated_bytes,peak_heap_bytes,error";
+
+    private final Writer out;
+
+    /**
+     * Создает приемник и выводит строку заголовка.
+     *
+     * @param out Поток вывода.
+     * @throws IOException при ошибке вывода.
+     */
+    public CsvResultWriter(Writer out) throws IOException {
+        this.out = out;
+        out.write(HEADER);
+        out.write('\n');
+    }
+
+    @Override
+    public void write(RunRecord r) throws IOException {
+        out.write(String.join(",",
+                quote(r.maze()), Integer.toString(r.width()), Integer.toString(r.height()), quote(r.solver()),
+                Integer.toString(r.run()), Boolean.toString(r.found()), r.found() ? Double.toString(r.cost()) : "",
+                Integer.toString(r.length()), Long.toString(r.expanded()), Long.toString(r.nanos()),
+                Long.toString(r.allocatedBytes()), Long.toString(r.peakHeapBytes()),
+                r.error() == null ? "" : quote(r.error())));
+        out.write('\n');
+        out.flush();
+    }
+
+    /**
+     * Заключает значение в кавычки, если оно содержит разделители, кавычки или переводы строк.
+     */
+    private static String quote(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+}
@@ -0,0 +1,69 @@
+package ru.rsreu.savushkin.mazerobot.batch;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Вывод результатов в формате JSON Lines: один объект на строку.
+ * <p>Стоимость ненайденного пути и отсутствующая ошибка выводятся как {@code null}.</p>
+ */
+public class JsonLinesResultWriter implements ResultWriter {
+    private final Writer out;
+
+    /**
+     * Создает приемник.
+     *
+     * @param out Поток вывода.
+     */
+    public JsonLinesResultWriter(Writer out) {
+        this.out = out;
+    }
+
+    @Override
+    public void write(RunRecord r) throws IOException {
+        StringBuilder sb = new StringBuilder(256);
+        sb.append("{\"maze\":").append(string(r.maze()))
+                .append(",\"width\":").append(r.width())
+                .append(",\"height\":").append(r.height())
+                .append(",\"solver\":").append(string(r.solver()))
+                .append(",\"run\":").append(r.run())
+                .append(",\"found\":").append(r.found())
+                .append(",\"cost\":").append(r.found() ? Double.toString(r.cost()) : "null")
+                .append(",\"length\":").append(r.length())
+                .append(",\"expanded\":").append(r.expanded())
+                .append(",\"nanos\":").append(r.nanos())
+                .append(",\"allocated_bytes\":").append(r.allocatedBytes())
+                .append(",\"peak_heap_bytes\":").append(r.peakHeapBytes())
+                .append(",\"error\":").append(r.error() == null ? "null" : string(r.error()))
+                .append("}\n");
+        out.write(sb.toString());
+        out.flush();
+    }
+
+    /**
+     * Экранирует строку по правилам JSON.
+     */
+    private static String string(String value) {
+        StringBuilder sb = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> {
+                    if (c < 0x20) sb.append(String.format("\\u%04x", (int) c));
+                    else sb.append(c);
+                }
+            }
+        }
+        return sb.append('"').toString();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+}
@@ -0,0 +1,37 @@
+package ru.rsreu.savushkin.mazerobot.batch;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Приемник результатов пакетного запуска.
+ * <p>Каждая запись выводится сразу, поэтому при долгом прогоне результаты видны по мере готовности,
+ * а прерванный прогон оставляет корректный файл с уже завершенными запусками.</p>
+ */
+public interface ResultWriter extends Closeable {
+    /**
+     * Записывает результат одного запуска.
+     *
+     * @param record Результат.
+     * @throws IOException при ошибке вывода.
+     */
+    void write(RunRecord record) throws IOException;
+
+    /**
+     * Создает приемник заданного формата.
+     *
+     * @param format Формат: {@code csv} или {@code jsonl}.
+     * @param out Поток вывода (закрывается вместе с приемником).
+     * @return Приемник результатов.
+     * @throws IOException при ошибке вывода заголовка.
+     * @throws IllegalArgumentException если формат неизвестен.
+     */
+    static ResultWriter create(String format, Writer out) throws IOException {
+        return switch (format) {
+            case "csv" -> new CsvResultWriter(out);
+            case "jsonl" -> new JsonLinesResultWriter(out);
+            default -> throw new IllegalArgumentException("Unknown output format: " + format);
+        };
+    }
+}
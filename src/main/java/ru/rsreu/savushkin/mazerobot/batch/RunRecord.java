@@ -0,0 +1,23 @@
+package ru.rsreu.savushkin.mazerobot.batch;
+
+/**
+ * Результат одного запуска решателя на одном лабиринте.
+ *
+ * @param maze Имя лабиринта (имя файла или описание генерации).
+ * @param width Ширина лабиринта.
+ * @param height Высота лабиринта.
+ * @param solver Имя алгоритма.
+ * @param run Номер повтора (с нуля).
+ * @param found Найден ли путь.
+ * @param cost Стоимость пути ({@link Double#POSITIVE_INFINITY}, если путь не найден).
+ * @param length Количество состояний в пути.
+ * @param expanded Количество раскрытых узлов ({@link ru.rsreu.savushkin.mazerobot.core.solver.SearchStats#getExpanded()}) или {@code -1}, если поиск завершился ошибкой.
+ * @param nanos Время поиска в наносекундах.
+ * @param allocatedBytes Объем памяти, выделенный потоком во время поиска, или {@code -1}, если JVM не поддерживает измерение.
+ * @param peakHeapBytes Пиковое использование кучи во время поиска (точно только при одном рабочем потоке).
+ * @param error Сообщение об ошибке или {@code null}.
+ */
+public record RunRecord(String maze, int width, int height, String solver, int run, boolean found, double cost,
+                        int length, long expanded, long nanos, long allocatedBytes, long peakHeapBytes,
+                        String error) {
+}
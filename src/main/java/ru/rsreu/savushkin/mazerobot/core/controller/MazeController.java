@@ -1,24 +1,43 @@
 package ru.rsreu.savushkin.mazerobot.core.controller;
 
+import ru.rsreu.savushkin.mazerobot.core.entity.CellType;
+import ru.rsreu.savushkin.mazerobot.core.entity.GoalReachedEvent;
+import ru.rsreu.savushkin.mazerobot.core.entity.PathComputedEvent;
+import ru.rsreu.savushkin.mazerobot.core.model.MazeModel;
+import ru.rsreu.savushkin.mazerobot.core.solver.ExpansionRing;
 import ru.rsreu.savushkin.mazerobot.core.solver.PathFindingManager;
+import ru.rsreu.savushkin.mazerobot.core.solver.SearchControl;
+import ru.rsreu.savushkin.mazerobot.core.solver.SolveHandle;
 import ru.rsreu.savushkin.mazerobot.core.model.RobotAgent;
 import ru.rsreu.savushkin.mazerobot.core.state.Environment;
+import ru.rsreu.savushkin.mazerobot.core.state.maze.MazeEnvironment;
 import ru.rsreu.savushkin.mazerobot.core.state.maze.MazeState;
 import ru.rsreu.savushkin.mazerobot.core.state.maze.MoveAction;
 import ru.rsreu.savushkin.mazerobot.ui.view.MazeView;
 
+import javax.swing.SwingUtilities;
 import java.awt.event.KeyAdapter;
 import java.awt.event.KeyEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.time.Duration;
 
 /**
  * <p>Контроллер, управляющий взаимодействием между агентом-роботом, средой (лабиринтом) и пользовательским интерфейсом (представлением).</p>
  * <p>Обрабатывает ввод пользователя (нажатия клавиш) и инициирует поиск пути с помощью PathFindingManager.</p>
+ * <p>Щелчок мышью по ячейке лабиринта ставит или убирает стену.</p>
+ * <p>Поиск пути выполняется в фоновом потоке, чтобы окно оставалось отзывчивым; пока он идет,
+ * лабиринт не редактируется, а поиск можно отменить.</p>
  */
 public class MazeController {
+    /** Предельное время поиска пути из интерфейса; по его истечении показывается частичный путь. */
+    private static final Duration SEARCH_DEADLINE = Duration.ofSeconds(30);
+
     private final RobotAgent<?> agent;
     private final MazeView view;
     private final PathFindingManager pathMgr;
     private boolean gameRunning = true;
+    private SolveHandle<MazeState> search;
 
     /**
      * Создает новый контроллер лабиринта.
@@ -34,7 +53,51 @@ public class MazeController {
 
         view.setController(this);
         agent.addListener(view);
+        agent.addListener(event -> {
+            if (event instanceof GoalReachedEvent<?>) {
+                gameRunning = false;
+                view.showVictory();
+            }
+        });
+        if (agent.getEnvironment() instanceof MazeEnvironment mazeEnv) {
+            mazeEnv.getMaze().addListener(view);
+        }
         setupKeyControls();
+        setupMouseControls();
+    }
+
+    private void setupMouseControls() {
+        view.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mousePressed(MouseEvent e) {
+                // Правая и средняя кнопки прокручивают лабиринт
+                if (!SwingUtilities.isLeftMouseButton(e)) return;
+                MazeState cell = view.cellAt(e.getPoint());
+                toggleWall(cell.x(), cell.y());
+            }
+        });
+    }
+
+    /**
+     * Ставит стену в пустую ячейку или убирает ее из ячейки со стеной.
+     * <p>Внешняя граница, клад и текущее положение робота не изменяются.</p>
+     *
+     * @param x Координата X ячейки.
+     * @param y Координата Y ячейки.
+     */
+    public void toggleWall(int x, int y) {
+        if (!(agent.getEnvironment() instanceof MazeEnvironment mazeEnv)) return;
+        if (isSearching()) return;
+        MazeModel maze = mazeEnv.getMaze();
+        if (x <= 0 || y <= 0 || x >= maze.getWidth() - 1 || y >= maze.getHeight() - 1) return;
+        if (agent.getCurrentState().equals(new MazeState(x, y))) return;
+
+        CellType cell = maze.getCell(x, y);
+        if (cell == CellType.WALL) {
+            maze.setCell(x, y, CellType.EMPTY);
+        } else if (cell == CellType.EMPTY) {
+            maze.setCell(x, y, CellType.WALL);
+        }
     }
 
     private void setupKeyControls() {
@@ -59,14 +122,8 @@ public class MazeController {
                     dy *= 2;
                 }
 
-                MoveAction action = new MoveAction(dx, dy, isDouble);
-
-                if (agent.applyAction(action)) {
-                    if (agent.isAtGoal()) {
-                        gameRunning = false;
-                        view.showVictory();
-                    }
-                }
+                // О достижении цели агент сообщит событием GoalReachedEvent
+                agent.applyAction(new MoveAction(dx, dy, isDouble));
             }
         });
     }
@@ -83,17 +140,50 @@ public class MazeController {
     /**
      * Инициирует поиск пути от текущего состояния агента до цели,
      * используя текущий выбранный алгоритм в {@code PathFindingManager}.
+     * <p>Поиск запускается асинхронно; прогресс передается представлению в потоке обработки событий
+     * Swing, а результат публикуется в шину агента событием {@link PathComputedEvent}. Если в
+     * представлении включена тепловая карта, решатель пишет раскрытые клетки в {@link ExpansionRing},
+     * который представление читает с частотой кадров. Повторный вызов во время поиска игнорируется.</p>
      */
     public void findPath() {
+        if (isSearching()) return;
         // Явное приведение типов для решения проблем с Generics
         MazeState startState = (MazeState) agent.getCurrentState();
 
         @SuppressWarnings("unchecked")
         Environment<MazeState, ?> environment = (Environment<MazeState, ?>) agent.getEnvironment();
 
-        var path = pathMgr.findPath(environment, startState);
+        SearchControl control = new SearchControl()
+                .withDeadline(SEARCH_DEADLINE)
+                .withProgress((expanded, openSize, elapsedNanos) -> SwingUtilities.invokeLater(
+                        () -> view.showProgress(expanded, openSize, elapsedNanos)));
+        ExpansionRing ring = view.isHeatmapEnabled() ? new ExpansionRing() : null;
+        control.withObserver(ring);
+        String algorithm = pathMgr.getCurrentAlgorithmName();
+        SolveHandle<MazeState> handle = pathMgr.findPathAsync(environment, startState, control);
+        search = handle;
+        view.setSearching(true);
+        if (ring != null) view.startHeatmap(ring);
+        handle.result().whenComplete((path, error) -> SwingUtilities.invokeLater(() -> {
+            search = null;
+            view.setSearching(false);
+            if (error != null) {
+                view.showError("Path search failed: " + error.getCause());
+            } else {
+                agent.getEvents().publish(new PathComputedEvent<>(path, algorithm, handle.getStats()));
+            }
+        }));
+    }
+
+    /**
+     * Отменяет текущий поиск пути. Представление получит лучший частичный путь.
+     */
+    public void cancelSearch() {
+        if (search != null) search.cancel();
+    }
 
-        view.showPath(path);
+    private boolean isSearching() {
+        return search != null;
     }
 
     /**
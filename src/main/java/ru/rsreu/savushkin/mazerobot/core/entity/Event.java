@@ -5,4 +5,17 @@ package ru.rsreu.savushkin.mazerobot.core.entity;
  * <p>Используется для уведомления слушателей (например, представлений) об изменениях,
  * произошедших в модели, таких как перемещение агента или обновление среды.</p>
  */
-public class Event {}
\ No newline at end of file
+public class Event {
+    /**
+     * Пытается объединить это событие со следующим за ним событием того же источника.
+     * <p>Используется асинхронной доставкой {@code EventBus}: если слушатели не успевают за потоком
+     * событий, подряд идущие объединимые события доставляются одним. По умолчанию события не
+     * объединяются.</p>
+     *
+     * @param next Следующее событие.
+     * @return Объединенное событие или {@code null}, если события нужно доставить по отдельности.
+     */
+    public Event coalesce(Event next) {
+        return null;
+    }
+}
\ No newline at end of file
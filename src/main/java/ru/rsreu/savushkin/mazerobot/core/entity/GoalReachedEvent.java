@@ -0,0 +1,28 @@
+package ru.rsreu.savushkin.mazerobot.core.entity;
+
+import ru.rsreu.savushkin.mazerobot.core.state.State;
+
+/**
+ * Событие достижения агентом целевого состояния.
+ * <p>Публикуется после {@link StateChangeEvent}, который привел агента к цели.</p>
+ *
+ * @param <S> Тип состояния.
+ */
+public class GoalReachedEvent<S extends State> extends Event {
+    private final S state;
+
+    /**
+     * Создает событие достижения цели.
+     *
+     * @param state Целевое состояние, в котором находится агент.
+     */
+    public GoalReachedEvent(S state) {
+        this.state = state;
+    }
+
+    /**
+     * Возвращает целевое состояние агента.
+     * @return Состояние.
+     */
+    public S getState() { return state; }
+}
@@ -0,0 +1,61 @@
+package ru.rsreu.savushkin.mazerobot.core.entity;
+
+/**
+ * Событие изменения ячейки лабиринта во время работы программы.
+ * <p>Содержит координаты ячейки, ее прежний и новый тип, а также версию лабиринта
+ * после изменения.</p>
+ */
+public class MazeChangeEvent extends Event {
+    private final int x;
+    private final int y;
+    private final CellType oldType;
+    private final CellType newType;
+    private final long version;
+
+    /**
+     * Создает событие изменения ячейки.
+     *
+     * @param x Координата X ячейки.
+     * @param y Координата Y ячейки.
+     * @param oldType Тип ячейки до изменения.
+     * @param newType Тип ячейки после изменения.
+     * @param version Версия лабиринта после изменения.
+     */
+    public MazeChangeEvent(int x, int y, CellType oldType, CellType newType, long version) {
+        this.x = x;
+        this.y = y;
+        this.oldType = oldType;
+        this.newType = newType;
+        this.version = version;
+    }
+
+    /**
+     * Возвращает координату X измененной ячейки.
+     * @return Координата X.
+     */
+    public int getX() { return x; }
+
+    /**
+     * Возвращает координату Y измененной ячейки.
+     * @return Координата Y.
+     */
+    public int getY() { return y; }
+
+    /**
+     * Возвращает тип ячейки до изменения.
+     * @return Прежний тип.
+     */
+    public CellType getOldType() { return oldType; }
+
+    /**
+     * Возвращает тип ячейки после изменения.
+     * @return Новый тип.
+     */
+    public CellType getNewType() { return newType; }
+
+    /**
+     * Возвращает версию лабиринта после изменения.
+     * @return Версия лабиринта.
+     */
+    public long getVersion() { return version; }
+}
@@ -0,0 +1,50 @@
+package ru.rsreu.savushkin.mazerobot.core.entity;
+
+import ru.rsreu.savushkin.mazerobot.core.solver.SearchStats;
+import ru.rsreu.savushkin.mazerobot.core.state.State;
+
+import java.util.List;
+
+/**
+ * Событие завершения поиска пути для агента.
+ * <p>Путь может быть пустым (путь не найден) или частичным, если поиск был отменен или остановлен
+ * по ограничению; это видно по {@link SearchStats#isStopped()}.</p>
+ *
+ * @param <S> Тип состояния.
+ */
+public class PathComputedEvent<S extends State> extends Event {
+    private final List<S> path;
+    private final String algorithm;
+    private final SearchStats stats;
+
+    /**
+     * Создает событие завершения поиска.
+     *
+     * @param path Найденный путь.
+     * @param algorithm Название алгоритма.
+     * @param stats Статистика поиска.
+     */
+    public PathComputedEvent(List<S> path, String algorithm, SearchStats stats) {
+        this.path = path;
+        this.algorithm = algorithm;
+        this.stats = stats;
+    }
+
+    /**
+     * Возвращает найденный путь.
+     * @return Путь (пустой, если путь не найден).
+     */
+    public List<S> getPath() { return path; }
+
+    /**
+     * Возвращает название алгоритма, которым найден путь.
+     * @return Название алгоритма.
+     */
+    public String getAlgorithm() { return algorithm; }
+
+    /**
+     * Возвращает статистику поиска.
+     * @return Статистика поиска.
+     */
+    public SearchStats getStats() { return stats; }
+}
@@ -0,0 +1,46 @@
+package ru.rsreu.savushkin.mazerobot.core.entity;
+
+import ru.rsreu.savushkin.mazerobot.core.state.State;
+
+/**
+ * Событие перемещения агента: смена его текущего состояния.
+ * <p>Подряд идущие перемещения объединяются в одно — от первого прежнего состояния к последнему новому,
+ * поэтому при асинхронной доставке серия ходов приводит к одной перерисовке.</p>
+ *
+ * @param <S> Тип состояния.
+ */
+public class StateChangeEvent<S extends State> extends Event {
+    private final S oldState;
+    private final S newState;
+
+    /**
+     * Создает событие перемещения.
+     *
+     * @param oldState Состояние до перемещения.
+     * @param newState Состояние после перемещения.
+     */
+    public StateChangeEvent(S oldState, S newState) {
+        this.oldState = oldState;
+        this.newState = newState;
+    }
+
+    /**
+     * Возвращает состояние до перемещения.
+     * @return Прежнее состояние.
+     */
+    public S getOldState() { return oldState; }
+
+    /**
+     * Возвращает состояние после перемещения.
+     * @return Новое состояние.
+     */
+    public S getNewState() { return newState; }
+
+    @Override
+    public Event coalesce(Event next) {
+        if (next instanceof StateChangeEvent<?> change && change.oldState.equals(newState)) {
+            return new StateChangeEvent<>(oldState, change.newState);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,46 @@
+package ru.rsreu.savushkin.mazerobot.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Событие JFR: применение действия агентом {@code RobotAgent}, включая уведомление слушателей.
+ */
+@Name("ru.rsreu.mazerobot.AgentAction")
+@Label("Agent Action")
+@Category({"Maze Robot", "Agent"})
+@Description("Action applied by the robot agent and listener notification")
+@StackTrace(false)
+public final class AgentActionEvent extends Event {
+    @Label("Action")
+    private String action;
+
+    @Label("From")
+    private String from;
+
+    @Label("To")
+    private String to;
+
+    @Label("Applied")
+    @Description("Action was valid and changed the agent state")
+    private boolean applied;
+
+    /**
+     * Заполняет поля события.
+     *
+     * @param action Действие.
+     * @param from Состояние до действия.
+     * @param to Состояние после действия.
+     * @param applied Изменилось ли состояние агента.
+     */
+    public void set(Object action, Object from, Object to, boolean applied) {
+        this.action = String.valueOf(action);
+        this.from = String.valueOf(from);
+        this.to = String.valueOf(to);
+        this.applied = applied;
+    }
+}
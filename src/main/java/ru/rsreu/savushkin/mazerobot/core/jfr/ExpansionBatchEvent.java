@@ -0,0 +1,122 @@
+package ru.rsreu.savushkin.mazerobot.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Событие JFR: пачка раскрытий внутри решателя.
+ * <p>Решатель не создает событие на каждое раскрытие: оно охватывает {@link #BATCH_SIZE} раскрытий
+ * (у поиска по уровням — несколько целых уровней, не меньше {@link #BATCH_SIZE} раскрытий), поэтому в записи видно, как меняется скорость раскрытия и
+ * размер открытого списка по ходу поиска, а накладные расходы ограничены одной проверкой
+ * {@code (expanded & BATCH_MASK) == 0} на раскрытие. Если запись JFR не ведется, {@link #start} возвращает
+ * {@code null} и остальные методы ничего не делают.</p>
+ * <p>Типичное использование в цикле поиска:</p>
+ * <pre>{@code
+ * ExpansionBatchEvent batch = ExpansionBatchEvent.start(getName());
+ * while (...) {
+ *     ...
+ *     if ((++expanded & ExpansionBatchEvent.BATCH_MASK) == 0) batch = ExpansionBatchEvent.next(batch, expanded, open.size());
+ * }
+ * ExpansionBatchEvent.end(batch, expanded, open.size());
+ * }</pre>
+ */
+@Name("ru.rsreu.mazerobot.ExpansionBatch")
+@Label("Expansion Batch")
+@Category({"Maze Robot", "Solver"})
+@Description("Batch of node expansions inside a solver")
+@StackTrace(false)
+public final class ExpansionBatchEvent extends Event {
+    /** Количество раскрытий в одном событии (степень двойки). */
+    public static final int BATCH_SIZE = 4096;
+    /** Маска для проверки границы пачки. */
+    public static final int BATCH_MASK = BATCH_SIZE - 1;
+
+    @Label("Algorithm")
+    private String algorithm;
+
+    @Label("Batch")
+    @Description("Sequence number of the batch within the search")
+    private int batch;
+
+    @Label("Expanded")
+    @Description("Expansions since the start of the search")
+    private long expanded;
+
+    @Label("Batch Expanded")
+    private long batchExpanded;
+
+    @Label("Open Size")
+    private long openSize;
+
+    /**
+     * Начинает первую пачку поиска.
+     *
+     * @param algorithm Имя алгоритма.
+     * @return Событие или {@code null}, если событие не записывается.
+     */
+    public static ExpansionBatchEvent start(String algorithm) {
+        return begin(algorithm, 0, 0);
+    }
+
+    /**
+     * Завершает текущую пачку и начинает следующую.
+     *
+     * @param current Текущее событие или {@code null}.
+     * @param expanded Количество раскрытий с начала поиска.
+     * @param openSize Текущий размер открытого списка.
+     * @return Событие следующей пачки или {@code null}.
+     */
+    public static ExpansionBatchEvent next(ExpansionBatchEvent current, long expanded, long openSize) {
+        if (current == null) return null;
+        current.commit(expanded, openSize);
+        return begin(current.algorithm, current.batch + 1, expanded);
+    }
+
+    /**
+     * Завершает текущую пачку, если в ней набралось не меньше {@link #BATCH_SIZE} раскрытий.
+     * Используется решателями, которые раскрывают узлы целыми уровнями.
+     *
+     * @param current Текущее событие или {@code null}.
+     * @param expanded Количество раскрытий с начала поиска.
+     * @param openSize Текущий размер открытого списка.
+     * @return Событие текущей или следующей пачки или {@code null}.
+     */
+    public static ExpansionBatchEvent advance(ExpansionBatchEvent current, long expanded, long openSize) {
+        if (current == null || expanded - current.expanded < BATCH_SIZE) return current;
+        return next(current, expanded, openSize);
+    }
+
+    /**
+     * Завершает последнюю (неполную) пачку.
+     *
+     * @param current Текущее событие или {@code null}.
+     * @param expanded Количество раскрытий с начала поиска.
+     * @param openSize Размер открытого списка в конце поиска.
+     */
+    public static void end(ExpansionBatchEvent current, long expanded, long openSize) {
+        if (current != null) current.commit(expanded, openSize);
+    }
+
+    private static ExpansionBatchEvent begin(String algorithm, int batch, long expanded) {
+        ExpansionBatchEvent event = new ExpansionBatchEvent();
+        if (!event.isEnabled()) return null;
+        event.algorithm = algorithm;
+        event.batch = batch;
+        event.expanded = expanded;
+        event.begin();
+        return event;
+    }
+
+    private void commit(long expanded, long openSize) {
+        end();
+        if (!shouldCommit()) return;
+        this.batchExpanded = expanded - this.expanded;
+        this.expanded = expanded;
+        this.openSize = openSize;
+        commit();
+    }
+}
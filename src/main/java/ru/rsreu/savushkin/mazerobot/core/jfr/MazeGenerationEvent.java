@@ -0,0 +1,45 @@
+package ru.rsreu.savushkin.mazerobot.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Событие JFR: генерация лабиринта генератором {@code MazeGenerator}.
+ * <p>Генераторы строят проходимый лабиринт с первой попытки, поэтому событие одно на лабиринт;
+ * у генератора случайного заполнения в его длительность входит и восстановление связности.</p>
+ */
+@Name("ru.rsreu.mazerobot.MazeGeneration")
+@Label("Maze Generation")
+@Category({"Maze Robot", "Model"})
+@Description("Maze generation including connectivity repair")
+public final class MazeGenerationEvent extends Event {
+    @Label("Generator")
+    private String generator;
+
+    @Label("Width")
+    private int width;
+
+    @Label("Height")
+    private int height;
+
+    @Label("Seed")
+    private long seed;
+
+    /**
+     * Заполняет поля события.
+     *
+     * @param generator Имя генератора.
+     * @param width Ширина лабиринта.
+     * @param height Высота лабиринта.
+     * @param seed Зерно генератора.
+     */
+    public void set(String generator, int width, int height, long seed) {
+        this.generator = generator;
+        this.width = width;
+        this.height = height;
+        this.seed = seed;
+    }
+}
@@ -0,0 +1,74 @@
+package ru.rsreu.savushkin.mazerobot.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import ru.rsreu.savushkin.mazerobot.core.solver.SearchStats;
+
+/**
+ * Событие JFR: один запрос пути через {@code PathFindingManager.findPath} или один запуск решателя
+ * в {@code BatchRunner}.
+ * <p>Длительность события — время запроса, включая обращение к кэшу путей. Результат поиска
+ * берется из {@link SearchStats} запроса.</p>
+ */
+@Name("ru.rsreu.mazerobot.Solve")
+@Label("Path Search")
+@Category({"Maze Robot", "Solver"})
+@Description("Path search request with its result and search effort")
+@StackTrace(false)
+public final class SolveEvent extends Event {
+    @Label("Algorithm")
+    private String algorithm;
+
+    @Label("Maze Width")
+    private int width;
+
+    @Label("Maze Height")
+    private int height;
+
+    @Label("Found")
+    private boolean found;
+
+    @Label("Cached")
+    @Description("Path was taken from the path cache without a search")
+    private boolean cached;
+
+    @Label("Path Cost")
+    private double cost;
+
+    @Label("Path Length")
+    private int pathLength;
+
+    @Label("Expanded")
+    private long expanded;
+
+    @Label("Generated")
+    private long generated;
+
+    @Label("Peak Open")
+    private long peakOpen;
+
+    /**
+     * Заполняет поля события по результату запроса.
+     *
+     * @param algorithm Имя алгоритма.
+     * @param width Ширина лабиринта или {@code 0}, если среда не является лабиринтом.
+     * @param height Высота лабиринта или {@code 0}, если среда не является лабиринтом.
+     * @param stats Статистика запроса.
+     */
+    public void set(String algorithm, int width, int height, SearchStats stats) {
+        this.algorithm = algorithm;
+        this.width = width;
+        this.height = height;
+        this.found = stats.isFound();
+        this.cached = stats.isCached();
+        this.cost = stats.getPathCost();
+        this.pathLength = stats.getPathLength();
+        this.expanded = stats.getExpanded();
+        this.generated = stats.getGenerated();
+        this.peakOpen = stats.getPeakOpen();
+    }
+}
@@ -0,0 +1,99 @@
+package ru.rsreu.savushkin.mazerobot.core.model;
+
+import ru.rsreu.savushkin.mazerobot.core.entity.Event;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+
+/**
+ * Реестр слушателей и доставка им событий.
+ * <p>Слушатели хранятся в {@link CopyOnWriteArrayList}, поэтому их можно добавлять и удалять из любого
+ * потока, в том числе из обработчика события во время доставки.</p>
+ * <p>Синхронная шина (конструктор без аргументов) вызывает слушателей в потоке издателя. Асинхронная
+ * шина ставит событие в очередь и поручает доставку исполнителю, например
+ * {@code SwingUtilities::invokeLater}; пока доставка не началась, новое событие объединяется с последним
+ * в очереди через {@link Event#coalesce(Event)}. Порядок событий сохраняется, а серия из тысяч быстрых
+ * ходов доставляется слушателям несколькими объединенными событиями.</p>
+ */
+public final class EventBus {
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private final Executor executor;
+    private final ArrayDeque<Event> pending = new ArrayDeque<>();
+    private boolean drainScheduled;
+
+    /**
+     * Создает синхронную шину.
+     */
+    public EventBus() {
+        this(null);
+    }
+
+    /**
+     * Создает шину с асинхронной доставкой.
+     *
+     * @param executor Исполнитель доставки или {@code null} для синхронной доставки.
+     */
+    public EventBus(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Добавляет слушателя.
+     * @param l Слушатель.
+     */
+    public void addListener(Listener l) { listeners.add(l); }
+
+    /**
+     * Удаляет ранее добавленного слушателя.
+     * @param l Слушатель.
+     */
+    public void removeListener(Listener l) { listeners.remove(l); }
+
+    /**
+     * Проверяет, доставляются ли события асинхронно.
+     * @return {@code true}, если у шины есть исполнитель.
+     */
+    public boolean isAsync() { return executor != null; }
+
+    /**
+     * Публикует событие для всех слушателей.
+     *
+     * @param event Событие.
+     */
+    public void publish(Event event) {
+        if (executor == null) {
+            deliver(event);
+            return;
+        }
+        synchronized (pending) {
+            Event last = pending.peekLast();
+            Event merged = last != null ? last.coalesce(event) : null;
+            if (merged != null) {
+                pending.pollLast();
+                pending.addLast(merged);
+            } else {
+                pending.addLast(event);
+            }
+            if (drainScheduled) return;
+            drainScheduled = true;
+        }
+        executor.execute(this::drain);
+    }
+
+    private void drain() {
+        List<Event> batch;
+        synchronized (pending) {
+            batch = new ArrayList<>(pending);
+            pending.clear();
+            drainScheduled = false;
+        }
+        for (Event event : batch) deliver(event);
+    }
+
+    private void deliver(Event event) {
+        for (var l : listeners) l.handle(event);
+    }
+}
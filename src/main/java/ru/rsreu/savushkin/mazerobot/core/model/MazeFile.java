@@ -0,0 +1,205 @@
+package ru.rsreu.savushkin.mazerobot.core.model;
+
+import ru.rsreu.savushkin.mazerobot.core.model.generator.MazeGenerator;
+import ru.rsreu.savushkin.mazerobot.core.model.grid.BufferWordStorage;
+import ru.rsreu.savushkin.mazerobot.core.model.grid.PackedGrid;
+import ru.rsreu.savushkin.mazerobot.core.model.grid.WordStorage;
+import ru.rsreu.savushkin.mazerobot.core.state.maze.MazeState;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Двоичный формат файла лабиринта с загрузкой через отображение в память.
+ * <p>Файл состоит из заголовка длиной {@value #HEADER_BYTES} байт и тела — слов упакованной сетки
+ * {@link PackedGrid} в том же виде, в каком они лежат в памяти. Все числа записаны в порядке
+ * байтов little-endian:</p>
+ * <pre>
+ *  0  4 байта  сигнатура "MAZE"
+ *  4  int      версия формата
+ *  8  int      ширина
+ * 12  int      высота
+ * 16  int      бит на ячейку
+ * 20  int × 4  старт X, старт Y, цель X, цель Y
+ * 36  int      зарезервировано
+ * 40  long     зерно генератора
+ * 48  long     количество слов тела
+ * 56  long     зарезервировано
+ * 64  long × n тело
+ * </pre>
+ * <p>При открытии тело не разбирается и не копируется: сетка строится прямо поверх области файла,
+ * отображенной через {@link FileChannel#map}, поэтому открытие занимает миллисекунды независимо
+ * от размера, страницы подгружаются по мере обращения, а несколько JVM, открывших один файл,
+ * разделяют его через страничный кэш ОС.</p>
+ */
+public final class MazeFile {
+    /** Текущая версия формата. */
+    public static final int FORMAT_VERSION = 1;
+    /** Длина заголовка в байтах (кратна размеру слова, чтобы тело было выровнено). */
+    public static final int HEADER_BYTES = 64;
+
+    private static final byte[] MAGIC = {'M', 'A', 'Z', 'E'};
+    private static final int BITS_PER_CELL = 2;
+    private static final int WRITE_BUFFER_WORDS = 8192;
+
+    private MazeFile() {
+    }
+
+    /**
+     * Сохраняет лабиринт в файл. Существующий файл перезаписывается.
+     *
+     * @param maze Лабиринт.
+     * @param path Путь к файлу.
+     * @throws IOException при ошибке записи.
+     */
+    public static void write(MazeModel maze, Path path) throws IOException {
+        PackedGrid grid = maze.getGrid();
+        WordStorage storage = grid.getStorage();
+        long words = PackedGrid.requiredWords(grid.getWidth(), grid.getHeight(), grid.getBitsPerCell());
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            writeHeader(header, grid, maze.getStart(), maze.getGoal(), maze.getSeed(), words);
+            header.flip();
+            writeFully(channel, header);
+
+            ByteBuffer body = ByteBuffer.allocateDirect(WRITE_BUFFER_WORDS * Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            for (long i = 0; i < words; i++) {
+                body.putLong(storage.get(i));
+                if (!body.hasRemaining()) {
+                    body.flip();
+                    writeFully(channel, body);
+                    body.clear();
+                }
+            }
+            body.flip();
+            writeFully(channel, body);
+        }
+    }
+
+    /**
+     * Генерирует лабиринт прямо в отображенный файл, не размещая сетку в куче.
+     * <p>Подходит для лабиринтов, которые не помещаются в память: генератор пишет строки в
+     * отображенную область, а ОС сбрасывает страницы на диск. Возвращенная модель работает поверх
+     * файла, изменения ячеек записываются в него.</p>
+     *
+     * @param path Путь к файлу (перезаписывается).
+     * @param width Ширина лабиринта.
+     * @param height Высота лабиринта.
+     * @param generator Генератор лабиринта.
+     * @param seed Зерно генератора случайных чисел.
+     * @return Модель лабиринта, отображенная на файл.
+     * @throws IOException при ошибке записи или отображения.
+     */
+    public static MazeModel create(Path path, int width, int height, MazeGenerator generator, long seed)
+            throws IOException {
+        long words = PackedGrid.requiredWords(width, height, BITS_PER_CELL);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            BufferWordStorage storage = BufferWordStorage.map(channel, FileChannel.MapMode.READ_WRITE, HEADER_BYTES, words);
+            MazeModel maze = new MazeModel(new PackedGrid(width, height, BITS_PER_CELL, storage), generator, seed);
+
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES);
+            header.order(ByteOrder.LITTLE_ENDIAN);
+            writeHeader(header, maze.getGrid(), maze.getStart(), maze.getGoal(), seed, words);
+            storage.force();
+            header.force();
+            return maze;
+        }
+    }
+
+    /**
+     * Открывает файл лабиринта в режиме копирования при записи.
+     * <p>Изменения ячеек видны только в этой модели и не попадают в файл, однако файл должен быть
+     * доступен для записи; для файлов только на чтение используйте {@link FileChannel.MapMode#READ_ONLY}.</p>
+     *
+     * @param path Путь к файлу.
+     * @return Модель лабиринта, отображенная на файл.
+     * @throws IOException если файл не читается или имеет неверный формат.
+     */
+    public static MazeModel open(Path path) throws IOException {
+        return open(path, FileChannel.MapMode.PRIVATE);
+    }
+
+    /**
+     * Открывает файл лабиринта в заданном режиме отображения.
+     * <p>В режиме {@link FileChannel.MapMode#READ_ONLY} изменение ячеек приводит к
+     * {@link java.nio.ReadOnlyBufferException}; в режиме {@link FileChannel.MapMode#READ_WRITE}
+     * изменения записываются в файл и видны другим процессам, открывшим его.</p>
+     *
+     * @param path Путь к файлу.
+     * @param mode Режим отображения.
+     * @return Модель лабиринта, отображенная на файл.
+     * @throws IOException если файл не читается или имеет неверный формат.
+     */
+    public static MazeModel open(Path path, FileChannel.MapMode mode) throws IOException {
+        // Копирование при записи, как и запись в файл, требует канала, открытого на чтение и запись
+        StandardOpenOption[] options = mode == FileChannel.MapMode.READ_ONLY
+                ? new StandardOpenOption[]{StandardOpenOption.READ}
+                : new StandardOpenOption[]{StandardOpenOption.READ, StandardOpenOption.WRITE};
+        try (FileChannel channel = FileChannel.open(path, options)) {
+            if (channel.size() < HEADER_BYTES) throw new IOException("File is too short for a maze header: " + path);
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            for (int i = 0; i < MAGIC.length; i++) {
+                if (header.get(i) != MAGIC[i]) throw new IOException("Not a maze file: " + path);
+            }
+            int version = header.getInt(4);
+            if (version != FORMAT_VERSION) throw new IOException("Unsupported maze format version " + version);
+
+            int width = header.getInt(8);
+            int height = header.getInt(12);
+            int bitsPerCell = header.getInt(16);
+            MazeState start = new MazeState(header.getInt(20), header.getInt(24));
+            MazeState goal = new MazeState(header.getInt(28), header.getInt(32));
+            long seed = header.getLong(40);
+            long words = header.getLong(48);
+
+            if (width < 3 || height < 3 || bitsPerCell != BITS_PER_CELL
+                    || words != PackedGrid.requiredWords(width, height, bitsPerCell)) {
+                throw new IOException("Corrupted maze header: " + path);
+            }
+            if (!inside(start, width, height) || !inside(goal, width, height)) {
+                throw new IOException("Start or goal is outside the maze: " + path);
+            }
+            if (channel.size() < HEADER_BYTES + words * Long.BYTES) {
+                throw new IOException("Maze file is truncated: " + path);
+            }
+
+            BufferWordStorage storage = BufferWordStorage.map(channel, mode, HEADER_BYTES, words);
+            return new MazeModel(new PackedGrid(width, height, bitsPerCell, storage), start, goal, seed);
+        }
+    }
+
+    /**
+     * Заполняет заголовок файла по абсолютным смещениям.
+     */
+    private static void writeHeader(ByteBuffer header, PackedGrid grid, MazeState start, MazeState goal,
+                                    long seed, long words) {
+        header.put(0, MAGIC);
+        header.putInt(4, FORMAT_VERSION);
+        header.putInt(8, grid.getWidth());
+        header.putInt(12, grid.getHeight());
+        header.putInt(16, grid.getBitsPerCell());
+        header.putInt(20, start.x());
+        header.putInt(24, start.y());
+        header.putInt(28, goal.x());
+        header.putInt(32, goal.y());
+        header.putLong(40, seed);
+        header.putLong(48, words);
+        header.limit(HEADER_BYTES).position(HEADER_BYTES);
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) channel.write(buffer);
+    }
+
+    private static boolean inside(MazeState state, int width, int height) {
+        return state.x() >= 0 && state.y() >= 0 && state.x() < width && state.y() < height;
+    }
+}
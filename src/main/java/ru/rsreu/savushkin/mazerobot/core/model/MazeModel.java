@@ -1,135 +1,157 @@
 package ru.rsreu.savushkin.mazerobot.core.model;
 
 import ru.rsreu.savushkin.mazerobot.core.entity.CellType;
+import ru.rsreu.savushkin.mazerobot.core.entity.MazeChangeEvent;
+import ru.rsreu.savushkin.mazerobot.core.jfr.MazeGenerationEvent;
+import ru.rsreu.savushkin.mazerobot.core.model.generator.MazeGenerator;
+import ru.rsreu.savushkin.mazerobot.core.model.generator.RandomFillGenerator;
+import ru.rsreu.savushkin.mazerobot.core.model.generator.TerrainGenerator;
+import ru.rsreu.savushkin.mazerobot.core.model.grid.PackedGrid;
 import ru.rsreu.savushkin.mazerobot.core.state.maze.MazeState;
-import java.util.LinkedList;
-import java.util.List;
-import java.util.Queue;
-import java.util.HashSet;
-import java.util.Set;
 import java.util.Random;
-import java.util.ArrayList;
 
 /**
  * Модель данных лабиринта (Сетка).
- * <p>Отвечает за генерацию случайного лабиринта и проверку его проходимости перед началом игры.</p>
+ * <p>Строит лабиринт генератором {@link MazeGenerator}, который гарантирует проходимость по построению;
+ * по умолчанию используется случайное заполнение {@link RandomFillGenerator}.</p>
+ * <p>Ячейки хранятся в компактной сетке {@link PackedGrid} по 2 бита на ячейку
+ * (код ячейки — порядковый номер {@link CellType}).</p>
+ * <p>Лабиринт можно сохранить в двоичный файл и открыть без разбора через отображение в память
+ * ({@link MazeFile}); такая модель работает поверх области файла.</p>
+ * <p>После генерации ячейки можно изменять через {@link #setCell(int, int, CellType)}: каждое
+ * изменение увеличивает версию лабиринта и уведомляет слушателей событием {@link MazeChangeEvent}.</p>
+ * <p>Проходимые клетки могут иметь стоимость прохода (рельеф) от 1 до {@value #MAX_TERRAIN_COST}: войти
+ * в клетку стоит ее стоимость. Стоимости хранятся отдельной сеткой по 4 бита на клетку, которая
+ * создается при первом задании стоимости, отличной от 1; до этого все клетки стоят 1 и дополнительной
+ * памяти не требуется.</p>
  */
 public class MazeModel {
+    /** Количество бит на ячейку в упакованной сетке. */
+    private static final int BITS_PER_CELL = 2;
+    private static final CellType[] CELL_TYPES = CellType.values();
+    private static final int WALL_CODE = CellType.WALL.ordinal();
+    /** Вероятность стены во внутренней клетке по умолчанию. */
+    public static final double DEFAULT_WALL_DENSITY = 0.2;
+    /** Наибольшая стоимость прохода клетки. */
+    public static final int MAX_TERRAIN_COST = 16;
+    /** Количество бит на клетку в сетке рельефа (хранится стоимость минус 1). */
+    private static final int TERRAIN_BITS_PER_CELL = 4;
+
     private final int width;
     private final int height;
-    private final CellType[][] grid;
+    private final PackedGrid grid;
+    private final MazeState start;
+    private final MazeState goal;
+    private final long seed;
+    // Решатели подписываются из рабочих потоков, а уведомления приходят из потока UI.
+    private final EventBus events = new EventBus();
+    private volatile long version;
+    /** Стоимости прохода клеток или {@code null}, если все клетки стоят 1. */
+    private volatile PackedGrid terrain;
 
     /**
      * Создает новую модель лабиринта заданного размера.
-     * <p>Автоматически генерирует лабиринт до тех пор, пока не будет найден проходимый вариант.</p>
+     * <p>Лабиринт проходим по построению: недостижимые области соединяются со стартом коридорами.</p>
      *
      * @param width Ширина лабиринта.
      * @param height Высота лабиринта.
      */
     public MazeModel(int width, int height) {
-        this.width = width;
-        this.height = height;
-        this.grid = new CellType[height][width];
-
-        // Генерируем лабиринт, пока он не станет проходимым
-        while (!generateAndCheckMaze()) {
-            // Вывод для отладки
-            System.out.println("Generated maze is not solvable. Regenerating...");
-        }
+        this(width, height, false);
+    }
+
+    /**
+     * Создает новую модель лабиринта заданного размера с выбором места хранения сетки.
+     *
+     * @param width Ширина лабиринта.
+     * @param height Высота лабиринта.
+     * @param offHeap Если {@code true}, сетка размещается во внешней памяти (вне кучи Java).
+     */
+    public MazeModel(int width, int height, boolean offHeap) {
+        this(width, height, DEFAULT_WALL_DENSITY, new Random().nextLong(), offHeap);
+    }
+
+    /**
+     * Создает воспроизводимую модель лабиринта с заданной плотностью стен.
+     *
+     * @param width Ширина лабиринта.
+     * @param height Высота лабиринта.
+     * @param wallDensity Вероятность того, что внутренняя клетка станет стеной (от 0 до 1).
+     * @param seed Зерно генератора случайных чисел.
+     */
+    public MazeModel(int width, int height, double wallDensity, long seed) {
+        this(width, height, wallDensity, seed, false);
     }
 
     /**
-     * Обертка для генерации и проверки лабиринта.
+     * Создает воспроизводимую модель лабиринта с заданной плотностью стен и местом хранения сетки.
      *
-     * @return true, если лабиринт проходим; false в противном случае.
+     * @param width Ширина лабиринта.
+     * @param height Высота лабиринта.
+     * @param wallDensity Вероятность того, что внутренняя клетка станет стеной (от 0 до 1).
+     * @param seed Зерно генератора случайных чисел.
+     * @param offHeap Если {@code true}, сетка размещается во внешней памяти (вне кучи Java).
      */
-    private boolean generateAndCheckMaze() {
-        generateMaze();
-        return isSolvable();
+    public MazeModel(int width, int height, double wallDensity, long seed, boolean offHeap) {
+        this(width, height, new RandomFillGenerator(wallDensity), seed, offHeap);
     }
 
     /**
-     * Заполняет сетку лабиринта случайными стенами, гарантируя границы и стартовую/целевую позиции.
+     * Создает модель лабиринта, построенного заданным генератором.
+     * <p>Генератор гарантирует проходимость по построению, поэтому строки сразу записываются в сетку
+     * без повторных попыток и последующей проверки.</p>
+     *
+     * @param width Ширина лабиринта.
+     * @param height Высота лабиринта.
+     * @param generator Генератор лабиринта.
+     * @param seed Зерно генератора случайных чисел.
+     * @param offHeap Если {@code true}, сетка размещается во внешней памяти (вне кучи Java).
      */
-    private void generateMaze() {
-        Random rand = new Random();
-        for (int y = 0; y < height; y++) {
-            for (int x = 0; x < width; x++) {
-                if (x == 0 || y == 0 || x == width - 1 || y == height - 1) {
-                    grid[y][x] = CellType.WALL;
-                } else {
-                    // Вероятность стены 20%
-                    grid[y][x] = (rand.nextDouble() < 0.2) ? CellType.WALL : CellType.EMPTY;
-                }
-            }
+    public MazeModel(int width, int height, MazeGenerator generator, long seed, boolean offHeap) {
+        this(offHeap
+                ? PackedGrid.offHeap(width, height, BITS_PER_CELL)
+                : PackedGrid.onHeap(width, height, BITS_PER_CELL), generator, seed);
+    }
+
+    /**
+     * Строит лабиринт генератором поверх заданной сетки (например, отображенной на файл).
+     *
+     * @param grid Сетка с 2 битами на ячейку.
+     * @param generator Генератор лабиринта.
+     * @param seed Зерно генератора случайных чисел.
+     */
+    MazeModel(PackedGrid grid, MazeGenerator generator, long seed) {
+        this(grid, new MazeState(1, 1), new MazeState(grid.getWidth() - 2, grid.getHeight() - 2), seed);
+        if (generator == null) throw new IllegalArgumentException("Generator cannot be null");
+        MazeGenerationEvent event = new MazeGenerationEvent();
+        event.begin();
+        generator.generate(width, height, seed, grid::writeRow);
+        writeCell(goal.x(), goal.y(), CellType.TREASURE);
+        event.end();
+        if (event.shouldCommit()) {
+            event.set(generator.getName(), width, height, seed);
+            event.commit();
         }
-        // Гарантируем пустоту на старте и финише
-        grid[1][1] = CellType.EMPTY;
-        grid[height - 2][width - 2] = CellType.TREASURE;
     }
 
     /**
-     * Проверяет, существует ли путь от старта до цели, используя BFS.
-     * Учитывает как обычные шаги (1 клетка), так и прыжки (2 клетки).
+     * Создает модель поверх уже заполненной сетки без генерации (например, загруженной из файла).
      *
-     * @return true, если путь существует; false в противном случае.
-     */
-    private boolean isSolvable() {
-        MazeState start = new MazeState(1, 1);
-        MazeState goal = new MazeState(width - 2, height - 2);
-
-        Queue<MazeState> queue = new LinkedList<>();
-        Set<MazeState> visited = new HashSet<>();
-
-        queue.add(start);
-        visited.add(start);
-
-        int[][] dirs = {{0, -1}, {1, 0}, {0, 1}, {-1, 0}};
-
-        while (!queue.isEmpty()) {
-            MazeState current = queue.poll();
-
-            if (current.equals(goal)) {
-                return true; // Path found
-            }
-
-            // Генерируем все возможные ходы: 1 шаг и 2 шага (прыжок)
-            List<int[]> moves = new ArrayList<>();
-            for (int[] d : dirs) {
-                moves.add(d);                 // 1. Single step
-                moves.add(new int[]{d[0] * 2, d[1] * 2}); // 2. Double step (jump)
-            }
-
-            for (int[] move : moves) {
-                int nextX = current.x() + move[0];
-                int nextY = current.y() + move[1];
-
-                MazeState next = new MazeState(nextX, nextY);
-
-                // 1. Проверка на выход за границы или попадание в стену в конечной точке
-                if (nextX < 0 || nextX >= width || nextY < 0 || nextY >= height || grid[nextY][nextX] == CellType.WALL) {
-                    continue;
-                }
-
-                // 2. Проверка промежуточной клетки для прыжков
-                if (Math.abs(move[0]) > 1 || Math.abs(move[1]) > 1) {
-                    int midX = current.x() + (move[0] / 2);
-                    int midY = current.y() + (move[1] / 2);
-
-                    // Если промежуточная клетка - стена, прыжок невозможен
-                    if (grid[midY][midX] == CellType.WALL) {
-                        continue;
-                    }
-                }
-
-                // 3. Проверка посещения и добавление в очередь
-                if (!visited.contains(next)) {
-                    visited.add(next);
-                    queue.add(next);
-                }
-            }
+     * @param grid Сетка с 2 битами на ячейку.
+     * @param start Стартовая клетка робота.
+     * @param goal Клетка с кладом.
+     * @param seed Зерно, которым был построен лабиринт.
+     */
+    MazeModel(PackedGrid grid, MazeState start, MazeState goal, long seed) {
+        if (grid.getBitsPerCell() != BITS_PER_CELL) {
+            throw new IllegalArgumentException("Maze grid must use " + BITS_PER_CELL + " bits per cell");
         }
-        return false; // Path not found
+        this.width = grid.getWidth();
+        this.height = grid.getHeight();
+        this.grid = grid;
+        this.start = start;
+        this.goal = goal;
+        this.seed = seed;
     }
 
     /**
@@ -144,6 +166,24 @@ public class MazeModel {
      */
     public int getHeight() { return height; }
 
+    /**
+     * Возвращает стартовую клетку робота.
+     * @return Стартовое состояние.
+     */
+    public MazeState getStart() { return start; }
+
+    /**
+     * Возвращает клетку с кладом.
+     * @return Целевое состояние.
+     */
+    public MazeState getGoal() { return goal; }
+
+    /**
+     * Возвращает зерно генератора, которым был построен лабиринт.
+     * @return Зерно генератора случайных чисел.
+     */
+    public long getSeed() { return seed; }
+
     /**
      * Возвращает тип ячейки в заданных координатах.
      * @param x Координата X.
@@ -152,6 +192,190 @@ public class MazeModel {
      */
     public CellType getCell(int x, int y) {
         if (x < 0 || x >= width || y < 0 || y >= height) return CellType.WALL;
-        return grid[y][x];
+        return CELL_TYPES[grid.get(x, y)];
+    }
+
+    /**
+     * Проверяет, является ли ячейка стеной, без создания промежуточных объектов.
+     * <p>Выполняет одно чтение слова из упакованной сетки.</p>
+     *
+     * @param x Координата X.
+     * @param y Координата Y.
+     * @return {@code true}, если ячейка — стена или координаты вне границ.
+     */
+    public boolean isWall(int x, int y) {
+        if (x < 0 || x >= width || y < 0 || y >= height) return true;
+        return grid.get(x, y) == WALL_CODE;
+    }
+
+    /**
+     * Читает всю строку лабиринта за один проход по упакованным словам без промежуточных массивов.
+     *
+     * @param y Номер строки.
+     * @param dst Массив длиной не меньше ширины лабиринта, в который записываются типы ячеек.
+     */
+    public void readRow(int y, CellType[] dst) {
+        grid.readRow(y, dst, CELL_TYPES);
+    }
+
+    /**
+     * Читает всю строку лабиринта в виде кодов ячеек (порядковых номеров {@link CellType}).
+     *
+     * @param y Номер строки.
+     * @param dst Массив длиной не меньше ширины лабиринта.
+     */
+    public void readRow(int y, byte[] dst) {
+        grid.readRow(y, dst);
+    }
+
+    /**
+     * Изменяет тип ячейки, увеличивает версию лабиринта и уведомляет слушателей.
+     * <p>Если тип ячейки не меняется, версия остается прежней и слушатели не уведомляются.</p>
+     *
+     * @param x Координата X.
+     * @param y Координата Y.
+     * @param type Новый тип ячейки.
+     * @throws IllegalArgumentException если координаты вне границ или тип равен {@code null}.
+     */
+    public void setCell(int x, int y, CellType type) {
+        if (x < 0 || x >= width || y < 0 || y >= height) {
+            throw new IllegalArgumentException("Cell (" + x + ", " + y + ") is out of bounds");
+        }
+        if (type == null) throw new IllegalArgumentException("Cell type cannot be null");
+
+        CellType oldType;
+        long newVersion;
+        // Чтение, сравнение и запись атомарны: иначе два одновременных вызова могут оба увеличить версию
+        // или передать в событии устаревший прежний тип.
+        synchronized (this) {
+            oldType = getCell(x, y);
+            if (oldType == type) return;
+            writeCell(x, y, type);
+            newVersion = ++version;
+        }
+        notifyListeners(new MazeChangeEvent(x, y, oldType, type, newVersion));
+    }
+
+    /**
+     * Возвращает стоимость прохода клетки — стоимость хода, который в нее ведет.
+     *
+     * @param x Координата X.
+     * @param y Координата Y.
+     * @return Стоимость от 1 до {@value #MAX_TERRAIN_COST}; 1, если рельеф не задан или координаты вне границ.
+     */
+    public int getTerrainCost(int x, int y) {
+        PackedGrid costs = terrain;
+        if (costs == null || x < 0 || x >= width || y < 0 || y >= height) return 1;
+        return costs.get(x, y) + 1;
+    }
+
+    /**
+     * Проверяет, задан ли рельеф. Без рельефа все клетки стоят 1, и решатели, рассчитанные на
+     * единичные стоимости, могут работать без изменений.
+     * @return {@code true}, если хотя бы одной клетке задавалась стоимость, отличная от 1.
+     */
+    public boolean hasTerrain() { return terrain != null; }
+
+    /**
+     * Изменяет стоимость прохода клетки, увеличивает версию лабиринта и уведомляет слушателей
+     * событием {@link MazeChangeEvent} (тип ячейки в нем не меняется).
+     *
+     * @param x Координата X.
+     * @param y Координата Y.
+     * @param cost Стоимость от 1 до {@value #MAX_TERRAIN_COST}.
+     * @throws IllegalArgumentException если координаты вне границ или стоимость вне допустимого диапазона.
+     */
+    public void setTerrainCost(int x, int y, int cost) {
+        if (x < 0 || x >= width || y < 0 || y >= height) {
+            throw new IllegalArgumentException("Cell (" + x + ", " + y + ") is out of bounds");
+        }
+        if (cost < 1 || cost > MAX_TERRAIN_COST) {
+            throw new IllegalArgumentException("Terrain cost must be between 1 and " + MAX_TERRAIN_COST);
+        }
+        CellType type;
+        long newVersion;
+        synchronized (this) {
+            if (getTerrainCost(x, y) == cost) return;
+            terrainGrid().set(x, y, cost - 1);
+            newVersion = ++version;
+            type = getCell(x, y);
+        }
+        notifyListeners(new MazeChangeEvent(x, y, type, type, newVersion));
+    }
+
+    /**
+     * Заполняет рельеф всего лабиринта генератором и увеличивает версию лабиринта.
+     * <p>Слушатели не уведомляются по отдельным клеткам: решатели с сохраненным состоянием замечают
+     * изменение по версии, а представление следует создавать после заполнения.</p>
+     *
+     * @param generator Генератор рельефа.
+     * @param seed Зерно генератора случайных чисел.
+     * @throws IllegalArgumentException если генератор выдает стоимости больше {@value #MAX_TERRAIN_COST}.
+     */
+    public void generateTerrain(TerrainGenerator generator, long seed) {
+        if (generator == null) throw new IllegalArgumentException("Generator cannot be null");
+        if (generator.getMaxCost() > MAX_TERRAIN_COST) {
+            throw new IllegalArgumentException("Terrain cost must not exceed " + MAX_TERRAIN_COST);
+        }
+        synchronized (this) {
+            PackedGrid costs = terrainGrid();
+            generator.generate(width, height, seed, (y, row) -> {
+                for (int x = 0; x < width; x++) row[x]--;
+                costs.writeRow(y, row);
+            });
+            version++;
+        }
+    }
+
+    /**
+     * Возвращает версию лабиринта — количество изменений ячеек после генерации.
+     * @return Версия лабиринта.
+     */
+    public long getVersion() { return version; }
+
+    /**
+     * Добавляет слушателя, который будет уведомлен об изменениях ячеек лабиринта.
+     * @param l Слушатель.
+     */
+    public void addListener(Listener l) { events.addListener(l); }
+
+    /**
+     * Удаляет ранее добавленного слушателя.
+     * @param l Слушатель.
+     */
+    public void removeListener(Listener l) { events.removeListener(l); }
+
+    /**
+     * Уведомляет всех зарегистрированных слушателей о событии.
+     * @param event Событие изменения ячейки.
+     */
+    private void notifyListeners(MazeChangeEvent event) {
+        events.publish(event);
+    }
+
+    /**
+     * Возвращает упакованную сетку ячеек (используется при сохранении в файл).
+     * @return Сетка.
+     */
+    PackedGrid getGrid() { return grid; }
+
+    /**
+     * Возвращает сетку рельефа, создавая ее при первом обращении. Вызывается под блокировкой модели.
+     * @return Сетка стоимостей.
+     */
+    private PackedGrid terrainGrid() {
+        if (terrain == null) terrain = PackedGrid.onHeap(width, height, TERRAIN_BITS_PER_CELL);
+        return terrain;
+    }
+
+    /**
+     * Записывает тип ячейки в упакованную сетку.
+     *
+     * @param x Координата X.
+     * @param y Координата Y.
+     * @param type Новый тип ячейки.
+     */
+    private void writeCell(int x, int y, CellType type) {
+        grid.set(x, y, type.ordinal());
     }
 }
\ No newline at end of file
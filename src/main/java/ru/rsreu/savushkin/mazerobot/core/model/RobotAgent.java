@@ -1,32 +1,44 @@
 package ru.rsreu.savushkin.mazerobot.core.model;
 
-import ru.rsreu.savushkin.mazerobot.core.entity.Event;
+import ru.rsreu.savushkin.mazerobot.core.entity.GoalReachedEvent;
+import ru.rsreu.savushkin.mazerobot.core.entity.StateChangeEvent;
+import ru.rsreu.savushkin.mazerobot.core.jfr.AgentActionEvent;
 import ru.rsreu.savushkin.mazerobot.core.state.Action;
 import ru.rsreu.savushkin.mazerobot.core.state.Environment;
 import ru.rsreu.savushkin.mazerobot.core.state.State;
 
-import java.util.ArrayList;
-import java.util.List;
-
 /**
  * Обобщенный класс, представляющий агента-робота.
  * <p>Агент содержит текущее состояние {@code S} и взаимодействует со средой {@code Environment}.</p>
- * <p>Реализует функциональность издателя (Publisher) в паттерне Наблюдатель, уведомляя слушателей об изменениях состояния.</p>
+ * <p>Реализует функциональность издателя (Publisher) в паттерне Наблюдатель: публикует в свою шину
+ * {@link EventBus} событие {@link StateChangeEvent} при каждом перемещении и {@link GoalReachedEvent}
+ * при достижении цели.</p>
  *
  * @param <S> Тип состояния, в котором оперирует агент.
  */
 public class RobotAgent<S extends State> {
     private S currentState;
     private final Environment<S, ?> environment;
-    private final List<Listener> listeners = new ArrayList<>();
+    private final EventBus events;
 
     /**
-     * Создает новый экземпляр агента.
+     * Создает новый экземпляр агента с синхронной доставкой событий.
      *
      * @param environment Среда, в которой действует агент.
      */
     public RobotAgent(Environment<S, ?> environment) {
+        this(environment, new EventBus());
+    }
+
+    /**
+     * Создает новый экземпляр агента.
+     *
+     * @param environment Среда, в которой действует агент.
+     * @param events Шина, через которую агент уведомляет слушателей.
+     */
+    public RobotAgent(Environment<S, ?> environment, EventBus events) {
         this.environment = environment;
+        this.events = events;
         this.currentState = environment.getInitialState();
     }
 
@@ -38,15 +50,24 @@ public class RobotAgent<S extends State> {
      * @return {@code true}, если состояние агента было изменено; {@code false} в противном случае.
      */
     public boolean applyAction(Object action) {
+        AgentActionEvent event = new AgentActionEvent();
+        event.begin();
+        S previous = currentState;
         S next = environment.applyAction(currentState, (Action) action);
 
         // Обновляем состояние, только если оно изменилось (т.е. ход был валиден).
-        if (!next.equals(currentState)) {
+        boolean applied = !next.equals(currentState);
+        if (applied) {
             currentState = next;
-            notifyListeners();
-            return true;
+            events.publish(new StateChangeEvent<>(previous, next));
+            if (environment.isGoal(next)) events.publish(new GoalReachedEvent<>(next));
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.set(action, previous, next, applied);
+            event.commit();
         }
-        return false;
+        return applied;
     }
 
     /**
@@ -67,16 +88,22 @@ public class RobotAgent<S extends State> {
      */
     public boolean isAtGoal() { return environment.isGoal(currentState); }
 
+    /**
+     * Возвращает шину событий агента. Через нее можно публиковать и связанные с агентом события,
+     * например результат поиска пути.
+     * @return Шина событий.
+     */
+    public EventBus getEvents() { return events; }
+
     /**
      * Добавляет слушателя, который будет уведомлен об изменениях состояния агента.
      * @param l Слушатель.
      */
-    public void addListener(Listener l) { listeners.add(l); }
+    public void addListener(Listener l) { events.addListener(l); }
 
     /**
-     * Уведомляет всех зарегистрированных слушателей о событии.
+     * Удаляет ранее добавленного слушателя.
+     * @param l Слушатель.
      */
-    private void notifyListeners() {
-        for (var l : listeners) l.handle(new Event());
-    }
+    public void removeListener(Listener l) { events.removeListener(l); }
 }
\ No newline at end of file
@@ -0,0 +1,129 @@
+package ru.rsreu.savushkin.mazerobot.core.model.generator;
+
+import ru.rsreu.savushkin.mazerobot.core.entity.CellType;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Генератор по алгоритму Эллера.
+ * <p>Строит идеальный лабиринт строка за строкой, храня только множества связности клеток текущей
+ * строки решетки ({@link UnionFind} размером с ширину решетки). Каждая строка выдается в
+ * {@link RowSink} сразу после построения, поэтому память O(ширина), а время линейно по числу
+ * клеток — генератор подходит для лабиринтов, которые не помещаются в память целиком.</p>
+ * <p>В каждой строке соседние клетки из разных множеств случайно объединяются, затем каждое
+ * множество получает хотя бы один проход вниз. В последней строке объединяются все оставшиеся
+ * множества, что и гарантирует связность.</p>
+ */
+public class EllerGenerator implements MazeGenerator {
+    private static final byte EMPTY_CODE = (byte) CellType.EMPTY.ordinal();
+    private static final byte WALL_CODE = (byte) CellType.WALL.ordinal();
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void generate(int width, int height, long seed, RowSink sink) {
+        OpenCells.checkSize(width, height);
+        Random rand = new Random(seed);
+        int latticeWidth = (width - 1) / 2;
+        int latticeHeight = (height - 1) / 2;
+        int goalY = height - 2;
+
+        byte[] row = new byte[width];
+        int[] sets = new int[latticeWidth];
+        int[] remap = new int[latticeWidth];
+        boolean[] down = new boolean[latticeWidth];
+        boolean[] hasDown = new boolean[latticeWidth];
+        UnionFind union = new UnionFind(latticeWidth);
+        Arrays.fill(sets, -1);
+
+        Arrays.fill(row, WALL_CODE);
+        sink.acceptRow(0, row);
+        for (int r = 0; r < latticeHeight; r++) {
+            int y = 2 * r + 1;
+            boolean last = r == latticeHeight - 1;
+            renumber(sets, remap, union);
+
+            // Горизонтальные проходы внутри строки решетки.
+            Arrays.fill(row, WALL_CODE);
+            for (int i = 0; i < latticeWidth; i++) row[2 * i + 1] = EMPTY_CODE;
+            for (int i = 0; i + 1 < latticeWidth; i++) {
+                if ((last || rand.nextBoolean()) && union.union(sets[i], sets[i + 1])) {
+                    row[2 * i + 2] = EMPTY_CODE;
+                }
+            }
+            if (y == goalY) connectGoal(row, width);
+            sink.acceptRow(y, row);
+            if (last) break;
+
+            // Вертикальные проходы: каждое множество продолжается вниз хотя бы одной клеткой.
+            Arrays.fill(hasDown, false);
+            for (int i = 0; i < latticeWidth; i++) {
+                down[i] = rand.nextBoolean();
+                if (down[i]) hasDown[union.find(sets[i])] = true;
+            }
+            for (int i = 0; i < latticeWidth; i++) {
+                int root = union.find(sets[i]);
+                if (!hasDown[root]) {
+                    down[i] = true;
+                    hasDown[root] = true;
+                }
+            }
+            Arrays.fill(row, WALL_CODE);
+            for (int i = 0; i < latticeWidth; i++) {
+                if (down[i]) row[2 * i + 1] = EMPTY_CODE;
+                sets[i] = down[i] ? union.find(sets[i]) : -1;
+            }
+            sink.acceptRow(y + 1, row);
+        }
+
+        for (int y = 2 * latticeHeight; y < height; y++) {
+            Arrays.fill(row, WALL_CODE);
+            if (y == goalY) connectGoal(row, width);
+            sink.acceptRow(y, row);
+        }
+    }
+
+    /**
+     * Переводит номера множеств, перешедших из предыдущей строки, в диапазон {@code [0, ширина решетки)}
+     * и выдает новые множества клеткам без прохода сверху.
+     *
+     * @param sets Номера множеств клеток ({@code -1} — клетка без множества).
+     * @param remap Рабочий массив для перенумерации.
+     * @param union Система множеств, которая сбрасывается для новой строки.
+     */
+    private static void renumber(int[] sets, int[] remap, UnionFind union) {
+        Arrays.fill(remap, -1);
+        int next = 0;
+        for (int i = 0; i < sets.length; i++) {
+            if (sets[i] < 0) continue;
+            if (remap[sets[i]] < 0) remap[sets[i]] = next++;
+            sets[i] = remap[sets[i]];
+        }
+        for (int i = 0; i < sets.length; i++) {
+            if (sets[i] < 0) sets[i] = next++;
+        }
+        union.reset(0, sets.length);
+    }
+
+    /**
+     * Открывает клетки строки цели между ближайшей клеткой решетки и самой целью.
+     *
+     * @param row Строка цели.
+     * @param width Ширина лабиринта.
+     */
+    private static void connectGoal(byte[] row, int width) {
+        int goalX = width - 2;
+        for (int x = OpenCells.latticeX(goalX); x <= goalX; x++) row[x] = EMPTY_CODE;
+    }
+
+    /**
+     * Возвращает название генератора.
+     * @return Название генератора.
+     */
+    @Override
+    public String getName() {
+        return "Eller";
+    }
+}
@@ -0,0 +1,27 @@
+package ru.rsreu.savushkin.mazerobot.core.model.generator;
+
+/**
+ * Генератор лабиринтов, проходимых по построению.
+ * <p>Генератор выдает строки лабиринта в {@link RowSink} и гарантирует, что внешняя граница состоит
+ * из стен, а старт (1, 1) и цель (width - 2, height - 2) свободны и связаны. Повторные попытки
+ * и проверка проходимости после генерации не нужны, поэтому время генерации предсказуемо.</p>
+ * <p>Результат полностью определяется размерами и зерном генератора случайных чисел.</p>
+ */
+public interface MazeGenerator {
+    /**
+     * Генерирует лабиринт и передает его строки приемнику.
+     *
+     * @param width Ширина лабиринта (не меньше 3).
+     * @param height Высота лабиринта (не меньше 3).
+     * @param seed Зерно генератора случайных чисел.
+     * @param sink Приемник строк.
+     * @throws IllegalArgumentException если размеры меньше 3.
+     */
+    void generate(int width, int height, long seed, RowSink sink);
+
+    /**
+     * Возвращает имя генератора.
+     * @return Имя генератора.
+     */
+    String getName();
+}
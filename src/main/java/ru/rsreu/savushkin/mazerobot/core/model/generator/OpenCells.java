@@ -0,0 +1,84 @@
+package ru.rsreu.savushkin.mazerobot.core.model.generator;
+
+import ru.rsreu.savushkin.mazerobot.core.entity.CellType;
+
+/**
+ * Битовое множество свободных клеток, которое генераторы заполняют целиком перед выдачей строк.
+ * <p>Изначально все клетки — стены. Содержит общие для генераторов операции: проверку размеров,
+ * соединение цели с решеткой нечетных клеток и построчную выдачу результата.</p>
+ */
+final class OpenCells {
+    private static final byte EMPTY_CODE = (byte) CellType.EMPTY.ordinal();
+    private static final byte WALL_CODE = (byte) CellType.WALL.ordinal();
+
+    private final int width;
+    private final int height;
+    private final long[] bits;
+
+    OpenCells(int width, int height) {
+        checkSize(width, height);
+        this.width = width;
+        this.height = height;
+        this.bits = new long[(int) (((long) width * height + 63) >>> 6)];
+    }
+
+    /**
+     * Проверяет минимальные размеры лабиринта.
+     *
+     * @param width Ширина.
+     * @param height Высота.
+     * @throws IllegalArgumentException если ширина или высота меньше 3.
+     */
+    static void checkSize(int width, int height) {
+        if (width < 3 || height < 3) throw new IllegalArgumentException("Maze must be at least 3x3");
+    }
+
+    boolean isOpen(int x, int y) {
+        long cell = (long) y * width + x;
+        return (bits[(int) (cell >>> 6)] & (1L << cell)) != 0;
+    }
+
+    void open(int x, int y) {
+        long cell = (long) y * width + x;
+        bits[(int) (cell >>> 6)] |= 1L << cell;
+    }
+
+    /**
+     * Соединяет цель (width - 2, height - 2) с ближайшей клеткой решетки нечетных координат,
+     * которую открывают генераторы на решетке.
+     */
+    void connectGoal() {
+        int goalX = width - 2;
+        int goalY = height - 2;
+        for (int x = latticeX(goalX); x <= goalX; x++) open(x, goalY);
+    }
+
+    /**
+     * Возвращает нечетную координату решетки, ближайшую к цели слева.
+     *
+     * @param goalX Координата X цели.
+     * @return Координата X клетки решетки.
+     */
+    static int latticeX(int goalX) {
+        return (goalX & 1) != 0 ? goalX : goalX - 1;
+    }
+
+    /**
+     * Передает клетки приемнику строка за строкой.
+     *
+     * @param sink Приемник строк.
+     */
+    void emitRows(RowSink sink) {
+        byte[] codes = new byte[width];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                codes[x] = isOpen(x, y) ? EMPTY_CODE : WALL_CODE;
+            }
+            sink.acceptRow(y, codes);
+        }
+    }
+
+    int getWidth() { return width; }
+
+    int getHeight() { return height; }
+}
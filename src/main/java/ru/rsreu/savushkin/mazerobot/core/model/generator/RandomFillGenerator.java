@@ -0,0 +1,114 @@
+package ru.rsreu.savushkin.mazerobot.core.model.generator;
+
+import java.util.Random;
+
+/**
+ * Генератор случайного заполнения с заданной плотностью стен и восстановлением связности.
+ * <p>Каждая внутренняя клетка становится стеной с вероятностью {@code wallDensity}. Затем компоненты
+ * свободных клеток объединяются через {@link UnionFind}: клетки просматриваются построчно, и если
+ * клетка не связана со стартом, от нее прорубается коридор вверх (а при необходимости — влево по
+ * первой строке) до ближайшей уже связанной клетки. Все свободные клетки, просмотренные раньше,
+ * связаны со стартом, поэтому коридор всегда короткий, а в итоге связны все свободные клетки.</p>
+ * <p>Повторная генерация и проверка проходимости не нужны. Генератор хранит лабиринт целиком
+ * (4 байта на клетку для системы множеств), поэтому число клеток ограничено {@code Integer.MAX_VALUE}.</p>
+ */
+public class RandomFillGenerator implements MazeGenerator {
+    private final double wallDensity;
+
+    /**
+     * Создает генератор с заданной плотностью стен.
+     *
+     * @param wallDensity Вероятность того, что внутренняя клетка станет стеной (от 0 до 1).
+     */
+    public RandomFillGenerator(double wallDensity) {
+        if (wallDensity < 0 || wallDensity > 1) throw new IllegalArgumentException("Wall density must be in [0, 1]");
+        this.wallDensity = wallDensity;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void generate(int width, int height, long seed, RowSink sink) {
+        if ((long) width * height > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("RandomFillGenerator supports at most Integer.MAX_VALUE cells");
+        }
+        OpenCells cells = new OpenCells(width, height);
+        Random rand = new Random(seed);
+        for (int y = 1; y < height - 1; y++) {
+            for (int x = 1; x < width - 1; x++) {
+                if (rand.nextDouble() >= wallDensity) cells.open(x, y);
+            }
+        }
+        cells.open(1, 1);
+        cells.open(width - 2, height - 2);
+
+        UnionFind sets = new UnionFind(width * height);
+        for (int y = 1; y < height - 1; y++) {
+            for (int x = 1; x < width - 1; x++) {
+                if (!cells.isOpen(x, y)) continue;
+                if (cells.isOpen(x - 1, y)) sets.union(y * width + x, y * width + x - 1);
+                if (cells.isOpen(x, y - 1)) sets.union(y * width + x, (y - 1) * width + x);
+            }
+        }
+
+        int start = width + 1;
+        for (int y = 1; y < height - 1; y++) {
+            for (int x = 1; x < width - 1; x++) {
+                if (cells.isOpen(x, y) && sets.find(y * width + x) != sets.find(start)) {
+                    connectToStart(cells, sets, x, y);
+                }
+            }
+        }
+        cells.emitRows(sink);
+    }
+
+    /**
+     * Прорубает коридор от клетки вверх, а затем влево по первой строке, до первой свободной клетки.
+     * Все клетки выше и левее текущей в порядке просмотра уже связаны со стартом.
+     *
+     * @param cells Клетки лабиринта.
+     * @param sets Компоненты связности.
+     * @param x Координата X несвязанной клетки.
+     * @param y Координата Y несвязанной клетки.
+     */
+    private static void connectToStart(OpenCells cells, UnionFind sets, int x, int y) {
+        int cx = x;
+        int cy = y - 1;
+        while (cy >= 1 && !cells.isOpen(cx, cy)) {
+            carve(cells, sets, cx, cy);
+            cy--;
+        }
+        if (cy < 1) {
+            cy = 1;
+            cx--;
+            while (!cells.isOpen(cx, cy)) {
+                carve(cells, sets, cx, cy);
+                cx--;
+            }
+        }
+        sets.union(y * cells.getWidth() + x, cy * cells.getWidth() + cx);
+    }
+
+    /**
+     * Открывает клетку и объединяет ее со всеми свободными соседями.
+     */
+    private static void carve(OpenCells cells, UnionFind sets, int x, int y) {
+        cells.open(x, y);
+        int width = cells.getWidth();
+        int cell = y * width + x;
+        if (cells.isOpen(x - 1, y)) sets.union(cell, cell - 1);
+        if (cells.isOpen(x + 1, y)) sets.union(cell, cell + 1);
+        if (cells.isOpen(x, y - 1)) sets.union(cell, cell - width);
+        if (cells.isOpen(x, y + 1)) sets.union(cell, cell + width);
+    }
+
+    /**
+     * Возвращает название генератора.
+     * @return Название генератора.
+     */
+    @Override
+    public String getName() {
+        return "Random Fill";
+    }
+}
@@ -0,0 +1,67 @@
+package ru.rsreu.savushkin.mazerobot.core.model.generator;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Генератор «рекурсивный возврат» (recursive backtracker): случайный обход в глубину по решетке
+ * клеток с нечетными координатами с прорубанием стены между соседними клетками.
+ * <p>Получается идеальный лабиринт (ровно один путь между любыми двумя клетками решетки) с длинными
+ * извилистыми коридорами. Обход итеративный, на явном стеке {@code int[]}, поэтому не ограничен
+ * глубиной стека потока. Время и память линейны по числу клеток.</p>
+ */
+public class RecursiveBacktrackerGenerator implements MazeGenerator {
+    private static final int[] DX = {0, 1, 0, -1};
+    private static final int[] DY = {-1, 0, 1, 0};
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void generate(int width, int height, long seed, RowSink sink) {
+        OpenCells cells = new OpenCells(width, height);
+        Random rand = new Random(seed);
+        int latticeWidth = (width - 1) / 2;
+        int latticeHeight = (height - 1) / 2;
+
+        int[] stack = new int[64];
+        int top = 0;
+        stack[top++] = 0;
+        cells.open(1, 1);
+        int[] candidates = new int[DX.length];
+        while (top > 0) {
+            int cell = stack[top - 1];
+            int i = cell % latticeWidth;
+            int j = cell / latticeWidth;
+            int count = 0;
+            for (int d = 0; d < DX.length; d++) {
+                int ni = i + DX[d];
+                int nj = j + DY[d];
+                if (ni >= 0 && nj >= 0 && ni < latticeWidth && nj < latticeHeight
+                        && !cells.isOpen(2 * ni + 1, 2 * nj + 1)) {
+                    candidates[count++] = d;
+                }
+            }
+            if (count == 0) {
+                top--;
+                continue;
+            }
+            int d = candidates[rand.nextInt(count)];
+            cells.open(2 * i + 1 + DX[d], 2 * j + 1 + DY[d]);
+            cells.open(2 * (i + DX[d]) + 1, 2 * (j + DY[d]) + 1);
+            if (top == stack.length) stack = Arrays.copyOf(stack, top * 2);
+            stack[top++] = (j + DY[d]) * latticeWidth + i + DX[d];
+        }
+        cells.connectGoal();
+        cells.emitRows(sink);
+    }
+
+    /**
+     * Возвращает название генератора.
+     * @return Название генератора.
+     */
+    @Override
+    public String getName() {
+        return "Recursive Backtracker";
+    }
+}
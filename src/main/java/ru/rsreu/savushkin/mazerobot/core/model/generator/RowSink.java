@@ -0,0 +1,17 @@
+package ru.rsreu.savushkin.mazerobot.core.model.generator;
+
+/**
+ * Приемник строк лабиринта, которые генератор выдает по мере построения.
+ */
+@FunctionalInterface
+public interface RowSink {
+    /**
+     * Принимает очередную строку лабиринта.
+     * <p>Строки передаются по порядку, от 0 до {@code height - 1}. Генератор может переиспользовать
+     * массив между вызовами, поэтому приемник должен скопировать данные, если хранит их.</p>
+     *
+     * @param y Номер строки.
+     * @param codes Коды ячеек строки (порядковые номера {@code CellType}), длина равна ширине лабиринта.
+     */
+    void acceptRow(int y, byte[] codes);
+}
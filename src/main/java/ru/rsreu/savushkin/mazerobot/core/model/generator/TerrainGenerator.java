@@ -0,0 +1,83 @@
+package ru.rsreu.savushkin.mazerobot.core.model.generator;
+
+/**
+ * Генератор рельефа — стоимостей прохода клеток.
+ * <p>Строит гладкий шум значений (value noise): случайные значения задаются в узлах решетки с шагом
+ * {@code featureSize} клеток и билинейно интерполируются между ними. Значение шума {@code v} из
+ * {@code [0, 1)} переводится в стоимость {@code 1 + floor(v² · maxCost)}, поэтому большая часть
+ * лабиринта остается дешевой, а дорогие клетки собираются в «болота» и «холмы» размером порядка
+ * {@code featureSize}.</p>
+ * <p>Значение узла вычисляется хешированием его координат и зерна, поэтому строки выдаются по
+ * одной без хранения всего поля, а результат полностью определяется параметрами и зерном.</p>
+ */
+public class TerrainGenerator {
+    private final int maxCost;
+    private final int featureSize;
+
+    /**
+     * Создает генератор.
+     *
+     * @param maxCost Наибольшая стоимость клетки (от 1 до 127).
+     * @param featureSize Шаг решетки шума в клетках (не меньше 1).
+     * @throws IllegalArgumentException если параметры вне допустимых границ.
+     */
+    public TerrainGenerator(int maxCost, int featureSize) {
+        if (maxCost < 1 || maxCost > Byte.MAX_VALUE) throw new IllegalArgumentException("Max cost must be in [1, 127]");
+        if (featureSize < 1) throw new IllegalArgumentException("Feature size must be positive");
+        this.maxCost = maxCost;
+        this.featureSize = featureSize;
+    }
+
+    /**
+     * Возвращает наибольшую стоимость клетки.
+     * @return Наибольшая стоимость.
+     */
+    public int getMaxCost() {
+        return maxCost;
+    }
+
+    /**
+     * Генерирует стоимости клеток и передает их приемнику построчно.
+     * <p>Массив строки переиспользуется между вызовами приемника и содержит стоимости от 1 до
+     * {@code maxCost}.</p>
+     *
+     * @param width Ширина лабиринта.
+     * @param height Высота лабиринта.
+     * @param seed Зерно генератора случайных чисел.
+     * @param sink Приемник строк.
+     */
+    public void generate(int width, int height, long seed, RowSink sink) {
+        byte[] row = new byte[width];
+        for (int y = 0; y < height; y++) {
+            int ly = y / featureSize;
+            double fy = smooth((y % featureSize) / (double) featureSize);
+            for (int x = 0; x < width; x++) {
+                int lx = x / featureSize;
+                double fx = smooth((x % featureSize) / (double) featureSize);
+                double top = lerp(node(seed, lx, ly), node(seed, lx + 1, ly), fx);
+                double bottom = lerp(node(seed, lx, ly + 1), node(seed, lx + 1, ly + 1), fx);
+                double v = lerp(top, bottom, fy);
+                row[x] = (byte) Math.min(maxCost, 1 + (int) (v * v * maxCost));
+            }
+            sink.acceptRow(y, row);
+        }
+    }
+
+    /**
+     * Возвращает значение шума в узле решетки из {@code [0, 1)}.
+     */
+    private static double node(long seed, int x, int y) {
+        long h = seed ^ (x * 0x9E3779B97F4A7C15L) ^ (y * 0xC2B2AE3D27D4EB4FL);
+        h = (h ^ (h >>> 33)) * 0xFF51AFD7ED558CCDL;
+        h = (h ^ (h >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return ((h ^ (h >>> 33)) >>> 11) * 0x1.0p-53;
+    }
+
+    private static double smooth(double t) {
+        return t * t * (3 - 2 * t);
+    }
+
+    private static double lerp(double a, double b, double t) {
+        return a + (b - a) * t;
+    }
+}
@@ -0,0 +1,58 @@
+package ru.rsreu.savushkin.mazerobot.core.model.generator;
+
+/**
+ * Система непересекающихся множеств (union-find) на массиве {@code int[]}
+ * со сжатием путей делением пополам и объединением по размеру.
+ */
+final class UnionFind {
+    private final int[] parents;
+    private final int[] sizes;
+
+    UnionFind(int count) {
+        this.parents = new int[count];
+        this.sizes = new int[count];
+        reset(0, count);
+    }
+
+    /**
+     * Делает элементы диапазона одноэлементными множествами.
+     *
+     * @param from Первый элемент.
+     * @param to Элемент после последнего.
+     */
+    void reset(int from, int to) {
+        for (int i = from; i < to; i++) {
+            parents[i] = i;
+            sizes[i] = 1;
+        }
+    }
+
+    int find(int element) {
+        while (parents[element] != element) {
+            parents[element] = parents[parents[element]];
+            element = parents[element];
+        }
+        return element;
+    }
+
+    /**
+     * Объединяет множества двух элементов.
+     *
+     * @param a Первый элемент.
+     * @param b Второй элемент.
+     * @return {@code true}, если элементы были в разных множествах.
+     */
+    boolean union(int a, int b) {
+        int rootA = find(a);
+        int rootB = find(b);
+        if (rootA == rootB) return false;
+        if (sizes[rootA] < sizes[rootB]) {
+            int tmp = rootA;
+            rootA = rootB;
+            rootB = tmp;
+        }
+        parents[rootB] = rootA;
+        sizes[rootA] += sizes[rootB];
+        return true;
+    }
+}
@@ -0,0 +1,120 @@
+package ru.rsreu.savushkin.mazerobot.core.model.grid;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Хранилище слов во внешней (off-heap) памяти на основе прямых {@link ByteBuffer}.
+ * <p>Один буфер ограничен 2 ГБ, поэтому данные разбиваются на блоки по {@value #CHUNK_BYTES} байт.
+ * Данные не участвуют в сборке мусора и не увеличивают размер кучи.</p>
+ * <p>Хранилище может быть отображено на файл ({@link #map}): тогда данные загружаются операционной
+ * системой по страницам по мере обращения и разделяются между процессами через страничный кэш.</p>
+ * <p>{@code MemorySegment} в Java 21 доступен только как preview API, поэтому для внешней памяти
+ * используются прямые буферы.</p>
+ */
+public final class BufferWordStorage implements WordStorage {
+    /** Логарифм количества слов в одном блоке. */
+    private static final int CHUNK_SHIFT = 27;
+    /** Размер одного блока в байтах (1 ГБ). */
+    static final int CHUNK_BYTES = (1 << CHUNK_SHIFT) * Long.BYTES;
+    private static final long CHUNK_MASK = (1L << CHUNK_SHIFT) - 1;
+
+    private final ByteBuffer[] chunks;
+    private final long size;
+
+    /**
+     * Создает хранилище поверх уже подготовленных блоков.
+     * <p>Все блоки, кроме последнего, должны иметь размер ровно {@value #CHUNK_BYTES} байт.</p>
+     *
+     * @param chunks Блоки памяти.
+     * @param size Количество слов в хранилище.
+     */
+    BufferWordStorage(ByteBuffer[] chunks, long size) {
+        this.chunks = chunks;
+        this.size = size;
+    }
+
+    /**
+     * Выделяет хранилище заданного размера во внешней памяти.
+     *
+     * @param size Количество слов.
+     * @return Новое хранилище, заполненное нулями.
+     */
+    public static BufferWordStorage allocateDirect(long size) {
+        if (size < 0) throw new IllegalArgumentException("Negative size: " + size);
+        ByteBuffer[] chunks = new ByteBuffer[chunkCount(size)];
+        for (int i = 0; i < chunks.length; i++) {
+            long remaining = size - ((long) i << CHUNK_SHIFT);
+            int bytes = (int) Math.min(remaining * Long.BYTES, CHUNK_BYTES);
+            chunks[i] = ByteBuffer.allocateDirect(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        }
+        return new BufferWordStorage(chunks, size);
+    }
+
+    /**
+     * Отображает область файла в память и создает хранилище поверх нее без копирования данных.
+     * <p>Слова в файле хранятся в порядке байтов little-endian. Отображение остается действительным
+     * после закрытия канала.</p>
+     *
+     * @param channel Канал файла.
+     * @param mode Режим отображения: только чтение, запись в файл или копирование при записи.
+     * @param offset Смещение области в файле в байтах.
+     * @param size Количество слов.
+     * @return Хранилище, отображенное на файл.
+     * @throws IOException если отображение не удалось.
+     */
+    public static BufferWordStorage map(FileChannel channel, FileChannel.MapMode mode, long offset, long size)
+            throws IOException {
+        if (size < 0 || offset < 0) throw new IllegalArgumentException("Negative offset or size");
+        ByteBuffer[] chunks = new ByteBuffer[chunkCount(size)];
+        for (int i = 0; i < chunks.length; i++) {
+            long first = (long) i << CHUNK_SHIFT;
+            long bytes = Math.min((size - first) * Long.BYTES, CHUNK_BYTES);
+            chunks[i] = channel.map(mode, offset + first * Long.BYTES, bytes).order(ByteOrder.LITTLE_ENDIAN);
+        }
+        return new BufferWordStorage(chunks, size);
+    }
+
+    /**
+     * Сбрасывает изменения отображенных блоков в файл. Для блоков, не отображенных на файл
+     * в режиме записи, ничего не делает.
+     */
+    public void force() {
+        for (ByteBuffer chunk : chunks) {
+            if (chunk instanceof MappedByteBuffer mapped && !mapped.isReadOnly()) mapped.force();
+        }
+    }
+
+    /**
+     * Проверяет, доступно ли хранилище только для чтения.
+     * @return {@code true}, если запись в хранилище невозможна.
+     */
+    public boolean isReadOnly() {
+        return chunks.length > 0 && chunks[0].isReadOnly();
+    }
+
+    /**
+     * Вычисляет количество блоков, необходимое для хранения заданного количества слов.
+     * @param size Количество слов.
+     * @return Количество блоков.
+     */
+    static int chunkCount(long size) {
+        return (int) ((size + CHUNK_MASK) >>> CHUNK_SHIFT);
+    }
+
+    @Override
+    public long size() { return size; }
+
+    @Override
+    public long get(long index) {
+        return chunks[(int) (index >>> CHUNK_SHIFT)].getLong((int) (index & CHUNK_MASK) << 3);
+    }
+
+    @Override
+    public void set(long index, long value) {
+        chunks[(int) (index >>> CHUNK_SHIFT)].putLong((int) (index & CHUNK_MASK) << 3, value);
+    }
+}
@@ -0,0 +1,35 @@
+package ru.rsreu.savushkin.mazerobot.core.model.grid;
+
+/**
+ * Хранилище слов в обычном массиве {@code long[]} в куче Java.
+ * <p>Самый быстрый вариант для сеток, помещающихся в один массив
+ * (до {@code Integer.MAX_VALUE - 8} слов, т.е. около 16 ГБ).</p>
+ */
+public final class HeapWordStorage implements WordStorage {
+    /** Максимальная длина массива, которую гарантированно выделяет JVM. */
+    private static final long MAX_WORDS = Integer.MAX_VALUE - 8;
+
+    private final long[] words;
+
+    /**
+     * Создает хранилище заданного размера, заполненное нулями.
+     *
+     * @param size Количество слов.
+     * @throws IllegalArgumentException если размер отрицателен или превышает предел массива.
+     */
+    public HeapWordStorage(long size) {
+        if (size < 0 || size > MAX_WORDS) {
+            throw new IllegalArgumentException("Heap storage cannot hold " + size + " words");
+        }
+        this.words = new long[(int) size];
+    }
+
+    @Override
+    public long size() { return words.length; }
+
+    @Override
+    public long get(long index) { return words[(int) index]; }
+
+    @Override
+    public void set(long index, long value) { words[(int) index] = value; }
+}
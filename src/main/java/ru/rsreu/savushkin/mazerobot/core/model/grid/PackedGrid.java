@@ -0,0 +1,203 @@
+package ru.rsreu.savushkin.mazerobot.core.model.grid;
+
+/**
+ * Компактная двумерная сетка небольших целых кодов, упакованных в 64-битные слова.
+ * <p>Каждая ячейка занимает {@code bitsPerCell} бит (1, 2, 4 или 8). Строки выровнены по границе слова,
+ * поэтому чтение ячейки — это одно чтение слова и сдвиг, а построчный доступ не пересекает строки.</p>
+ * <p>Для 2 бит на ячейку лабиринт 50 000 × 50 000 занимает около 625 МБ вместо нескольких гигабайт
+ * для массива ссылок {@code CellType[][]}.</p>
+ */
+public final class PackedGrid {
+    private final int width;
+    private final int height;
+    private final int bitsPerCell;
+    private final int cellShift;
+    private final int cellMask;
+    private final long valueMask;
+    private final long wordsPerRow;
+    private final WordStorage storage;
+
+    /**
+     * Создает сетку поверх заданного хранилища.
+     *
+     * @param width Ширина сетки.
+     * @param height Высота сетки.
+     * @param bitsPerCell Количество бит на ячейку (1, 2, 4 или 8).
+     * @param storage Хранилище слов размером не меньше {@link #requiredWords(int, int, int)}.
+     * @throws IllegalArgumentException при недопустимых размерах или недостаточном хранилище.
+     */
+    public PackedGrid(int width, int height, int bitsPerCell, WordStorage storage) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Grid size must be positive: " + width + "x" + height);
+        }
+        if (storage.size() < requiredWords(width, height, bitsPerCell)) {
+            throw new IllegalArgumentException("Storage is too small for " + width + "x" + height + " grid");
+        }
+        this.width = width;
+        this.height = height;
+        this.bitsPerCell = bitsPerCell;
+        int cellsPerWord = Long.SIZE / bitsPerCell;
+        this.cellShift = Integer.numberOfTrailingZeros(cellsPerWord);
+        this.cellMask = cellsPerWord - 1;
+        this.valueMask = (1L << bitsPerCell) - 1;
+        this.wordsPerRow = (width + cellMask) >>> cellShift;
+        this.storage = storage;
+    }
+
+    /**
+     * Создает сетку, заполненную нулями, в куче Java.
+     *
+     * @param width Ширина сетки.
+     * @param height Высота сетки.
+     * @param bitsPerCell Количество бит на ячейку.
+     * @return Новая сетка.
+     */
+    public static PackedGrid onHeap(int width, int height, int bitsPerCell) {
+        return new PackedGrid(width, height, bitsPerCell,
+                new HeapWordStorage(requiredWords(width, height, bitsPerCell)));
+    }
+
+    /**
+     * Создает сетку, заполненную нулями, во внешней памяти (вне кучи Java).
+     *
+     * @param width Ширина сетки.
+     * @param height Высота сетки.
+     * @param bitsPerCell Количество бит на ячейку.
+     * @return Новая сетка.
+     */
+    public static PackedGrid offHeap(int width, int height, int bitsPerCell) {
+        return new PackedGrid(width, height, bitsPerCell,
+                BufferWordStorage.allocateDirect(requiredWords(width, height, bitsPerCell)));
+    }
+
+    /**
+     * Вычисляет количество слов, необходимое для сетки заданного размера.
+     *
+     * @param width Ширина сетки.
+     * @param height Высота сетки.
+     * @param bitsPerCell Количество бит на ячейку (1, 2, 4 или 8).
+     * @return Количество 64-битных слов.
+     * @throws IllegalArgumentException если {@code bitsPerCell} не является допустимым значением.
+     */
+    public static long requiredWords(int width, int height, int bitsPerCell) {
+        if (bitsPerCell != 1 && bitsPerCell != 2 && bitsPerCell != 4 && bitsPerCell != 8) {
+            throw new IllegalArgumentException("Unsupported bits per cell: " + bitsPerCell);
+        }
+        int cellsPerWord = Long.SIZE / bitsPerCell;
+        long wordsPerRow = ((long) width + cellsPerWord - 1) / cellsPerWord;
+        return wordsPerRow * height;
+    }
+
+    /**
+     * Возвращает код ячейки.
+     * <p>Координаты не проверяются: вызывающая сторона отвечает за попадание в границы сетки.</p>
+     *
+     * @param x Координата X.
+     * @param y Координата Y.
+     * @return Код ячейки.
+     */
+    public int get(int x, int y) {
+        long word = storage.get(y * wordsPerRow + (x >>> cellShift));
+        return (int) ((word >>> ((x & cellMask) * bitsPerCell)) & valueMask);
+    }
+
+    /**
+     * Записывает код ячейки.
+     *
+     * @param x Координата X.
+     * @param y Координата Y.
+     * @param value Новый код (используются только младшие {@code bitsPerCell} бит).
+     */
+    public void set(int x, int y, int value) {
+        long index = y * wordsPerRow + (x >>> cellShift);
+        int shift = (x & cellMask) * bitsPerCell;
+        long word = storage.get(index);
+        word = (word & ~(valueMask << shift)) | ((value & valueMask) << shift);
+        storage.set(index, word);
+    }
+
+    /**
+     * Читает всю строку сетки в массив кодов.
+     * <p>Каждое слово читается из хранилища ровно один раз.</p>
+     *
+     * @param y Номер строки.
+     * @param dst Массив длиной не меньше ширины сетки.
+     */
+    public void readRow(int y, byte[] dst) {
+        long base = y * wordsPerRow;
+        int cellsPerWord = cellMask + 1;
+        for (int x = 0; x < width; x += cellsPerWord) {
+            long word = storage.get(base + (x >>> cellShift));
+            int end = Math.min(width, x + cellsPerWord);
+            for (int i = x; i < end; i++) {
+                dst[i] = (byte) (word & valueMask);
+                word >>>= bitsPerCell;
+            }
+        }
+    }
+
+    /**
+     * Читает всю строку сетки, переводя коды в значения по таблице.
+     * <p>Каждое слово читается из хранилища ровно один раз; промежуточный массив кодов не создается.</p>
+     *
+     * @param y Номер строки.
+     * @param dst Массив длиной не меньше ширины сетки.
+     * @param values Таблица значений, индексируемая кодом ячейки.
+     * @param <T> Тип значения.
+     */
+    public <T> void readRow(int y, T[] dst, T[] values) {
+        long base = y * wordsPerRow;
+        int cellsPerWord = cellMask + 1;
+        for (int x = 0; x < width; x += cellsPerWord) {
+            long word = storage.get(base + (x >>> cellShift));
+            int end = Math.min(width, x + cellsPerWord);
+            for (int i = x; i < end; i++) {
+                dst[i] = values[(int) (word & valueMask)];
+                word >>>= bitsPerCell;
+            }
+        }
+    }
+
+    /**
+     * Записывает всю строку сетки из массива кодов.
+     *
+     * @param y Номер строки.
+     * @param src Массив кодов длиной не меньше ширины сетки.
+     */
+    public void writeRow(int y, byte[] src) {
+        long base = y * wordsPerRow;
+        int cellsPerWord = cellMask + 1;
+        for (int x = 0; x < width; x += cellsPerWord) {
+            int end = Math.min(width, x + cellsPerWord);
+            long word = 0;
+            for (int i = end - 1; i >= x; i--) {
+                word = (word << bitsPerCell) | (src[i] & valueMask);
+            }
+            storage.set(base + (x >>> cellShift), word);
+        }
+    }
+
+    /**
+     * Возвращает ширину сетки.
+     * @return Ширина.
+     */
+    public int getWidth() { return width; }
+
+    /**
+     * Возвращает высоту сетки.
+     * @return Высота.
+     */
+    public int getHeight() { return height; }
+
+    /**
+     * Возвращает количество бит на ячейку.
+     * @return Количество бит.
+     */
+    public int getBitsPerCell() { return bitsPerCell; }
+
+    /**
+     * Возвращает хранилище слов, на котором построена сетка.
+     * @return Хранилище.
+     */
+    public WordStorage getStorage() { return storage; }
+}
@@ -0,0 +1,29 @@
+package ru.rsreu.savushkin.mazerobot.core.model.grid;
+
+/**
+ * Хранилище 64-битных слов, на котором строится упакованная сетка {@link PackedGrid}.
+ * <p>Абстрагирует место хранения данных: массив в куче Java или внешняя (off-heap) память.
+ * Индексы слов имеют тип {@code long}, что позволяет адресовать сетки размером больше
+ * {@code Integer.MAX_VALUE} ячеек.</p>
+ */
+public interface WordStorage {
+    /**
+     * Возвращает количество слов в хранилище.
+     * @return Размер хранилища в словах.
+     */
+    long size();
+
+    /**
+     * Читает слово по индексу.
+     * @param index Индекс слова.
+     * @return Значение слова.
+     */
+    long get(long index);
+
+    /**
+     * Записывает слово по индексу.
+     * @param index Индекс слова.
+     * @param value Новое значение слова.
+     */
+    void set(long index, long value);
+}
@@ -0,0 +1,134 @@
+package ru.rsreu.savushkin.mazerobot.core.solver;
+
+import ru.rsreu.savushkin.mazerobot.core.state.Environment;
+import ru.rsreu.savushkin.mazerobot.core.state.State;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+/**
+ * Пакетный поиск путей: множество запросов (старт, цель) над одной общей средой.
+ * <p>Каждый запрос выполняется в отдельной задаче над средой {@link Environment#withGoal(State)},
+ * которая разделяет лабиринт с исходной средой. По умолчанию для каждого пакета создаются
+ * виртуальные потоки; вместо них можно передать собственный ограниченный пул.</p>
+ * <p>Решатель должен допускать одновременные вызовы: встроенные решатели создают состояние поиска
+ * на каждый вызов, а {@code DStarLiteSolver} синхронизирован и выполняет запросы по очереди.
+ * Лабиринт во время пакета не должен изменяться.</p>
+ */
+public class BatchSolver {
+    private final ProblemSolver solver;
+    private final ExecutorService executor;
+
+    /**
+     * Создает пакетный решатель, выполняющий запросы на виртуальных потоках.
+     *
+     * @param solver Решатель для всех запросов пакета.
+     */
+    public BatchSolver(ProblemSolver solver) {
+        this(solver, null);
+    }
+
+    /**
+     * Создает пакетный решатель, выполняющий запросы в заданном пуле. Пул не закрывается.
+     *
+     * @param solver Решатель для всех запросов пакета.
+     * @param executor Пул потоков или {@code null} для виртуальных потоков.
+     */
+    public BatchSolver(ProblemSolver solver, ExecutorService executor) {
+        if (solver == null) throw new IllegalArgumentException("Solver cannot be null");
+        this.solver = solver;
+        this.executor = executor;
+    }
+
+    /**
+     * Выполняет все запросы и возвращает результаты в порядке запросов.
+     *
+     * @param env Общая среда.
+     * @param queries Запросы.
+     * @param <S> Тип состояния.
+     * @return Результаты в том же порядке, что и запросы.
+     * @throws IllegalStateException если ожидающий поток был прерван.
+     */
+    public <S extends State> List<QueryResult<S>> solveAll(Environment<S, ?> env, List<PathQuery<S>> queries) {
+        ExecutorService pool = executor != null ? executor : Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            List<Future<QueryResult<S>>> futures = new ArrayList<>(queries.size());
+            for (int i = 0; i < queries.size(); i++) {
+                int index = i;
+                futures.add(pool.submit(() -> solveOne(env, index, queries.get(index))));
+            }
+            List<QueryResult<S>> results = new ArrayList<>(queries.size());
+            for (Future<QueryResult<S>> future : futures) {
+                results.add(await(future));
+            }
+            return results;
+        } finally {
+            if (executor == null) pool.close();
+        }
+    }
+
+    /**
+     * Запускает все запросы и возвращает поток результатов в порядке их завершения.
+     * <p>Получение очередного элемента блокирует поток до завершения следующего запроса.
+     * Исходный номер запроса доступен через {@link QueryResult#index()}.</p>
+     *
+     * @param env Общая среда.
+     * @param queries Запросы.
+     * @param <S> Тип состояния.
+     * @return Поток результатов по мере готовности.
+     */
+    public <S extends State> Stream<QueryResult<S>> solveAsCompleted(Environment<S, ?> env, List<PathQuery<S>> queries) {
+        ExecutorService pool = executor != null ? executor : Executors.newVirtualThreadPerTaskExecutor();
+        CompletionService<QueryResult<S>> completion = new ExecutorCompletionService<>(pool);
+        for (int i = 0; i < queries.size(); i++) {
+            int index = i;
+            completion.submit(() -> solveOne(env, index, queries.get(index)));
+        }
+        if (executor == null) pool.shutdown(); // задачи продолжают выполняться
+
+        return Stream.generate(() -> {
+            try {
+                return await(completion.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Batch interrupted", e);
+            }
+        }).limit(queries.size());
+    }
+
+    /**
+     * Выполняет один запрос и измеряет его время. Исключение решателя сохраняется в результате.
+     */
+    private <S extends State> QueryResult<S> solveOne(Environment<S, ?> env, int index, PathQuery<S> query) {
+        long startTime = System.nanoTime();
+        try {
+            Environment<S, ?> queryEnv = env.withGoal(query.goal());
+            List<S> path = solver.solve(queryEnv, query.start());
+            long nanos = System.nanoTime() - startTime;
+            double cost = path.isEmpty() ? Double.POSITIVE_INFINITY : queryEnv.pathCost(path);
+            return new QueryResult<>(index, query, path, cost, nanos, null);
+        } catch (RuntimeException e) {
+            return new QueryResult<>(index, query, Collections.emptyList(), Double.POSITIVE_INFINITY,
+                    System.nanoTime() - startTime, e);
+        }
+    }
+
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Batch interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Batch query failed", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package ru.rsreu.savushkin.mazerobot.core.solver;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Неблокирующий кольцевой буфер раскрытых клеток для одного писателя и одного читателя.
+ * <p>Писатель — поток поиска, который вызывает {@link #expanded(int, int)}; читатель — например, поток
+ * Swing, который с частотой кадров забирает накопленные клетки через {@link #drain(CellConsumer, int)}.
+ * Запись не блокируется и не выделяет память: клетка упаковывается в {@code long}, а позиция писателя
+ * публикуется упорядоченной записью. Позицию читателя писатель перечитывает только когда буфер кажется
+ * полным. Если читатель не успевает, новые клетки отбрасываются и учитываются в {@link #getDropped()},
+ * поэтому наблюдение почти не замедляет поиск.</p>
+ * <p>Писатель должен быть один: многопоточные решатели сообщают о клетках из координирующего потока.</p>
+ */
+public final class ExpansionRing implements SearchObserver {
+    /** Емкость буфера по умолчанию. */
+    public static final int DEFAULT_CAPACITY = 1 << 18;
+
+    /**
+     * Получатель клеток при чтении буфера.
+     */
+    @FunctionalInterface
+    public interface CellConsumer {
+        /**
+         * Принимает клетку.
+         *
+         * @param x Координата X.
+         * @param y Координата Y.
+         */
+        void accept(int x, int y);
+    }
+
+    private final long[] cells;
+    private final int mask;
+    /** Позиция писателя: количество записанных клеток. */
+    private final AtomicLong tail = new AtomicLong();
+    /** Позиция читателя: количество прочитанных клеток. */
+    private final AtomicLong head = new AtomicLong();
+    /** Последняя известная писателю позиция читателя. */
+    private long cachedHead;
+    private final AtomicLong dropped = new AtomicLong();
+
+    /**
+     * Создает буфер емкостью {@link #DEFAULT_CAPACITY}.
+     */
+    public ExpansionRing() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Создает буфер.
+     *
+     * @param capacity Емкость (степень двойки).
+     * @throws IllegalArgumentException если емкость не является положительной степенью двойки.
+     */
+    public ExpansionRing(int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a positive power of two");
+        }
+        this.cells = new long[capacity];
+        this.mask = capacity - 1;
+    }
+
+    @Override
+    public void expanded(int x, int y) {
+        long t = tail.getPlain();
+        if (t - cachedHead > mask) {
+            cachedHead = head.getAcquire();
+            if (t - cachedHead > mask) {
+                dropped.setOpaque(dropped.getPlain() + 1);
+                return;
+            }
+        }
+        cells[(int) t & mask] = ((long) x << 32) | (y & 0xFFFFFFFFL);
+        tail.setRelease(t + 1);
+    }
+
+    /**
+     * Передает получателю накопленные клетки в порядке раскрытия.
+     *
+     * @param consumer Получатель.
+     * @param max Наибольшее количество клеток за вызов.
+     * @return Количество переданных клеток.
+     */
+    public int drain(CellConsumer consumer, int max) {
+        long h = head.getPlain();
+        int count = (int) Math.min(max, tail.getAcquire() - h);
+        for (int i = 0; i < count; i++) {
+            long cell = cells[(int) (h + i) & mask];
+            consumer.accept((int) (cell >> 32), (int) cell);
+        }
+        head.setRelease(h + count);
+        return count;
+    }
+
+    /**
+     * Возвращает количество клеток, отброшенных из-за переполнения.
+     * @return Количество отброшенных клеток.
+     */
+    public long getDropped() {
+        return dropped.getOpaque();
+    }
+}
@@ -0,0 +1,269 @@
+package ru.rsreu.savushkin.mazerobot.core.solver;
+
+import ru.rsreu.savushkin.mazerobot.core.state.Environment;
+import ru.rsreu.savushkin.mazerobot.core.state.State;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Кэш найденных путей с вытеснением давно не использованных записей (LRU).
+ * <p>Ключ записи — среда, ее версия ({@link Environment#getVersion()}), старт, цель и имя алгоритма,
+ * поэтому после изменения лабиринта старые пути больше не находятся; при первом обращении с новой
+ * версией записи прежних версий той же среды удаляются. Последняя известная версия хранится только
+ * для сред, у которых есть записи, и удаляется вместе с последней из них.</p>
+ * <p>Для оптимальных решателей ({@link ProblemSolver#isOptimal()}) кэш отвечает и на запросы из
+ * промежуточных состояний: если старт лежит на сохраненном пути к той же цели, возвращается
+ * суффикс этого пути. Для этого состояния оптимальных путей индексируются по группе (среда, версия,
+ * цель, алгоритм), и поиск суффикса — одно обращение к хеш-таблице, а не перебор записей.</p>
+ * <p>Размер кэша ограничен и количеством записей, и суммарным количеством состояний: в него входят
+ * состояния всех путей и элементы индекса суффиксов (по одному на состояние оптимального пути).</p>
+ * <p>Все методы синхронизированы.</p>
+ */
+public class PathCache {
+    private final int maxEntries;
+    private final long maxStates;
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    /** Последняя версия и количество записей для каждой среды, у которой есть записи. */
+    private final Map<Environment<?, ?>, EnvRecord> environments = new HashMap<>();
+    /** Индекс суффиксов: состояние оптимального пути по группе (среда, версия, цель, алгоритм). */
+    private final Map<Group, Map<State, Position>> suffixes = new HashMap<>();
+    private long totalStates;
+    private long hits;
+    private long suffixHits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * Ключ записи кэша.
+     *
+     * @param env Среда.
+     * @param version Версия среды.
+     * @param start Начальное состояние.
+     * @param goal Целевое состояние.
+     * @param algorithm Имя алгоритма.
+     */
+    private record Key(Environment<?, ?> env, long version, State start, State goal, String algorithm) {
+        private Group group() {
+            return new Group(env, version, goal, algorithm);
+        }
+    }
+
+    /**
+     * Группа записей, суффиксы которых взаимозаменяемы.
+     *
+     * @param env Среда.
+     * @param version Версия среды.
+     * @param goal Целевое состояние.
+     * @param algorithm Имя алгоритма.
+     */
+    private record Group(Environment<?, ?> env, long version, State goal, String algorithm) {
+    }
+
+    /**
+     * Положение состояния в сохраненном оптимальном пути.
+     *
+     * @param entry Запись с путем.
+     * @param index Позиция состояния в пути.
+     */
+    private record Position(Entry entry, int index) {
+    }
+
+    /**
+     * Сохраненный путь.
+     *
+     * @param key Ключ записи.
+     * @param path Путь.
+     * @param optimal Найден ли путь оптимальным решателем (тогда его состояния есть в индексе суффиксов).
+     */
+    private record Entry(Key key, List<? extends State> path, boolean optimal) {
+        /**
+         * Возвращает вклад записи в ограничение по состояниям: путь и, для оптимального пути, индекс.
+         * @return Количество состояний.
+         */
+        private long weight() {
+            return optimal ? 2L * path.size() : path.size();
+        }
+    }
+
+    /**
+     * Последняя известная версия среды и количество ее записей.
+     */
+    private static final class EnvRecord {
+        private final long version;
+        private int count;
+
+        private EnvRecord(long version) {
+            this.version = version;
+        }
+    }
+
+    /**
+     * Снимок статистики кэша.
+     *
+     * @param hits Количество точных попаданий.
+     * @param suffixHits Количество ответов суффиксом сохраненного пути.
+     * @param misses Количество промахов.
+     * @param evictions Количество вытесненных записей.
+     * @param size Текущее количество записей.
+     * @param states Суммарное количество состояний в сохраненных путях и индексе суффиксов.
+     */
+    public record Stats(long hits, long suffixHits, long misses, long evictions, int size, long states) {
+        /**
+         * Возвращает долю запросов, на которые кэш ответил без поиска.
+         * @return Доля попаданий от 0 до 1.
+         */
+        public double hitRate() {
+            long total = hits + suffixHits + misses;
+            return total == 0 ? 0 : (double) (hits + suffixHits) / total;
+        }
+    }
+
+    /**
+     * Создает кэш с заданными ограничениями.
+     *
+     * @param maxEntries Максимальное количество путей.
+     * @param maxStates Максимальное суммарное количество состояний во всех путях и индексе суффиксов.
+     */
+    public PathCache(int maxEntries, long maxStates) {
+        if (maxEntries < 1 || maxStates < 1) throw new IllegalArgumentException("Cache limits must be positive");
+        this.maxEntries = maxEntries;
+        this.maxStates = maxStates;
+    }
+
+    /**
+     * Ищет путь в кэше: сначала точное совпадение, затем суффикс оптимального пути к той же цели.
+     *
+     * @param env Среда.
+     * @param start Начальное состояние.
+     * @param algorithm Имя алгоритма.
+     * @param <S> Тип состояния.
+     * @return Путь или {@code null} при промахе.
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized <S extends State> List<S> get(Environment<S, ?> env, S start, String algorithm) {
+        long version = env.getVersion();
+        EnvRecord known = environments.get(env);
+        if (known != null && known.version != version) dropEnvironment(env);
+        S goal = env.getGoalState();
+
+        Entry exact = entries.get(new Key(env, version, start, goal, algorithm));
+        if (exact != null) {
+            hits++;
+            return (List<S>) exact.path;
+        }
+        Map<State, Position> index = suffixes.get(new Group(env, version, goal, algorithm));
+        Position position = index == null ? null : index.get(start);
+        if (position != null) {
+            suffixHits++;
+            entries.get(position.entry.key); // отмечаем запись как использованную
+            List<? extends State> path = position.entry.path;
+            return (List<S>) path.subList(position.index, path.size());
+        }
+        misses++;
+        return null;
+    }
+
+    /**
+     * Сохраняет найденный путь и вытесняет давно не использованные записи при превышении ограничений.
+     * <p>Путь, найденный для версии старше уже известной, возвращается, но не сохраняется.</p>
+     *
+     * @param env Среда.
+     * @param version Версия среды, для которой выполнялся поиск (считывается до запуска решателя).
+     * @param start Начальное состояние.
+     * @param solver Решатель, нашедший путь.
+     * @param path Путь (копируется).
+     * @param <S> Тип состояния.
+     * @return Неизменяемая копия пути.
+     */
+    public synchronized <S extends State> List<S> put(Environment<S, ?> env, long version, S start,
+                                                      ProblemSolver solver, List<S> path) {
+        List<S> copy = List.copyOf(path);
+        EnvRecord known = environments.get(env);
+        if (known != null && known.version != version) {
+            if (version < known.version) return copy;
+            dropEnvironment(env);
+        }
+        Key key = new Key(env, version, start, env.getGoalState(), solver.getName());
+        Entry previous = entries.remove(key);
+        if (previous != null) removed(previous);
+        Entry entry = new Entry(key, copy, solver.isOptimal() && !copy.isEmpty());
+        entries.put(key, entry);
+        environments.computeIfAbsent(env, e -> new EnvRecord(version)).count++;
+        totalStates += entry.weight();
+        if (entry.optimal) {
+            Map<State, Position> index = suffixes.computeIfAbsent(key.group(), g -> new HashMap<>());
+            for (int i = copy.size() - 1; i >= 0; i--) index.put(copy.get(i), new Position(entry, i));
+        }
+
+        Iterator<Map.Entry<Key, Entry>> eldest = entries.entrySet().iterator();
+        while ((entries.size() > maxEntries || totalStates > maxStates) && eldest.hasNext()) {
+            Map.Entry<Key, Entry> e = eldest.next();
+            if (e.getValue() == entry) break; // новую запись не вытесняем
+            eldest.remove();
+            removed(e.getValue());
+            evictions++;
+        }
+        return copy;
+    }
+
+    /**
+     * Удаляет все записи среды (после изменения ее версии).
+     *
+     * @param env Среда.
+     */
+    private void dropEnvironment(Environment<?, ?> env) {
+        Iterator<Map.Entry<Key, Entry>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Key, Entry> e = it.next();
+            if (e.getKey().env.equals(env)) {
+                it.remove();
+                removed(e.getValue());
+            }
+        }
+    }
+
+    /**
+     * Обновляет учет и индексы после удаления записи из {@link #entries}.
+     * <p>Состояния, которые индекс суффиксов относил к удаленной записи, убираются из индекса, даже если
+     * они есть и в другом сохраненном пути: такой запрос станет промахом, но не вернет неверный путь.</p>
+     *
+     * @param entry Удаленная запись.
+     */
+    private void removed(Entry entry) {
+        Key key = entry.key;
+        totalStates -= entry.weight();
+        EnvRecord record = environments.get(key.env);
+        if (record != null && --record.count == 0) environments.remove(key.env);
+        if (!entry.optimal) return;
+        Group group = key.group();
+        Map<State, Position> index = suffixes.get(group);
+        if (index == null) return;
+        for (State state : entry.path) {
+            Position position = index.get(state);
+            if (position != null && position.entry == entry) index.remove(state);
+        }
+        if (index.isEmpty()) suffixes.remove(group);
+    }
+
+    /**
+     * Удаляет все записи.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        environments.clear();
+        suffixes.clear();
+        totalStates = 0;
+    }
+
+    /**
+     * Возвращает снимок статистики кэша.
+     * @return Статистика.
+     */
+    public synchronized Stats getStats() {
+        return new Stats(hits, suffixHits, misses, evictions, entries.size(), totalStates);
+    }
+}
@@ -1,46 +1,88 @@
 package ru.rsreu.savushkin.mazerobot.core.solver;
 
+import ru.rsreu.savushkin.mazerobot.core.jfr.SolveEvent;
+import ru.rsreu.savushkin.mazerobot.core.model.MazeModel;
+import ru.rsreu.savushkin.mazerobot.core.solver.impl.BidirectionalAStarSolver;
+import ru.rsreu.savushkin.mazerobot.core.solver.impl.BidirectionalBfsSolver;
 import ru.rsreu.savushkin.mazerobot.core.solver.impl.BreadthFirstSolver;
+import ru.rsreu.savushkin.mazerobot.core.solver.impl.BucketAStarSolver;
 import ru.rsreu.savushkin.mazerobot.core.solver.impl.DepthFirstSolver;
+import ru.rsreu.savushkin.mazerobot.core.solver.impl.DStarLiteSolver;
 import ru.rsreu.savushkin.mazerobot.core.solver.impl.AStarSolver;
+import ru.rsreu.savushkin.mazerobot.core.solver.impl.GridAStarSolver;
+import ru.rsreu.savushkin.mazerobot.core.solver.impl.HierarchicalSolver;
+import ru.rsreu.savushkin.mazerobot.core.solver.impl.JumpPointSolver;
+import ru.rsreu.savushkin.mazerobot.core.solver.impl.ParallelBreadthFirstSolver;
 import ru.rsreu.savushkin.mazerobot.core.state.Environment;
 import ru.rsreu.savushkin.mazerobot.core.state.State;
+import ru.rsreu.savushkin.mazerobot.core.state.maze.MazeEnvironment;
 import ru.rsreu.savushkin.mazerobot.core.solver.impl.GradientSolver;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
 
 /**
  * Менеджер поиска пути (PathFindingManager).
  * <p>Предоставляет интерфейс для выбора и запуска различных алгоритмов поиска пути
  * (DFS, BFS, A*) в пространстве состояний.</p>
+ * <p>Найденные пути сохраняются в {@link PathCache}, поэтому повторный запрос с тем же стартом,
+ * целью, версией среды и алгоритмом не запускает поиск заново. Кэш можно отключить
+ * ({@link #setCacheEnabled(boolean)}), например чтобы каждый вызов измерял сам поиск.</p>
  */
 public class PathFindingManager {
+    /** Максимальное количество путей в кэше по умолчанию. */
+    public static final int DEFAULT_CACHE_ENTRIES = 256;
+    /** Максимальное суммарное количество состояний в кэше по умолчанию. */
+    public static final long DEFAULT_CACHE_STATES = 4_000_000;
+
     private ProblemSolver currentStrategy;
     private final Map<String, ProblemSolver> solvers = new LinkedHashMap<>();
+    private final Map<String, Supplier<ProblemSolver>> factories = new HashMap<>();
+    private final PathCache cache = new PathCache(DEFAULT_CACHE_ENTRIES, DEFAULT_CACHE_STATES);
+    private volatile boolean cacheEnabled = true;
+    private final ExecutorService asyncExecutor = Executors.newVirtualThreadPerTaskExecutor();
 
     /**
      * Инициализирует менеджер, регистрируя все доступные алгоритмы поиска.
      * <p>По умолчанию устанавливает первый зарегистрированный алгоритм как текущий.</p>
      */
     public PathFindingManager() {
-        register(new BreadthFirstSolver());
-        register(new DepthFirstSolver());
-        register(new AStarSolver());
-        register(new GradientSolver());
+        register(BreadthFirstSolver::new);
+        register(ParallelBreadthFirstSolver::new);
+        register(() -> new DepthFirstSolver(DepthFirstSolver.Mode.GRAPH));
+        register(AStarSolver::new);
+        register(GridAStarSolver::new);
+        register(BucketAStarSolver::new);
+        register(JumpPointSolver::new);
+        register(HierarchicalSolver::new);
+        register(DStarLiteSolver::new);
+        register(BidirectionalBfsSolver::new);
+        register(BidirectionalAStarSolver::new);
+        register(GradientSolver::new);
+        register(() -> new GradientSolver(GradientSolver.Mode.DISTANCE_FIELD));
 
         this.currentStrategy = solvers.values().iterator().next();
     }
 
     /**
      * Регистрирует новый решатель в системе, используя его имя как ключ.
-     * @param solver Реализация алгоритма {@link ProblemSolver}.
+     * <p>Фабрика сохраняется, чтобы по тому же имени можно было создать новый экземпляр
+     * ({@link #createSolver(String)}).</p>
+     * @param factory Фабрика реализации алгоритма {@link ProblemSolver}.
      */
-    private void register(ProblemSolver solver) {
+    private void register(Supplier<ProblemSolver> factory) {
+        ProblemSolver solver = factory.get();
         solvers.put(solver.getName(), solver);
+        factories.put(solver.getName(), factory);
     }
 
     /**
      * Запускает поиск пути от заданного начального состояния с использованием текущего выбранного алгоритма.
+     * <p>Если путь уже есть в кэше (или старт лежит на сохраненном оптимальном пути к той же цели),
+     * поиск не выполняется.</p>
      *
      * @param env Среда (Environment), в которой происходит поиск.
      * @param startState Начальное состояние.
@@ -49,8 +91,114 @@ public class PathFindingManager {
      * @throws IllegalStateException если не выбран ни один алгоритм.
      */
     public <S extends State> List<S> findPath(Environment<S, ?> env, S startState) {
+        return findPath(env, startState, null);
+    }
+
+    /**
+     * Запускает поиск пути текущим алгоритмом и записывает статистику поиска.
+     * <p>При попадании в кэш статистика отмечается как {@link SearchStats#isCached() взятая из кэша}
+     * и содержит только путь и время обращения к кэшу.</p>
+     *
+     * @param env Среда (Environment), в которой происходит поиск.
+     * @param startState Начальное состояние.
+     * @param stats Приемник статистики или {@code null}.
+     * @param <S> Тип состояния.
+     * @return Список состояний, составляющих найденный путь.
+     * @throws IllegalStateException если не выбран ни один алгоритм.
+     */
+    public <S extends State> List<S> findPath(Environment<S, ?> env, S startState, SearchStats stats) {
+        if (currentStrategy == null) throw new IllegalStateException("Algorithm not selected");
+        return findPath(currentStrategy, env, startState, stats);
+    }
+
+    /**
+     * Запускает поиск пути текущим алгоритмом в отдельном потоке.
+     * <p>Алгоритм фиксируется в момент вызова. Поиск можно отменить через {@link SolveHandle#cancel()}
+     * или ограничить по времени и числу раскрытий через {@code control}; в этих случаях результат —
+     * лучший частичный путь, который не сохраняется в кэше. Слушатель прогресса из {@code control}
+     * вызывается в потоке поиска.</p>
+     *
+     * @param env Среда (Environment), в которой происходит поиск.
+     * @param startState Начальное состояние.
+     * @param control Управление поиском или {@code null} для поиска без ограничений.
+     * @param <S> Тип состояния.
+     * @return Дескриптор поиска.
+     * @throws IllegalStateException если не выбран ни один алгоритм.
+     */
+    public <S extends State> SolveHandle<S> findPathAsync(Environment<S, ?> env, S startState, SearchControl control) {
         if (currentStrategy == null) throw new IllegalStateException("Algorithm not selected");
-        return currentStrategy.solve(env, startState);
+        ProblemSolver solver = currentStrategy;
+        SearchControl searchControl = control != null ? control : new SearchControl();
+        SearchStats stats = new SearchStats(searchControl);
+        CompletableFuture<List<S>> result = CompletableFuture.supplyAsync(
+                () -> findPath(solver, env, startState, stats), asyncExecutor);
+        return new SolveHandle<>(result, searchControl, stats);
+    }
+
+    private <S extends State> List<S> findPath(ProblemSolver solver, Environment<S, ?> env, S startState,
+                                               SearchStats stats) {
+        SolveEvent event = new SolveEvent();
+        // Для события нужна статистика, даже если вызывающий ее не запросил.
+        if (stats == null && event.isEnabled()) stats = new SearchStats();
+        event.begin();
+        long startTime = System.nanoTime();
+        long version = env.getVersion();
+        boolean useCache = cacheEnabled;
+        List<S> path = useCache ? cache.get(env, startState, solver.getName()) : null;
+        if (path != null) {
+            if (stats != null) stats.markCached().complete(env, path, startTime);
+        } else {
+            path = solver.solve(env, startState, stats);
+            // Частичный результат остановленного поиска в кэш не попадает.
+            if (useCache && (stats == null || !stats.isStopped())) cache.put(env, version, startState, solver, path);
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            MazeModel maze = env instanceof MazeEnvironment mazeEnv ? mazeEnv.getMaze() : null;
+            event.set(solver.getName(), maze == null ? 0 : maze.getWidth(), maze == null ? 0 : maze.getHeight(), stats);
+            event.commit();
+        }
+        return path;
+    }
+
+    /**
+     * Выполняет пакет запросов с произвольными стартом и целью текущим алгоритмом на виртуальных потоках.
+     *
+     * @param env Общая среда (лабиринт).
+     * @param queries Запросы.
+     * @param <S> Тип состояния.
+     * @return Результаты в порядке запросов.
+     * @throws IllegalStateException если не выбран ни один алгоритм.
+     */
+    public <S extends State> List<QueryResult<S>> findPaths(Environment<S, ?> env, List<PathQuery<S>> queries) {
+        if (currentStrategy == null) throw new IllegalStateException("Algorithm not selected");
+        return new BatchSolver(currentStrategy).solveAll(env, queries);
+    }
+
+    /**
+     * Возвращает кэш найденных путей (например, для просмотра статистики попаданий).
+     * @return Кэш путей.
+     */
+    public PathCache getCache() {
+        return cache;
+    }
+
+    /**
+     * Включает или отключает кэш путей. При отключенном кэше каждый запрос выполняет поиск,
+     * а найденные пути не сохраняются; уже сохраненные записи остаются.
+     *
+     * @param enabled {@code true}, чтобы использовать кэш (по умолчанию).
+     */
+    public void setCacheEnabled(boolean enabled) {
+        this.cacheEnabled = enabled;
+    }
+
+    /**
+     * Проверяет, используется ли кэш путей.
+     * @return {@code true}, если кэш включен.
+     */
+    public boolean isCacheEnabled() {
+        return cacheEnabled;
     }
 
     /**
@@ -71,6 +219,27 @@ public class PathFindingManager {
         return currentStrategy.getName();
     }
 
+    /**
+     * Возвращает зарегистрированный решатель по имени.
+     * @param name Название алгоритма.
+     * @return Решатель или {@code null}, если алгоритм с таким именем не зарегистрирован.
+     */
+    public ProblemSolver getSolver(String name) {
+        return solvers.get(name);
+    }
+
+    /**
+     * Создает новый экземпляр решателя по его имени.
+     * <p>В отличие от {@link #getSolver(String)}, экземпляр не разделяет внутреннее состояние
+     * (граф кластеров, поле расстояний, состояние D* Lite) с решателями менеджера.</p>
+     * @param name Имя алгоритма.
+     * @return Новый объект {@link ProblemSolver} или null, если имя не найдено.
+     */
+    public ProblemSolver createSolver(String name) {
+        Supplier<ProblemSolver> factory = factories.get(name);
+        return factory == null ? null : factory.get();
+    }
+
     /**
      * Возвращает набор имен всех доступных алгоритмов поиска.
      * @return Набор имен алгоритмов.
@@ -0,0 +1,22 @@
+package ru.rsreu.savushkin.mazerobot.core.solver;
+
+import ru.rsreu.savushkin.mazerobot.core.state.State;
+
+/**
+ * Запрос на поиск пути с собственными стартом и целью.
+ *
+ * @param start Начальное состояние.
+ * @param goal Целевое состояние.
+ * @param <S> Тип состояния.
+ */
+public record PathQuery<S extends State>(S start, S goal) {
+    /**
+     * Проверяет аргументы запроса.
+     *
+     * @param start Начальное состояние.
+     * @param goal Целевое состояние.
+     */
+    public PathQuery {
+        if (start == null || goal == null) throw new IllegalArgumentException("Query start and goal cannot be null");
+    }
+}
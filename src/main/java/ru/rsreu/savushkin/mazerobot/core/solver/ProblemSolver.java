@@ -17,7 +17,32 @@ public interface ProblemSolver {
      * @param <S> Тип состояния, в котором оперирует решатель.
      * @return Список состояний, формирующих найденный путь.
      */
-    <S extends State> List<S> solve(Environment<S, ?> env, S startState);
+    default <S extends State> List<S> solve(Environment<S, ?> env, S startState) {
+        return solve(env, startState, null);
+    }
+
+    /**
+     * Находит путь и записывает статистику поиска.
+     * <p>Решатель ведет счетчики во время поиска и переносит их в {@code stats} один раз в конце,
+     * затем вызывает {@link SearchStats#complete}. При {@code stats == null} статистика не собирается.</p>
+     *
+     * @param env Среда, в которой происходит поиск.
+     * @param startState Начальное состояние.
+     * @param stats Приемник статистики или {@code null}.
+     * @param <S> Тип состояния, в котором оперирует решатель.
+     * @return Список состояний, формирующих найденный путь.
+     */
+    <S extends State> List<S> solve(Environment<S, ?> env, S startState, SearchStats stats);
+
+    /**
+     * Сообщает, возвращает ли решатель кратчайший путь.
+     * <p>Любой суффикс кратчайшего пути тоже кратчайший, поэтому такие пути можно переиспользовать
+     * для запросов из промежуточных состояний. По умолчанию решатель не гарантирует оптимальность.</p>
+     * @return {@code true}, если найденный путь всегда кратчайший.
+     */
+    default boolean isOptimal() {
+        return false;
+    }
 
     /**
      * Возвращает имя решателя (алгоритма).
@@ -0,0 +1,27 @@
+package ru.rsreu.savushkin.mazerobot.core.solver;
+
+import ru.rsreu.savushkin.mazerobot.core.state.State;
+
+import java.util.List;
+
+/**
+ * Результат одного запроса пакетного поиска.
+ *
+ * @param index Порядковый номер запроса в пакете.
+ * @param query Исходный запрос.
+ * @param path Найденный путь (пустой, если путь не найден или поиск завершился ошибкой).
+ * @param cost Стоимость пути ({@link Double#POSITIVE_INFINITY}, если путь не найден).
+ * @param nanos Время поиска в наносекундах.
+ * @param error Исключение решателя или {@code null}.
+ * @param <S> Тип состояния.
+ */
+public record QueryResult<S extends State>(int index, PathQuery<S> query, List<S> path, double cost,
+                                           long nanos, Throwable error) {
+    /**
+     * Проверяет, найден ли путь.
+     * @return {@code true}, если путь не пустой.
+     */
+    public boolean isFound() {
+        return !path.isEmpty();
+    }
+}
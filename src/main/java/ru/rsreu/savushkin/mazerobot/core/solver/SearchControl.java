@@ -0,0 +1,157 @@
+package ru.rsreu.savushkin.mazerobot.core.solver;
+
+import java.time.Duration;
+
+/**
+ * Управление одним запуском поиска: отмена, ограничение по времени и по числу раскрытий, прогресс.
+ * <p>Отмена кооперативная: решатель не прерывается извне, а сам проверяет состояние через
+ * {@link SearchStats#checkpoint(long, long)} на границах пачек раскрытий (каждые
+ * {@code ExpansionBatchEvent.BATCH_SIZE} раскрытий). Поэтому ограничения соблюдаются с точностью до
+ * одной пачки, а проверка почти ничего не стоит. Остановленный решатель возвращает лучший частичный
+ * результат — путь до последнего раскрытого узла (для A* это узел с наименьшей оценкой f, для жадного
+ * поиска — ближайший к цели), а причина остановки доступна через {@link SearchStats#getStopReason()}.
+ * Решатели, отвечающие по заранее построенным структурам (поле расстояний, граф кластеров HPA*),
+ * ограничения не проверяют и наблюдателю не сообщают: сам запрос у них короткий.</p>
+ * <p>Время ограничения и прогресса отсчитывается от создания объекта. Метод {@link #cancel()}
+ * можно вызывать из любого потока.</p>
+ */
+public final class SearchControl {
+    /** Интервал вызова слушателя прогресса по умолчанию. */
+    public static final Duration DEFAULT_PROGRESS_INTERVAL = Duration.ofMillis(100);
+
+    /**
+     * Причина досрочной остановки поиска.
+     */
+    public enum StopReason {
+        /** Поиск отменен вызовом {@link #cancel()}. */
+        CANCELLED,
+        /** Истекло отведенное время. */
+        DEADLINE,
+        /** Исчерпан бюджет раскрытий. */
+        BUDGET
+    }
+
+    /**
+     * Слушатель прогресса поиска. Вызывается в потоке поиска.
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+        /**
+         * Сообщает о ходе поиска.
+         *
+         * @param expanded Количество раскрытых узлов.
+         * @param openSize Текущий размер открытого списка.
+         * @param elapsedNanos Время с начала поиска в наносекундах.
+         */
+        void onProgress(long expanded, long openSize, long elapsedNanos);
+    }
+
+    private final long startNanos = System.nanoTime();
+    private volatile boolean cancelled;
+    private long deadlineNanos = Long.MAX_VALUE;
+    private long nodeBudget = Long.MAX_VALUE;
+    private ProgressListener progressListener;
+    private long progressIntervalNanos = DEFAULT_PROGRESS_INTERVAL.toNanos();
+    private long lastProgressNanos;
+    private SearchObserver observer;
+
+    /**
+     * Ограничивает время поиска.
+     *
+     * @param timeout Допустимое время от создания объекта.
+     * @return Этот объект.
+     */
+    public SearchControl withDeadline(Duration timeout) {
+        if (timeout == null || timeout.isNegative()) throw new IllegalArgumentException("Timeout must be non-negative");
+        this.deadlineNanos = timeout.toNanos();
+        return this;
+    }
+
+    /**
+     * Ограничивает количество раскрытых узлов.
+     *
+     * @param expansions Бюджет раскрытий.
+     * @return Этот объект.
+     */
+    public SearchControl withNodeBudget(long expansions) {
+        if (expansions < 1) throw new IllegalArgumentException("Node budget must be positive");
+        this.nodeBudget = expansions;
+        return this;
+    }
+
+    /**
+     * Задает слушателя прогресса с интервалом по умолчанию.
+     *
+     * @param listener Слушатель.
+     * @return Этот объект.
+     */
+    public SearchControl withProgress(ProgressListener listener) {
+        return withProgress(listener, DEFAULT_PROGRESS_INTERVAL);
+    }
+
+    /**
+     * Задает слушателя прогресса.
+     *
+     * @param listener Слушатель.
+     * @param interval Минимальный интервал между вызовами.
+     * @return Этот объект.
+     */
+    public SearchControl withProgress(ProgressListener listener, Duration interval) {
+        this.progressListener = listener;
+        this.progressIntervalNanos = interval.toNanos();
+        return this;
+    }
+
+    /**
+     * Подключает наблюдателя, которому решатели сообщают о каждой раскрытой клетке.
+     *
+     * @param observer Наблюдатель или {@code null}.
+     * @return Этот объект.
+     */
+    public SearchControl withObserver(SearchObserver observer) {
+        this.observer = observer;
+        return this;
+    }
+
+    /**
+     * Возвращает наблюдателя за раскрытием клеток.
+     * @return Наблюдатель или {@code null}.
+     */
+    public SearchObserver getObserver() {
+        return observer;
+    }
+
+    /**
+     * Запрашивает остановку поиска. Решатель остановится на ближайшей проверке.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Проверяет, запрошена ли отмена.
+     * @return {@code true}, если вызван {@link #cancel()}.
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Проверяет ограничения и при необходимости сообщает о прогрессе.
+     *
+     * @param expanded Количество раскрытых узлов.
+     * @param openSize Размер открытого списка.
+     * @return Причина остановки или {@code null}, если поиск можно продолжать.
+     */
+    StopReason check(long expanded, long openSize) {
+        if (cancelled) return StopReason.CANCELLED;
+        if (expanded >= nodeBudget) return StopReason.BUDGET;
+        long elapsed = System.nanoTime() - startNanos;
+        if (elapsed >= deadlineNanos) return StopReason.DEADLINE;
+        if (progressListener != null && elapsed - lastProgressNanos >= progressIntervalNanos) {
+            lastProgressNanos = elapsed;
+            progressListener.onProgress(expanded, openSize, elapsed);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,31 @@
+package ru.rsreu.savushkin.mazerobot.core.solver;
+
+import ru.rsreu.savushkin.mazerobot.core.state.State;
+import ru.rsreu.savushkin.mazerobot.core.state.maze.MazeState;
+
+/**
+ * Наблюдатель за ходом поиска: получает каждую раскрытую клетку.
+ * <p>Подключается через {@link SearchControl#withObserver(SearchObserver)}. Решатели вызывают его в
+ * своем горячем цикле и в потоке поиска, поэтому реализация должна быть очень быстрой и не блокироваться —
+ * например, {@link ExpansionRing} лишь записывает клетку в кольцевой буфер. Без наблюдателя решатели
+ * выполняют только проверку на {@code null}.</p>
+ */
+@FunctionalInterface
+public interface SearchObserver {
+    /**
+     * Сообщает о раскрытии клетки.
+     *
+     * @param x Координата X клетки.
+     * @param y Координата Y клетки.
+     */
+    void expanded(int x, int y);
+
+    /**
+     * Сообщает о раскрытии состояния. Состояния, не являющиеся клетками лабиринта, пропускаются.
+     *
+     * @param state Раскрытое состояние.
+     */
+    default void expanded(State state) {
+        if (state instanceof MazeState cell) expanded(cell.x(), cell.y());
+    }
+}
@@ -0,0 +1,261 @@
+package ru.rsreu.savushkin.mazerobot.core.solver;
+
+import ru.rsreu.savushkin.mazerobot.core.state.Environment;
+import ru.rsreu.savushkin.mazerobot.core.state.State;
+
+import java.util.List;
+
+/**
+ * Статистика одного запуска решателя.
+ * <p>Объект передается в {@link ProblemSolver#solve(Environment, State, SearchStats)}. Решатели ведут
+ * счетчики в локальных переменных своего поиска и переносят их сюда один раз в конце, поэтому
+ * сбор статистики почти ничего не стоит, а при {@code stats == null} не выполняется вовсе.</p>
+ * <p>Счетчики накапливаются: составные решатели (двунаправленные, иерархический) добавляют
+ * работу каждой своей части. Значения означают:</p>
+ * <ul>
+ *     <li>{@code expanded} — раскрытые узлы (для которых перебирались преемники);</li>
+ *     <li>{@code generated} — сгенерированные преемники;</li>
+ *     <li>{@code duplicates} — преемники, отброшенные как уже посещенные или не улучшающие стоимость,
+ *     а также устаревшие записи открытого списка;</li>
+ *     <li>{@code peakOpen} — наибольший размер открытого списка (очереди, кучи, стека, фронта);</li>
+ *     <li>{@code peakClosed} — наибольшее количество различных достигнутых состояний;</li>
+ *     <li>{@code maxDepth} — глубина самого глубокого узла дерева поиска в ребрах (не меньше длины пути).</li>
+ * </ul>
+ * <p>Объект может нести {@link SearchControl}: тогда решатели на границах пачек раскрытий вызывают
+ * {@link #checkpoint(long, long)} и останавливаются, если поиск отменен или исчерпал ограничения.</p>
+ * <p>Объект не потокобезопасен: один экземпляр — на один запуск.</p>
+ */
+public final class SearchStats {
+    private final SearchControl control;
+    private SearchControl.StopReason stopReason;
+    private long expanded;
+    private long generated;
+    private long duplicates;
+    private long peakOpen;
+    private long peakClosed;
+    private int maxDepth;
+    private boolean found;
+    private boolean cached;
+    private int pathLength;
+    private double pathCost = Double.POSITIVE_INFINITY;
+    private long nanos;
+
+    /**
+     * Создает статистику без управления поиском.
+     */
+    public SearchStats() {
+        this(null);
+    }
+
+    /**
+     * Создает статистику, через которую решатель проверяет отмену и ограничения поиска.
+     *
+     * @param control Управление поиском или {@code null}.
+     */
+    public SearchStats(SearchControl control) {
+        this.control = control;
+    }
+
+    /**
+     * Проверяет, нужно ли остановить поиск. Решатели вызывают метод на границах пачек раскрытий.
+     *
+     * @param expanded Количество раскрытых узлов с начала поиска.
+     * @param openSize Текущий размер открытого списка.
+     * @return {@code true}, если поиск нужно остановить и вернуть частичный результат.
+     */
+    public boolean checkpoint(long expanded, long openSize) {
+        if (control == null || stopReason != null) return stopReason != null;
+        stopReason = control.check(expanded, openSize);
+        return stopReason != null;
+    }
+
+    /**
+     * Возвращает наблюдателя за раскрытием клеток из управления поиском.
+     * <p>Решатели получают его один раз перед циклом поиска.</p>
+     * @return Наблюдатель или {@code null}.
+     */
+    public SearchObserver getObserver() {
+        return control != null ? control.getObserver() : null;
+    }
+
+    /**
+     * Добавляет раскрытые узлы.
+     * @param count Количество.
+     * @return Этот объект.
+     */
+    public SearchStats addExpanded(long count) {
+        expanded += count;
+        return this;
+    }
+
+    /**
+     * Добавляет сгенерированные преемники.
+     * @param count Количество.
+     * @return Этот объект.
+     */
+    public SearchStats addGenerated(long count) {
+        generated += count;
+        return this;
+    }
+
+    /**
+     * Добавляет отброшенные дубликаты.
+     * @param count Количество.
+     * @return Этот объект.
+     */
+    public SearchStats addDuplicates(long count) {
+        duplicates += count;
+        return this;
+    }
+
+    /**
+     * Учитывает размер открытого списка.
+     * @param size Наблюдаемый наибольший размер.
+     * @return Этот объект.
+     */
+    public SearchStats updatePeakOpen(long size) {
+        peakOpen = Math.max(peakOpen, size);
+        return this;
+    }
+
+    /**
+     * Учитывает количество достигнутых состояний.
+     * @param size Наблюдаемое наибольшее количество.
+     * @return Этот объект.
+     */
+    public SearchStats updatePeakClosed(long size) {
+        peakClosed = Math.max(peakClosed, size);
+        return this;
+    }
+
+    /**
+     * Учитывает глубину дерева поиска.
+     * @param depth Наблюдаемая наибольшая глубина.
+     * @return Этот объект.
+     */
+    public SearchStats updateMaxDepth(int depth) {
+        maxDepth = Math.max(maxDepth, depth);
+        return this;
+    }
+
+    /**
+     * Завершает запись: сохраняет время, длину и стоимость пути.
+     * <p>Если поиск был остановлен, путь частичный: он не ведет к цели, и {@link #isFound()} возвращает {@code false}.</p>
+     *
+     * @param env Среда, в которой выполнялся поиск (для вычисления стоимости пути).
+     * @param path Найденный путь.
+     * @param startNanos Значение {@link System#nanoTime()} в начале поиска.
+     * @param <S> Тип состояния.
+     * @return Тот же путь.
+     */
+    public <S extends State> List<S> complete(Environment<S, ?> env, List<S> path, long startNanos) {
+        nanos = System.nanoTime() - startNanos;
+        found = !path.isEmpty() && stopReason == null;
+        pathLength = path.size();
+        pathCost = path.isEmpty() ? Double.POSITIVE_INFINITY : env.pathCost(path);
+        maxDepth = Math.max(maxDepth, pathLength - 1);
+        return path;
+    }
+
+    /**
+     * Отмечает, что путь получен из кэша без поиска.
+     * @return Этот объект.
+     */
+    public SearchStats markCached() {
+        cached = true;
+        return this;
+    }
+
+    /**
+     * Возвращает причину досрочной остановки поиска.
+     * @return Причина или {@code null}, если поиск завершился сам.
+     */
+    public SearchControl.StopReason getStopReason() { return stopReason; }
+
+    /**
+     * Проверяет, был ли поиск остановлен досрочно (путь частичный).
+     * @return {@code true}, если поиск остановлен.
+     */
+    public boolean isStopped() { return stopReason != null; }
+
+    /**
+     * Возвращает количество раскрытых узлов.
+     * @return Количество раскрытых узлов.
+     */
+    public long getExpanded() { return expanded; }
+
+    /**
+     * Возвращает количество сгенерированных преемников.
+     * @return Количество сгенерированных преемников.
+     */
+    public long getGenerated() { return generated; }
+
+    /**
+     * Возвращает количество отброшенных дубликатов.
+     * @return Количество отброшенных дубликатов.
+     */
+    public long getDuplicates() { return duplicates; }
+
+    /**
+     * Возвращает наибольший размер открытого списка.
+     * @return Наибольший размер открытого списка.
+     */
+    public long getPeakOpen() { return peakOpen; }
+
+    /**
+     * Возвращает наибольшее количество достигнутых состояний.
+     * @return Наибольшее количество достигнутых состояний.
+     */
+    public long getPeakClosed() { return peakClosed; }
+
+    /**
+     * Возвращает глубину дерева поиска.
+     * @return Глубина дерева поиска.
+     */
+    public int getMaxDepth() { return maxDepth; }
+
+    /**
+     * Проверяет, найден ли путь.
+     * @return {@code true}, если путь найден.
+     */
+    public boolean isFound() { return found; }
+
+    /**
+     * Проверяет, взят ли путь из кэша.
+     * @return {@code true}, если путь взят из кэша.
+     */
+    public boolean isCached() { return cached; }
+
+    /**
+     * Возвращает количество состояний в пути.
+     * @return Количество состояний в пути.
+     */
+    public int getPathLength() { return pathLength; }
+
+    /**
+     * Возвращает стоимость пути.
+     * @return Стоимость пути или {@link Double#POSITIVE_INFINITY}.
+     */
+    public double getPathCost() { return pathCost; }
+
+    /**
+     * Возвращает время поиска в наносекундах.
+     * @return Время поиска в наносекундах.
+     */
+    public long getNanos() { return nanos; }
+
+    /**
+     * Возвращает краткое многострочное описание для вывода пользователю.
+     * @return Описание статистики.
+     */
+    @Override
+    public String toString() {
+        return String.format("Path: %d states, cost %s%s%s%n"
+                        + "Time: %.3f ms%n"
+                        + "Expanded: %,d, generated: %,d, duplicates: %,d%n"
+                        + "Peak open: %,d, reached: %,d, max depth: %,d",
+                pathLength, pathLength > 0 ? String.valueOf((long) pathCost) : "-", cached ? " (cached)" : "",
+                stopReason != null ? " (partial: " + stopReason + ")" : "",
+                nanos / 1e6, expanded, generated, duplicates, peakOpen, peakClosed, maxDepth);
+    }
+}
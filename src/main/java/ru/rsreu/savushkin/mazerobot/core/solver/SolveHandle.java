@@ -0,0 +1,66 @@
+package ru.rsreu.savushkin.mazerobot.core.solver;
+
+import ru.rsreu.savushkin.mazerobot.core.state.State;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Дескриптор асинхронного поиска пути, запущенного через
+ * {@link PathFindingManager#findPathAsync(ru.rsreu.savushkin.mazerobot.core.state.Environment, State, SearchControl)}.
+ * <p>Будущее результата завершается путем и в том случае, когда поиск отменен или остановлен по
+ * ограничению: тогда путь частичный, а {@link SearchStats#getStopReason()} сообщает причину.
+ * Исключительно будущее завершается только при ошибке решателя.</p>
+ *
+ * @param <S> Тип состояния.
+ */
+public final class SolveHandle<S extends State> {
+    private final CompletableFuture<List<S>> result;
+    private final SearchControl control;
+    private final SearchStats stats;
+
+    SolveHandle(CompletableFuture<List<S>> result, SearchControl control, SearchStats stats) {
+        this.result = result;
+        this.control = control;
+        this.stats = stats;
+    }
+
+    /**
+     * Запрашивает кооперативную отмену поиска. Будущее завершится частичным результатом.
+     */
+    public void cancel() {
+        control.cancel();
+    }
+
+    /**
+     * Возвращает будущее результата.
+     * @return Будущее, завершающееся найденным или частичным путем.
+     */
+    public CompletableFuture<List<S>> result() {
+        return result;
+    }
+
+    /**
+     * Возвращает статистику поиска. Значения актуальны после завершения {@link #result()}.
+     * @return Статистика поиска.
+     */
+    public SearchStats getStats() {
+        return stats;
+    }
+
+    /**
+     * Возвращает управление поиском.
+     * @return Управление поиском.
+     */
+    public SearchControl getControl() {
+        return control;
+    }
+
+    /**
+     * Проверяет, завершен ли поиск.
+     * @return {@code true}, если результат готов.
+     */
+    public boolean isDone() {
+        return result.isDone();
+    }
+}
@@ -0,0 +1,116 @@
+package ru.rsreu.savushkin.mazerobot.core.solver.engine;
+
+import java.util.Arrays;
+
+/**
+ * Очередь с приоритетами на кольце корзин (очередь Дейкстры–Дайала, Dial's bucket queue).
+ * <p>Подходит для алгоритма Дейкстры с небольшими целыми стоимостями ребер: все приоритеты
+ * в очереди лежат в окне {@code [current, current + maxEdgeCost]}, поэтому достаточно
+ * {@code maxEdgeCost + 1} корзин, а вставка и извлечение выполняются за O(1) (амортизированно).</p>
+ * <p>Приоритеты должны не убывать: новый элемент не может иметь приоритет меньше последнего
+ * извлеченного. Окно отсчитывается от последнего извлеченного приоритета (до первого извлечения — от
+ * начального) и сдвигается только при извлечении, поэтому после опустошения очереди элементы можно
+ * добавлять в любом порядке в пределах окна. Уменьшение приоритета не поддерживается — элемент
+ * добавляется повторно, а вызывающий код пропускает устаревшие записи. Идентификаторы —
+ * неотрицательные целые числа.</p>
+ */
+public final class BucketQueue {
+    private static final int INITIAL_BUCKET_SIZE = 16;
+
+    private final int maxEdgeCost;
+    private final int[][] buckets;
+    private final int[] counts;
+    private int current;
+    private int size;
+
+    /**
+     * Создает пустую очередь с начальным приоритетом 0.
+     *
+     * @param maxEdgeCost Максимальная стоимость ребра (разница между приоритетом добавляемого
+     * элемента и приоритетом последнего извлеченного).
+     */
+    public BucketQueue(int maxEdgeCost) {
+        this(maxEdgeCost, 0);
+    }
+
+    /**
+     * Создает пустую очередь с заданным начальным приоритетом.
+     *
+     * @param maxEdgeCost Максимальная стоимость ребра (разница между приоритетом добавляемого
+     * элемента и приоритетом последнего извлеченного).
+     * @param initialPriority Начальный приоритет: до первого извлечения допустимы приоритеты
+     * {@code [initialPriority, initialPriority + maxEdgeCost]}.
+     */
+    public BucketQueue(int maxEdgeCost, int initialPriority) {
+        if (maxEdgeCost < 1) throw new IllegalArgumentException("Max edge cost must be positive");
+        if (initialPriority < 0) throw new IllegalArgumentException("Initial priority must be non-negative");
+        this.maxEdgeCost = maxEdgeCost;
+        this.buckets = new int[maxEdgeCost + 1][INITIAL_BUCKET_SIZE];
+        this.counts = new int[maxEdgeCost + 1];
+        this.current = initialPriority;
+    }
+
+    /**
+     * Проверяет, пуста ли очередь.
+     * @return {@code true}, если в очереди нет элементов.
+     */
+    public boolean isEmpty() { return size == 0; }
+
+    /**
+     * Возвращает количество элементов (включая устаревшие повторные записи).
+     * @return Размер очереди.
+     */
+    public int size() { return size; }
+
+    /**
+     * Добавляет элемент с заданным приоритетом.
+     *
+     * @param id Идентификатор.
+     * @param priority Приоритет в окне {@code [current, current + maxEdgeCost]}.
+     * @throws IllegalArgumentException если приоритет вне допустимого окна.
+     */
+    public void push(int id, int priority) {
+        if (priority < current || priority > current + maxEdgeCost) {
+            throw new IllegalArgumentException("Priority " + priority + " is outside the window starting at " + current);
+        }
+        int bucket = priority % buckets.length;
+        int count = counts[bucket];
+        if (count == buckets[bucket].length) buckets[bucket] = Arrays.copyOf(buckets[bucket], count * 2);
+        buckets[bucket][count] = id;
+        counts[bucket] = count + 1;
+        size++;
+    }
+
+    /**
+     * Извлекает элемент с минимальным приоритетом.
+     * <p>Приоритет извлеченного элемента доступен через {@link #getCurrentPriority()}.</p>
+     *
+     * @return Идентификатор.
+     * @throws IllegalStateException если очередь пуста.
+     */
+    public int poll() {
+        if (size == 0) throw new IllegalStateException("Queue is empty");
+        int bucket = current % buckets.length;
+        while (counts[bucket] == 0) {
+            current++;
+            bucket = current % buckets.length;
+        }
+        size--;
+        return buckets[bucket][--counts[bucket]];
+    }
+
+    /**
+     * Возвращает приоритет последнего извлеченного элемента (до первого извлечения — начальный).
+     * @return Текущий приоритет.
+     */
+    public int getCurrentPriority() { return current; }
+
+    /**
+     * Удаляет все элементы и сбрасывает текущий приоритет в 0.
+     */
+    public void clear() {
+        Arrays.fill(counts, 0);
+        current = 0;
+        size = 0;
+    }
+}
@@ -0,0 +1,378 @@
+package ru.rsreu.savushkin.mazerobot.core.solver.engine;
+
+import ru.rsreu.savushkin.mazerobot.core.model.MazeModel;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Абстрактный граф кластеров для иерархического поиска пути (HPA*).
+ * <p>Сетка лабиринта делится на квадратные кластеры. На каждой границе соседних кластеров
+ * непрерывные участки проходимых пар клеток образуют входы; короткий вход представлен одним
+ * переходом посередине, длинный — двумя переходами по краям. Клетки переходов становятся узлами
+ * графа, а ребрами — переходы между кластерами (стоимость 1) и расстояния внутри кластера,
+ * посчитанные поиском в ширину при построении.</p>
+ * <p>Граф строится один раз для версии лабиринта; время построения и занимаемая память доступны через
+ * {@link #getBuildNanos()} и {@link #estimateMemoryBytes()}.</p>
+ * <p>Расстояния считаются по четырехсвязной сетке: прыжок стоит 2 и эквивалентен двум шагам,
+ * поэтому стоимость пути не меняется.</p>
+ */
+public final class ClusterGraph {
+    /** Вход длиной от этого значения представляется двумя переходами. */
+    private static final int LONG_ENTRANCE = 6;
+    private static final int[] DX = {0, 1, 0, -1};
+    private static final int[] DY = {-1, 0, 1, 0};
+
+    private final MazeModel maze;
+    private final int clusterSize;
+    private final int clustersX;
+    private final int clustersY;
+    private final long mazeVersion;
+    private final long buildNanos;
+
+    private int nodeCount;
+    private int[] nodeCells = new int[64];
+    private int[][] edgeTargets = new int[64][];
+    private int[][] edgeCosts = new int[64][];
+    private int[] edgeCounts = new int[64];
+    private int[][] clusterNodes;
+    private int edgeCount;
+
+    /**
+     * Строит граф кластеров для лабиринта.
+     *
+     * @param maze Модель лабиринта.
+     * @param clusterSize Сторона квадратного кластера в клетках.
+     * @throws IllegalArgumentException если размер кластера меньше 2 или лабиринт слишком велик
+     * для индексации клеток типом {@code int}.
+     */
+    public ClusterGraph(MazeModel maze, int clusterSize) {
+        if (clusterSize < 2) throw new IllegalArgumentException("Cluster size must be at least 2");
+        if ((long) maze.getWidth() * maze.getHeight() > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Maze is too large for int-encoded search");
+        }
+        long startTime = System.nanoTime();
+        this.maze = maze;
+        this.mazeVersion = maze.getVersion();
+        this.clusterSize = clusterSize;
+        this.clustersX = (maze.getWidth() + clusterSize - 1) / clusterSize;
+        this.clustersY = (maze.getHeight() + clusterSize - 1) / clusterSize;
+        build();
+        this.buildNanos = System.nanoTime() - startTime;
+    }
+
+    /**
+     * Находит все переходы на границах кластеров и вычисляет внутрикластерные расстояния.
+     */
+    private void build() {
+        Map<Integer, Integer> nodeByCell = new HashMap<>();
+        int[][] perCluster = new int[clustersX * clustersY][];
+        int[] perClusterCount = new int[clustersX * clustersY];
+
+        for (int cy = 0; cy < clustersY; cy++) {
+            for (int cx = 0; cx < clustersX; cx++) {
+                if (cx + 1 < clustersX) {
+                    int x = (cx + 1) * clusterSize - 1;
+                    scanBorder(x, cy * clusterSize, 0, 1, 1, 0, clusterLength(cy, maze.getHeight()),
+                            nodeByCell, perCluster, perClusterCount);
+                }
+                if (cy + 1 < clustersY) {
+                    int y = (cy + 1) * clusterSize - 1;
+                    scanBorder(cx * clusterSize, y, 1, 0, 0, 1, clusterLength(cx, maze.getWidth()),
+                            nodeByCell, perCluster, perClusterCount);
+                }
+            }
+        }
+
+        clusterNodes = new int[perCluster.length][];
+        for (int c = 0; c < perCluster.length; c++) {
+            clusterNodes[c] = perCluster[c] == null ? new int[0] : Arrays.copyOf(perCluster[c], perClusterCount[c]);
+            connectInsideCluster(c);
+        }
+        for (int n = 0; n < nodeCount; n++) {
+            edgeTargets[n] = Arrays.copyOf(edgeTargets[n], edgeCounts[n]);
+            edgeCosts[n] = Arrays.copyOf(edgeCosts[n], edgeCounts[n]);
+        }
+        nodeCells = Arrays.copyOf(nodeCells, nodeCount);
+        edgeCounts = null;
+    }
+
+    private int clusterLength(int clusterIndex, int limit) {
+        return Math.min(clusterSize, limit - clusterIndex * clusterSize);
+    }
+
+    /**
+     * Просматривает границу между двумя кластерами и добавляет переходы для каждого входа.
+     *
+     * @param x Координата X первой клетки границы с ближней стороны.
+     * @param y Координата Y первой клетки границы с ближней стороны.
+     * @param stepX Шаг вдоль границы по X.
+     * @param stepY Шаг вдоль границы по Y.
+     * @param crossX Смещение к клетке по другую сторону границы по X.
+     * @param crossY Смещение к клетке по другую сторону границы по Y.
+     * @param length Длина границы в клетках.
+     */
+    private void scanBorder(int x, int y, int stepX, int stepY, int crossX, int crossY, int length,
+                            Map<Integer, Integer> nodeByCell, int[][] perCluster, int[] perClusterCount) {
+        int runStart = -1;
+        for (int i = 0; i <= length; i++) {
+            boolean open = i < length
+                    && !maze.isWall(x + stepX * i, y + stepY * i)
+                    && !maze.isWall(x + stepX * i + crossX, y + stepY * i + crossY);
+            if (open && runStart < 0) {
+                runStart = i;
+            } else if (!open && runStart >= 0) {
+                int runEnd = i - 1;
+                if (runEnd - runStart + 1 >= LONG_ENTRANCE) {
+                    addTransition(x, y, stepX, stepY, crossX, crossY, runStart, nodeByCell, perCluster, perClusterCount);
+                    addTransition(x, y, stepX, stepY, crossX, crossY, runEnd, nodeByCell, perCluster, perClusterCount);
+                } else {
+                    addTransition(x, y, stepX, stepY, crossX, crossY, (runStart + runEnd) / 2,
+                            nodeByCell, perCluster, perClusterCount);
+                }
+                runStart = -1;
+            }
+        }
+    }
+
+    private void addTransition(int x, int y, int stepX, int stepY, int crossX, int crossY, int offset,
+                               Map<Integer, Integer> nodeByCell, int[][] perCluster, int[] perClusterCount) {
+        int ax = x + stepX * offset;
+        int ay = y + stepY * offset;
+        int a = nodeFor(ax, ay, nodeByCell, perCluster, perClusterCount);
+        int b = nodeFor(ax + crossX, ay + crossY, nodeByCell, perCluster, perClusterCount);
+        addEdge(a, b, 1);
+        addEdge(b, a, 1);
+    }
+
+    private int nodeFor(int x, int y, Map<Integer, Integer> nodeByCell, int[][] perCluster, int[] perClusterCount) {
+        int cell = y * maze.getWidth() + x;
+        Integer existing = nodeByCell.get(cell);
+        if (existing != null) return existing;
+
+        if (nodeCount == nodeCells.length) {
+            int newSize = nodeCount * 2;
+            nodeCells = Arrays.copyOf(nodeCells, newSize);
+            edgeTargets = Arrays.copyOf(edgeTargets, newSize);
+            edgeCosts = Arrays.copyOf(edgeCosts, newSize);
+            edgeCounts = Arrays.copyOf(edgeCounts, newSize);
+        }
+        int node = nodeCount++;
+        nodeCells[node] = cell;
+        edgeTargets[node] = new int[4];
+        edgeCosts[node] = new int[4];
+        nodeByCell.put(cell, node);
+
+        int cluster = clusterOf(x, y);
+        if (perCluster[cluster] == null) perCluster[cluster] = new int[4];
+        if (perClusterCount[cluster] == perCluster[cluster].length) {
+            perCluster[cluster] = Arrays.copyOf(perCluster[cluster], perClusterCount[cluster] * 2);
+        }
+        perCluster[cluster][perClusterCount[cluster]++] = node;
+        return node;
+    }
+
+    private void addEdge(int from, int to, int cost) {
+        int count = edgeCounts[from];
+        if (count == edgeTargets[from].length) {
+            edgeTargets[from] = Arrays.copyOf(edgeTargets[from], count * 2);
+            edgeCosts[from] = Arrays.copyOf(edgeCosts[from], count * 2);
+        }
+        edgeTargets[from][count] = to;
+        edgeCosts[from][count] = cost;
+        edgeCounts[from] = count + 1;
+        edgeCount++;
+    }
+
+    /**
+     * Соединяет все пары узлов кластера ребрами со стоимостью, равной расстоянию внутри кластера.
+     *
+     * @param cluster Номер кластера.
+     */
+    private void connectInsideCluster(int cluster) {
+        int[] nodes = clusterNodes[cluster];
+        for (int i = 0; i < nodes.length; i++) {
+            int cell = nodeCells[nodes[i]];
+            int[] distances = distancesFrom(cluster, cell % maze.getWidth(), cell / maze.getWidth(), null);
+            for (int j = i + 1; j < nodes.length; j++) {
+                int distance = distances[localIndex(cluster, nodeCells[nodes[j]])];
+                if (distance > 0) {
+                    addEdge(nodes[i], nodes[j], distance);
+                    addEdge(nodes[j], nodes[i], distance);
+                }
+            }
+        }
+    }
+
+    /**
+     * Поиск в ширину, ограниченный одним кластером.
+     *
+     * @param cluster Номер кластера.
+     * @param x Координата X исходной клетки (внутри кластера).
+     * @param y Координата Y исходной клетки (внутри кластера).
+     * @param parents Массив для родителей в локальной нумерации или {@code null}, если путь не нужен.
+     * @return Расстояния до клеток кластера в локальной нумерации ({@code -1} — недостижима).
+     */
+    public int[] distancesFrom(int cluster, int x, int y, int[] parents) {
+        int x0 = clusterX0(cluster);
+        int y0 = clusterY0(cluster);
+        int w = clusterLength(cluster % clustersX, maze.getWidth());
+        int h = clusterLength(cluster / clustersX, maze.getHeight());
+        int[] distances = new int[clusterSize * clusterSize];
+        Arrays.fill(distances, -1);
+        int[] queue = new int[w * h];
+
+        int source = (y - y0) * clusterSize + (x - x0);
+        distances[source] = 0;
+        if (parents != null) parents[source] = -1;
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = source;
+        while (head < tail) {
+            int local = queue[head++];
+            int lx = local % clusterSize;
+            int ly = local / clusterSize;
+            for (int d = 0; d < DX.length; d++) {
+                int nx = lx + DX[d];
+                int ny = ly + DY[d];
+                if (nx < 0 || ny < 0 || nx >= w || ny >= h) continue;
+                int next = ny * clusterSize + nx;
+                if (distances[next] >= 0 || maze.isWall(x0 + nx, y0 + ny)) continue;
+                distances[next] = distances[local] + 1;
+                if (parents != null) parents[next] = local;
+                queue[tail++] = next;
+            }
+        }
+        return distances;
+    }
+
+    /**
+     * Возвращает номер кластера, содержащего клетку.
+     *
+     * @param x Координата X.
+     * @param y Координата Y.
+     * @return Номер кластера.
+     */
+    public int clusterOf(int x, int y) {
+        return (y / clusterSize) * clustersX + (x / clusterSize);
+    }
+
+    /**
+     * Возвращает номер кластера, содержащего клетку с заданным индексом.
+     *
+     * @param cell Индекс клетки {@code y * width + x}.
+     * @return Номер кластера.
+     */
+    public int clusterOfCell(int cell) {
+        return clusterOf(cell % maze.getWidth(), cell / maze.getWidth());
+    }
+
+    /**
+     * Переводит индекс клетки в локальную нумерацию кластера.
+     *
+     * @param cluster Номер кластера.
+     * @param cell Индекс клетки {@code y * width + x}.
+     * @return Локальный индекс.
+     */
+    public int localIndex(int cluster, int cell) {
+        int x = cell % maze.getWidth() - clusterX0(cluster);
+        int y = cell / maze.getWidth() - clusterY0(cluster);
+        return y * clusterSize + x;
+    }
+
+    /**
+     * Переводит локальный индекс кластера обратно в индекс клетки.
+     *
+     * @param cluster Номер кластера.
+     * @param local Локальный индекс.
+     * @return Индекс клетки {@code y * width + x}.
+     */
+    public int cellOf(int cluster, int local) {
+        int x = clusterX0(cluster) + local % clusterSize;
+        int y = clusterY0(cluster) + local / clusterSize;
+        return y * maze.getWidth() + x;
+    }
+
+    private int clusterX0(int cluster) { return (cluster % clustersX) * clusterSize; }
+
+    private int clusterY0(int cluster) { return (cluster / clustersX) * clusterSize; }
+
+    /**
+     * Возвращает лабиринт, для которого построен граф.
+     * @return Модель лабиринта.
+     */
+    public MazeModel getMaze() { return maze; }
+
+    /**
+     * Возвращает версию лабиринта, для которой построен граф.
+     * @return Версия лабиринта на момент построения.
+     */
+    public long getMazeVersion() { return mazeVersion; }
+
+    /**
+     * Возвращает сторону кластера в клетках.
+     * @return Размер кластера.
+     */
+    public int getClusterSize() { return clusterSize; }
+
+    /**
+     * Возвращает количество узлов абстрактного графа.
+     * @return Количество узлов.
+     */
+    public int getNodeCount() { return nodeCount; }
+
+    /**
+     * Возвращает количество ориентированных ребер абстрактного графа.
+     * @return Количество ребер.
+     */
+    public int getEdgeCount() { return edgeCount; }
+
+    /**
+     * Возвращает индекс клетки узла.
+     * @param node Номер узла.
+     * @return Индекс клетки {@code y * width + x}.
+     */
+    public int getNodeCell(int node) { return nodeCells[node]; }
+
+    /**
+     * Возвращает соседей узла.
+     * @param node Номер узла.
+     * @return Массив номеров соседних узлов (не изменять).
+     */
+    public int[] getEdgeTargets(int node) { return edgeTargets[node]; }
+
+    /**
+     * Возвращает стоимости ребер узла в том же порядке, что и {@link #getEdgeTargets(int)}.
+     * @param node Номер узла.
+     * @return Массив стоимостей (не изменять).
+     */
+    public int[] getEdgeCosts(int node) { return edgeCosts[node]; }
+
+    /**
+     * Возвращает узлы, лежащие в кластере.
+     * @param cluster Номер кластера.
+     * @return Массив номеров узлов (не изменять).
+     */
+    public int[] getClusterNodes(int cluster) { return clusterNodes[cluster]; }
+
+    /**
+     * Возвращает время построения графа.
+     * @return Время в наносекундах.
+     */
+    public long getBuildNanos() { return buildNanos; }
+
+    /**
+     * Оценивает объем памяти, занимаемый графом (массивы узлов, ребер и списков кластеров).
+     * @return Оценка в байтах.
+     */
+    public long estimateMemoryBytes() {
+        long arrayHeader = 16;
+        long bytes = arrayHeader + (long) nodeCells.length * Integer.BYTES;
+        bytes += 2 * (arrayHeader + (long) nodeCount * 8);
+        bytes += 2 * ((long) nodeCount * arrayHeader + (long) edgeCount * Integer.BYTES);
+        bytes += arrayHeader + (long) clusterNodes.length * 8;
+        for (int[] nodes : clusterNodes) bytes += arrayHeader + (long) nodes.length * Integer.BYTES;
+        return bytes;
+    }
+}
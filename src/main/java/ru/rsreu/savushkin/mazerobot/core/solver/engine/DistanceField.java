@@ -0,0 +1,167 @@
+package ru.rsreu.savushkin.mazerobot.core.solver.engine;
+
+import ru.rsreu.savushkin.mazerobot.core.jfr.ExpansionBatchEvent;
+import ru.rsreu.savushkin.mazerobot.core.model.MazeModel;
+import ru.rsreu.savushkin.mazerobot.core.solver.SearchStats;
+import ru.rsreu.savushkin.mazerobot.core.state.maze.MazeEnvironment;
+import ru.rsreu.savushkin.mazerobot.core.state.maze.MazeState;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Поле расстояний до цели (flow field).
+ * <p>Строится одним обратным поиском Дейкстры от цели по стоимостям действий среды (с учетом рельефа)
+ * с очередью {@link BucketQueue}. Ходы симметричны, поэтому предшественники клетки — ее соседи, а
+ * стоимость ребра берется у обратного действия из соседа. Для каждой клетки хранится стоимость
+ * кратчайшего пути до цели в компактном массиве {@code int[]}.</p>
+ * <p>Путь из любой клетки получается спуском по полю: на каждом шаге выбирается действие,
+ * для которого стоимость действия плюс расстояние соседа равна расстоянию текущей клетки.
+ * Такой путь оптимален и строится за O(длина пути) без поиска.</p>
+ */
+public final class DistanceField {
+    /** Расстояние для клеток, из которых цель недостижима. */
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    private final MazeEnvironment env;
+    private final MazeModel maze;
+    private final long mazeVersion;
+    private final int goal;
+    private final int[] distances;
+    private final int reachableCount;
+    private final long buildNanos;
+    private long generated;
+    private long duplicates;
+    private int peakOpen;
+
+    /**
+     * Строит поле расстояний до цели среды.
+     *
+     * @param env Среда лабиринта; поле строится для ее цели и текущей версии лабиринта.
+     */
+    public DistanceField(MazeEnvironment env) {
+        long startTime = System.nanoTime();
+        this.env = env;
+        this.maze = env.getMaze();
+        this.mazeVersion = maze.getVersion();
+        this.goal = env.indexOf(env.getGoalState());
+        this.distances = new int[env.getIndexedCellCount()];
+        Arrays.fill(distances, UNREACHABLE);
+        this.reachableCount = env.isValid(env.getGoalState()) ? build() : 0;
+        this.buildNanos = System.nanoTime() - startTime;
+    }
+
+    /**
+     * Обратный поиск Дейкстры от цели.
+     * @return Количество клеток, из которых достижима цель.
+     */
+    private int build() {
+        BucketQueue queue = new BucketQueue(env.getMaxActionCost());
+        distances[goal] = 0;
+        queue.push(goal, 0);
+        int settled = 0;
+        ExpansionBatchEvent batch = ExpansionBatchEvent.start("Distance Field");
+        while (!queue.isEmpty()) {
+            int cell = queue.poll();
+            int distance = queue.getCurrentPriority();
+            if (distance > distances[cell]) { // устаревшая запись
+                duplicates++;
+                continue;
+            }
+            if ((++settled & ExpansionBatchEvent.BATCH_MASK) == 0) batch = ExpansionBatchEvent.next(batch, settled, queue.size());
+            for (int action = 0; action < MazeEnvironment.ACTION_COUNT; action++) {
+                int prev = env.successorIndex(cell, action);
+                if (prev < 0) continue;
+                generated++;
+                int newDistance = distance + env.actionCost(prev, MazeEnvironment.reverseAction(action));
+                if (newDistance < distances[prev]) {
+                    distances[prev] = newDistance;
+                    queue.push(prev, newDistance);
+                } else {
+                    duplicates++;
+                }
+            }
+            peakOpen = Math.max(peakOpen, queue.size());
+        }
+        ExpansionBatchEvent.end(batch, settled, 0);
+        return settled;
+    }
+
+    /**
+     * Строит оптимальный путь из заданной клетки спуском по полю.
+     *
+     * @param start Начальное состояние.
+     * @return Путь от старта до цели или пустой список, если цель недостижима.
+     */
+    public List<MazeState> pathFrom(MazeState start) {
+        if (start.x() < 0 || start.y() < 0 || start.x() >= maze.getWidth() || start.y() >= maze.getHeight()) {
+            return Collections.emptyList();
+        }
+        int current = env.indexOf(start);
+        if (distances[current] == UNREACHABLE) return Collections.emptyList();
+
+        List<MazeState> path = new ArrayList<>();
+        path.add(start);
+        while (current != goal) {
+            int next = -1;
+            for (int action = 0; action < MazeEnvironment.ACTION_COUNT && next < 0; action++) {
+                int candidate = env.successorIndex(current, action);
+                if (candidate >= 0 && distances[candidate] != UNREACHABLE
+                        && distances[candidate] + env.actionCost(current, action) == distances[current]) {
+                    next = candidate;
+                }
+            }
+            if (next < 0) return Collections.emptyList(); // лабиринт изменился после построения
+            current = next;
+            path.add(env.stateOf(current));
+        }
+        return path;
+    }
+
+    /**
+     * Возвращает стоимость кратчайшего пути из клетки до цели.
+     *
+     * @param x Координата X.
+     * @param y Координата Y.
+     * @return Расстояние или {@link #UNREACHABLE}.
+     */
+    public int distanceAt(int x, int y) {
+        if (x < 0 || y < 0 || x >= maze.getWidth() || y >= maze.getHeight()) return UNREACHABLE;
+        return distances[y * maze.getWidth() + x];
+    }
+
+    /**
+     * Проверяет, построено ли поле для заданной среды: тот же лабиринт, та же версия и та же цель.
+     *
+     * @param other Среда.
+     * @return {@code true}, если поле можно переиспользовать.
+     */
+    public boolean isValidFor(MazeEnvironment other) {
+        return other.getMaze() == maze && maze.getVersion() == mazeVersion
+                && other.indexOf(other.getGoalState()) == goal;
+    }
+
+    /**
+     * Возвращает количество клеток, из которых достижима цель.
+     * @return Количество клеток.
+     */
+    public int getReachableCount() { return reachableCount; }
+
+    /**
+     * Добавляет в статистику работу, выполненную при построении поля.
+     *
+     * @param stats Статистика запуска, в котором строилось поле.
+     */
+    public void addBuildStats(SearchStats stats) {
+        stats.addExpanded(reachableCount).addGenerated(generated).addDuplicates(duplicates)
+                .updatePeakOpen(peakOpen).updatePeakClosed(reachableCount);
+    }
+
+    /**
+     * Возвращает время построения поля.
+     * @return Время в наносекундах.
+     */
+    public long getBuildNanos() { return buildNanos; }
+}
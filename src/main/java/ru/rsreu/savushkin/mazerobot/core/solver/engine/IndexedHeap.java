@@ -0,0 +1,186 @@
+package ru.rsreu.savushkin.mazerobot.core.solver.engine;
+
+import java.util.Arrays;
+
+/**
+ * Индексированная 4-арная min-куча целочисленных идентификаторов с ключами типа {@code long}.
+ * <p>Для каждого идентификатора хранится его позиция в куче, поэтому операция уменьшения ключа
+ * (decrease-key) выполняется за O(log n) без дубликатов в очереди. В отличие от
+ * {@code PriorityQueue<Situation>}, куча не создает объектов на каждый узел.</p>
+ * <p>Идентификаторы должны лежать в диапазоне {@code [0, capacity)}.</p>
+ */
+public final class IndexedHeap {
+    private static final int ARITY = 4;
+    private static final int INITIAL_SIZE = 64;
+
+    /** Позиция идентификатора в куче или {@code -1}, если его там нет. */
+    private final int[] positions;
+    private int[] ids = new int[INITIAL_SIZE];
+    private long[] keys = new long[INITIAL_SIZE];
+    private int size;
+
+    /**
+     * Создает пустую кучу для идентификаторов из диапазона {@code [0, capacity)}.
+     *
+     * @param capacity Количество возможных идентификаторов.
+     */
+    public IndexedHeap(int capacity) {
+        this.positions = new int[capacity];
+        Arrays.fill(positions, -1);
+    }
+
+    /**
+     * Проверяет, пуста ли куча.
+     * @return {@code true}, если в куче нет элементов.
+     */
+    public boolean isEmpty() { return size == 0; }
+
+    /**
+     * Возвращает количество элементов в куче.
+     * @return Размер кучи.
+     */
+    public int size() { return size; }
+
+    /**
+     * Проверяет, находится ли идентификатор в куче.
+     * @param id Идентификатор.
+     * @return {@code true}, если элемент присутствует в куче.
+     */
+    public boolean contains(int id) { return positions[id] >= 0; }
+
+    /**
+     * Возвращает текущий ключ элемента, находящегося в куче.
+     * @param id Идентификатор.
+     * @return Ключ элемента.
+     */
+    public long keyOf(int id) { return keys[positions[id]]; }
+
+    /**
+     * Возвращает минимальный ключ без извлечения элемента.
+     * @return Минимальный ключ.
+     */
+    public long peekKey() { return keys[0]; }
+
+    /**
+     * Возвращает идентификатор с минимальным ключом без извлечения.
+     * @return Идентификатор.
+     */
+    public int peek() { return ids[0]; }
+
+    /**
+     * Добавляет элемент или изменяет его ключ, если элемент уже находится в куче.
+     *
+     * @param id Идентификатор.
+     * @param key Новый ключ.
+     */
+    public void push(int id, long key) {
+        int pos = positions[id];
+        if (pos < 0) {
+            if (size == ids.length) grow();
+            pos = size++;
+            ids[pos] = id;
+            keys[pos] = key;
+            positions[id] = pos;
+            siftUp(pos);
+        } else if (key < keys[pos]) {
+            keys[pos] = key;
+            siftUp(pos);
+        } else if (key > keys[pos]) {
+            keys[pos] = key;
+            siftDown(pos);
+        }
+    }
+
+    /**
+     * Извлекает элемент с минимальным ключом.
+     * @return Идентификатор извлеченного элемента.
+     */
+    public int poll() {
+        int top = ids[0];
+        positions[top] = -1;
+        size--;
+        if (size > 0) {
+            ids[0] = ids[size];
+            keys[0] = keys[size];
+            positions[ids[0]] = 0;
+            siftDown(0);
+        }
+        return top;
+    }
+
+    /**
+     * Удаляет элемент из кучи, если он там присутствует.
+     * @param id Идентификатор.
+     */
+    public void remove(int id) {
+        int pos = positions[id];
+        if (pos < 0) return;
+        long removedKey = keys[pos];
+        positions[id] = -1;
+        size--;
+        if (pos < size) {
+            move(size, pos);
+            if (keys[pos] < removedKey) {
+                siftUp(pos);
+            } else {
+                siftDown(pos);
+            }
+        }
+    }
+
+    /**
+     * Очищает кучу, сохраняя выделенную память.
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) positions[ids[i]] = -1;
+        size = 0;
+    }
+
+    private void siftUp(int pos) {
+        int id = ids[pos];
+        long key = keys[pos];
+        while (pos > 0) {
+            int parent = (pos - 1) / ARITY;
+            if (keys[parent] <= key) break;
+            move(parent, pos);
+            pos = parent;
+        }
+        place(id, key, pos);
+    }
+
+    private void siftDown(int pos) {
+        int id = ids[pos];
+        long key = keys[pos];
+        while (true) {
+            int first = pos * ARITY + 1;
+            if (first >= size) break;
+            int last = Math.min(first + ARITY, size);
+            int best = first;
+            for (int c = first + 1; c < last; c++) {
+                if (keys[c] < keys[best]) best = c;
+            }
+            if (keys[best] >= key) break;
+            move(best, pos);
+            pos = best;
+        }
+        place(id, key, pos);
+    }
+
+    private void move(int from, int to) {
+        ids[to] = ids[from];
+        keys[to] = keys[from];
+        positions[ids[to]] = to;
+    }
+
+    private void place(int id, long key, int pos) {
+        ids[pos] = id;
+        keys[pos] = key;
+        positions[id] = pos;
+    }
+
+    private void grow() {
+        int newSize = ids.length * 2;
+        ids = Arrays.copyOf(ids, newSize);
+        keys = Arrays.copyOf(keys, newSize);
+    }
+}
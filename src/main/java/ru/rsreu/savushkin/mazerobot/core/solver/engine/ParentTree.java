@@ -0,0 +1,42 @@
+package ru.rsreu.savushkin.mazerobot.core.solver.engine;
+
+import java.util.Arrays;
+
+/**
+ * Операции над деревом поиска, заданным массивом родителей.
+ * <p>Используется решателями на индексах клеток, которые не хранят глубину узлов во время поиска:
+ * глубина вычисляется после поиска и только если запрошена статистика.</p>
+ */
+public final class ParentTree {
+    private ParentTree() {
+    }
+
+    /**
+     * Вычисляет глубину дерева поиска в ребрах за O(n) с запоминанием глубин.
+     *
+     * @param parents Родители узлов ({@code -1} у корня).
+     * @param costs Стоимости узлов; узлы со стоимостью {@code unreached} не входят в дерево.
+     * @param unreached Значение стоимости недостигнутого узла.
+     * @return Глубина самого глубокого достигнутого узла.
+     */
+    public static int maxDepth(int[] parents, int[] costs, int unreached) {
+        int[] depths = new int[parents.length];
+        int[] chain = new int[16];
+        int max = 0;
+        for (int node = 0; node < parents.length; node++) {
+            if (costs[node] == unreached || depths[node] > 0) continue;
+            // Поднимаемся до корня или до узла с известной глубиной.
+            int length = 0;
+            int current = node;
+            while (depths[current] == 0 && parents[current] >= 0) {
+                if (length == chain.length) chain = Arrays.copyOf(chain, length * 2);
+                chain[length++] = current;
+                current = parents[current];
+            }
+            int depth = depths[current];
+            for (int i = length - 1; i >= 0; i--) depths[chain[i]] = ++depth;
+            max = Math.max(max, depth);
+        }
+        return max;
+    }
+}
@@ -1,9 +1,13 @@
 package ru.rsreu.savushkin.mazerobot.core.solver.impl;
 
+import ru.rsreu.savushkin.mazerobot.core.jfr.ExpansionBatchEvent;
 import ru.rsreu.savushkin.mazerobot.core.solver.ProblemSolver;
+import ru.rsreu.savushkin.mazerobot.core.solver.SearchObserver;
+import ru.rsreu.savushkin.mazerobot.core.solver.SearchStats;
 import ru.rsreu.savushkin.mazerobot.core.solver.engine.Situation;
 import ru.rsreu.savushkin.mazerobot.core.state.Environment;
 import ru.rsreu.savushkin.mazerobot.core.state.State;
+import ru.rsreu.savushkin.mazerobot.core.state.SuccessorVisitor;
 import ru.rsreu.savushkin.mazerobot.core.state.maze.MazeState;
 import ru.rsreu.savushkin.mazerobot.core.state.maze.MoveAction;
 
@@ -12,7 +16,8 @@ import java.util.*;
 /**
  * Реализация алгоритма A* (A-Star Search).
  * <p>Использует приоритетную очередь (PriorityQueue) и допустимую эвристическую функцию
- * для нахождения кратчайшего пути с учетом веса действий (прыжок = 2, шаг = 1).</p>
+ * для нахождения кратчайшего пути с учетом веса действий (без рельефа прыжок = 2, шаг = 1; с рельефом
+ * ход стоит сумму стоимостей клеток, в которые входит робот).</p>
  */
 public class AStarSolver implements ProblemSolver {
 
@@ -21,23 +26,26 @@ public class AStarSolver implements ProblemSolver {
      *
      * @param env Среда (лабиринт), в которой происходит поиск.
      * @param startState Начальное состояние.
+     * @param stats Приемник статистики или {@code null}.
      * @param <S> Тип состояния (должен быть MazeState).
      * @return Список состояний, составляющих кратчайший путь, или пустой список, если путь не найден.
      */
     @Override
-    public <S extends State> List<S> solve(Environment<S, ?> env, S startState) {
+    public <S extends State> List<S> solve(Environment<S, ?> env, S startState, SearchStats stats) {
         // Проверка, что решатель используется в MazeState среде.
         if (!(startState instanceof MazeState)) {
             throw new IllegalArgumentException("AStarSolver requires MazeState environment.");
         }
 
+        long startTime = System.nanoTime();
         Environment<MazeState, MoveAction> mazeEnv = (Environment<MazeState, MoveAction>) env;
         MazeState start = (MazeState) startState;
 
         // Open Set: Приоритетная очередь для узлов, сортируемая по минимальному f(n).
         PriorityQueue<Situation<MazeState>> openSet = new PriorityQueue<>();
-        // gCosts: Хранит минимальную фактическую стоимость (g(n)) до каждого состояния.
-        Map<MazeState, Double> gCosts = new HashMap<>();
+        // bestNodes: Узел с минимальной фактической стоимостью g(n) для каждого состояния
+        // (стоимость берется из узла, поэтому значения не упаковываются в Double).
+        Map<MazeState, Situation<MazeState>> bestNodes = new HashMap<>();
 
         // Инициализация корневого узла (gCost = 0.0)
         Situation<MazeState> root = new Situation<>(start, null, null, 0, 0.0);
@@ -45,9 +53,17 @@ public class AStarSolver implements ProblemSolver {
         root.setFCost(heuristicEval(mazeEnv, start));
 
         openSet.add(root);
-        gCosts.put(start, 0.0);
+        bestNodes.put(start, root);
+
+        Expander expander = new Expander(mazeEnv, openSet, bestNodes);
+
+        List<MazeState> path = Collections.emptyList(); // Путь не найден
+        long expanded = 0;
+        int peakOpen = 1;
 
         // Основной цикл поиска
+        SearchObserver observer = stats != null ? stats.getObserver() : null;
+        ExpansionBatchEvent batch = ExpansionBatchEvent.start(getName());
         while (!openSet.isEmpty()) {
             // Извлекаем самый перспективный узел (с наименьшим f(n)).
             Situation<MazeState> current = openSet.poll();
@@ -56,42 +72,82 @@ public class AStarSolver implements ProblemSolver {
             // Проверка на достижение цели.
             if (mazeEnv.isGoal(currentState)) {
                 // Восстанавливаем путь по ссылкам на родительские узлы.
-                return (List<S>) extractPath(current);
+                path = extractPath(current);
+                break;
             }
 
-            // Перебираем все возможные ходы из текущего состояния.
-            for (var action : mazeEnv.getPossibleActions(currentState)) {
-                MazeState nextState = mazeEnv.applyAction(currentState, action);
-
-                // Игнорируем невалидные ходы (в стену).
-                if (!mazeEnv.isValid(nextState) || nextState.equals(currentState)) {
-                    continue;
+            // Перебираем все валидные ходы из текущего состояния.
+            expander.current = current;
+            mazeEnv.forEachSuccessor(currentState, expander);
+            if (observer != null) observer.expanded(currentState.x(), currentState.y());
+            if ((++expanded & ExpansionBatchEvent.BATCH_MASK) == 0) {
+                batch = ExpansionBatchEvent.next(batch, expanded, openSet.size());
+                if (stats != null && stats.checkpoint(expanded, openSet.size())) {
+                    path = extractPath(current); // лучший частичный результат
+                    break;
                 }
+            }
+            peakOpen = Math.max(peakOpen, openSet.size());
+        }
+        ExpansionBatchEvent.end(batch, expanded, openSet.size());
 
-                // Расчет новой фактической стоимости G(n) с учетом веса действия (1.0 или 2.0).
-                double moveCost = action.isDouble() ? 2.0 : 1.0;
-                double newGCost = current.getGCost() + moveCost;
+        if (stats != null) {
+            stats.addExpanded(expanded).addGenerated(expander.generated).addDuplicates(expander.duplicates)
+                    .updatePeakOpen(peakOpen).updatePeakClosed(bestNodes.size()).updateMaxDepth(expander.maxDepth)
+                    .complete(mazeEnv, path, startTime);
+        }
+        return (List<S>) path;
+    }
 
-                // Если нашли более длинный путь к уже известному узлу, игнорируем.
-                if (gCosts.containsKey(nextState) && newGCost >= gCosts.get(nextState)) {
-                    continue;
-                }
+    /**
+     * Посетитель преемников для A*: оценивает каждый валидный ход и добавляет улучшенные узлы в Open Set.
+     * <p>Один экземпляр используется на весь поиск. Объект {@link Situation} создается только для
+     * улучшенного узла; для повторно найденного состояния новых объектов решатель не создает.</p>
+     */
+    private final class Expander implements SuccessorVisitor<MazeState, MoveAction> {
+        private final Environment<MazeState, MoveAction> env;
+        private final PriorityQueue<Situation<MazeState>> openSet;
+        private final Map<MazeState, Situation<MazeState>> bestNodes;
+        private Situation<MazeState> current;
+        private long generated;
+        private long duplicates;
+        private int maxDepth;
+
+        private Expander(Environment<MazeState, MoveAction> env,
+                         PriorityQueue<Situation<MazeState>> openSet, Map<MazeState, Situation<MazeState>> bestNodes) {
+            this.env = env;
+            this.openSet = openSet;
+            this.bestNodes = bestNodes;
+        }
 
-                // Создание и оценка новой Situation.
-                Situation<MazeState> nextSituation = new Situation<>(
-                        nextState, current, action, current.getDepth() + 1, newGCost
-                );
+        @Override
+        public boolean visit(MoveAction action, MazeState nextState, double moveCost) {
+            // Расчет новой фактической стоимости G(n) с учетом веса действия (шаг, прыжок и рельеф).
+            double newGCost = current.getGCost() + moveCost;
+            generated++;
+
+            // Если нашли более длинный путь к уже известному узлу, игнорируем.
+            Situation<MazeState> known = bestNodes.get(nextState);
+            if (known != null && newGCost >= known.getGCost()) {
+                duplicates++;
+                return true;
+            }
 
-                // Расчет F(n) = G(n)_new + H(n).
-                double hCost = heuristicEval(mazeEnv, nextState);
-                nextSituation.setFCost(newGCost + hCost);
+            // Создание и оценка новой Situation.
+            Situation<MazeState> nextSituation = new Situation<>(
+                    nextState, current, action, current.getDepth() + 1, newGCost
+            );
 
-                // Обновляем gCosts и добавляем узел в Open Set.
-                gCosts.put(nextState, newGCost);
-                openSet.add(nextSituation);
-            }
+            // Расчет F(n) = G(n)_new + H(n).
+            double hCost = heuristicEval(env, nextState);
+            nextSituation.setFCost(newGCost + hCost);
+
+            // Обновляем лучший узел состояния и добавляем его в Open Set.
+            bestNodes.put(nextState, nextSituation);
+            openSet.add(nextSituation);
+            maxDepth = Math.max(maxDepth, nextSituation.getDepth());
+            return true;
         }
-        return Collections.emptyList(); // Путь не найден
     }
 
     /**
@@ -124,6 +180,15 @@ public class AStarSolver implements ProblemSolver {
         return path;
     }
 
+    /**
+     * Решатель всегда возвращает кратчайший по стоимости действий путь.
+     * @return {@code true}.
+     */
+    @Override
+    public boolean isOptimal() {
+        return true;
+    }
+
     /**
      * Возвращает имя алгоритма для отображения в UI.
      * @return Имя алгоритма.
@@ -0,0 +1,248 @@
+package ru.rsreu.savushkin.mazerobot.core.solver.impl;
+
+import ru.rsreu.savushkin.mazerobot.core.jfr.ExpansionBatchEvent;
+import ru.rsreu.savushkin.mazerobot.core.solver.ProblemSolver;
+import ru.rsreu.savushkin.mazerobot.core.solver.SearchObserver;
+import ru.rsreu.savushkin.mazerobot.core.solver.SearchStats;
+import ru.rsreu.savushkin.mazerobot.core.solver.engine.Situation;
+import ru.rsreu.savushkin.mazerobot.core.state.Environment;
+import ru.rsreu.savushkin.mazerobot.core.state.State;
+import ru.rsreu.savushkin.mazerobot.core.state.SuccessorVisitor;
+import ru.rsreu.savushkin.mazerobot.core.state.maze.MazeState;
+import ru.rsreu.savushkin.mazerobot.core.state.maze.MoveAction;
+
+import java.util.*;
+
+/**
+ * Реализация двунаправленного A* (Bidirectional A*).
+ * <p>Прямой поиск идет от старта с эвристикой «расстояние до цели», обратный — от цели через
+ * {@link Environment#forEachPredecessor} с эвристикой «расстояние до старта». На каждом шаге
+ * раскрывается сторона с меньшим открытым списком. Каждый раз, когда узел получает стоимость
+ * с одной стороны и уже известен другой, обновляется лучшая найденная стоимость μ.</p>
+ * <p>Условие остановки учитывает веса действий (шаг, прыжок и рельеф): поиск завершается, когда
+ * минимальное f(n) хотя бы одного из открытых списков не меньше μ. Эвристики согласованы,
+ * поэтому любой путь дешевле μ проходил бы через открытый узел с f(n) &lt; μ, и найденный путь
+ * оптимален, как у {@link AStarSolver}.</p>
+ */
+public class BidirectionalAStarSolver implements ProblemSolver {
+
+    /**
+     * Ищет оптимальный путь от начального состояния до цели.
+     *
+     * @param env Среда (лабиринт), поддерживающая генерацию предшественников.
+     * @param startState Начальное состояние.
+     * @param stats Приемник статистики или {@code null}. Счетчики обеих сторон суммируются;
+     *              устаревшие записи открытых списков считаются дубликатами.
+     * @param <S> Тип состояния (должен быть MazeState).
+     * @return Список состояний, составляющих кратчайший путь, или пустой список, если путь не найден.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <S extends State> List<S> solve(Environment<S, ?> env, S startState, SearchStats stats) {
+        if (!(startState instanceof MazeState start)) {
+            throw new IllegalArgumentException("BidirectionalAStarSolver requires MazeState environment.");
+        }
+        long startTime = System.nanoTime();
+
+        Environment<MazeState, MoveAction> mazeEnv = (Environment<MazeState, MoveAction>) env;
+        MazeState goal = mazeEnv.getGoalState();
+        if (mazeEnv.isGoal(start)) {
+            List<MazeState> path = List.of(start);
+            return (List<S>) (stats == null ? path : stats.complete(mazeEnv, path, startTime));
+        }
+
+        Side forward = new Side(start, goal, true);
+        Side backward = new Side(goal, start, false);
+        Meeting meeting = new Meeting();
+        forward.other = backward;
+        backward.other = forward;
+        forward.meeting = meeting;
+        backward.meeting = meeting;
+
+        int peakOpen = 2;
+        long polled = 0;
+        boolean stopped = false;
+        SearchObserver observer = stats != null ? stats.getObserver() : null;
+        ExpansionBatchEvent batch = ExpansionBatchEvent.start(getName());
+        while (!forward.open.isEmpty() && !backward.open.isEmpty()) {
+            // Условие остановки: ни одна сторона уже не может улучшить μ.
+            if (Math.max(forward.open.peek().getFCost(), backward.open.peek().getFCost()) >= meeting.cost) {
+                break;
+            }
+            Side side = forward.open.size() <= backward.open.size() ? forward : backward;
+            side.expandNext(mazeEnv, observer);
+            peakOpen = Math.max(peakOpen, forward.open.size() + backward.open.size());
+            if ((++polled & ExpansionBatchEvent.BATCH_MASK) == 0) {
+                long open = forward.open.size() + backward.open.size();
+                batch = ExpansionBatchEvent.next(batch, forward.expanded + backward.expanded, open);
+                if (stats != null && stats.checkpoint(forward.expanded + backward.expanded, open)) {
+                    stopped = true;
+                    break;
+                }
+            }
+        }
+        ExpansionBatchEvent.end(batch, forward.expanded + backward.expanded, forward.open.size() + backward.open.size());
+
+        List<MazeState> path;
+        if (meeting.forward != null) {
+            path = buildPath(meeting); // при остановке — лучшая найденная, но не доказанно оптимальная встреча
+        } else if (stopped && forward.current != null) {
+            path = extractPath(forward.current); // частичный результат — прямая цепочка
+        } else {
+            path = Collections.emptyList(); // Путь не найден
+        }
+        if (stats != null) {
+            stats.addExpanded(forward.expanded + backward.expanded)
+                    .addGenerated(forward.generated + backward.generated)
+                    .addDuplicates(forward.duplicates + backward.duplicates)
+                    .updatePeakOpen(peakOpen).updatePeakClosed(forward.best.size() + backward.best.size())
+                    .updateMaxDepth(Math.max(forward.maxDepth, backward.maxDepth))
+                    .complete(mazeEnv, path, startTime);
+        }
+        return (List<S>) path;
+    }
+
+    /**
+     * Восстанавливает цепочку прямого поиска от старта до узла.
+     *
+     * @param end Последний узел.
+     * @return Путь от старта до узла.
+     */
+    private List<MazeState> extractPath(Situation<MazeState> end) {
+        LinkedList<MazeState> path = new LinkedList<>();
+        for (Situation<MazeState> curr = end; curr != null; curr = curr.getParent()) {
+            path.addFirst(curr.getState());
+        }
+        return path;
+    }
+
+    /**
+     * Склеивает путь из прямой и обратной цепочек узлов в точке встречи.
+     *
+     * @param meeting Лучшая встреча.
+     * @return Полный путь от старта до цели.
+     */
+    private List<MazeState> buildPath(Meeting meeting) {
+        LinkedList<MazeState> path = new LinkedList<>();
+        for (Situation<MazeState> curr = meeting.forward; curr != null; curr = curr.getParent()) {
+            path.addFirst(curr.getState());
+        }
+        for (Situation<MazeState> curr = meeting.backward.getParent(); curr != null; curr = curr.getParent()) {
+            path.addLast(curr.getState());
+        }
+        return path;
+    }
+
+    /**
+     * Лучшая найденная встреча прямого и обратного поиска.
+     */
+    private static final class Meeting {
+        private double cost = Double.POSITIVE_INFINITY;
+        private Situation<MazeState> forward;
+        private Situation<MazeState> backward;
+    }
+
+    /**
+     * Одна сторона поиска: открытый список, лучшие узлы по состояниям и эвристика к своей цели.
+     */
+    private static final class Side implements SuccessorVisitor<MazeState, MoveAction> {
+        private final boolean forward;
+        private final MazeState target;
+        private final PriorityQueue<Situation<MazeState>> open = new PriorityQueue<>();
+        private final Map<MazeState, Situation<MazeState>> best = new HashMap<>();
+        private Side other;
+        private Meeting meeting;
+        private Situation<MazeState> current;
+        private long expanded;
+        private long generated;
+        private long duplicates;
+        private int maxDepth;
+
+        private Side(MazeState root, MazeState target, boolean forward) {
+            this.forward = forward;
+            this.target = target;
+            Situation<MazeState> rootSituation = new Situation<>(root);
+            rootSituation.setFCost(heuristicEval(root, target));
+            open.add(rootSituation);
+            best.put(root, rootSituation);
+        }
+
+        /**
+         * Извлекает из открытого списка лучший актуальный узел и раскрывает его.
+         * Устаревшие записи (для которых уже найден более дешевый узел) пропускаются.
+         *
+         * @param env Среда.
+         * @param observer Наблюдатель за раскрытием или {@code null}.
+         */
+        private void expandNext(Environment<MazeState, MoveAction> env, SearchObserver observer) {
+            Situation<MazeState> situation = open.poll();
+            if (best.get(situation.getState()) != situation) {
+                duplicates++;
+                return;
+            }
+
+            current = situation;
+            expanded++;
+            if (observer != null) observer.expanded(situation.getState().x(), situation.getState().y());
+            if (forward) {
+                env.forEachSuccessor(situation.getState(), this);
+            } else {
+                env.forEachPredecessor(situation.getState(), this);
+            }
+        }
+
+        @Override
+        public boolean visit(MoveAction action, MazeState next, double cost) {
+            generated++;
+            double newGCost = current.getGCost() + cost;
+            Situation<MazeState> known = best.get(next);
+            if (known != null && newGCost >= known.getGCost()) {
+                duplicates++;
+                return true;
+            }
+
+            Situation<MazeState> nextSituation = new Situation<>(next, current, action, current.getDepth() + 1, newGCost);
+            maxDepth = Math.max(maxDepth, nextSituation.getDepth());
+            nextSituation.setFCost(newGCost + heuristicEval(next, target));
+            best.put(next, nextSituation);
+            open.add(nextSituation);
+
+            Situation<MazeState> opposite = other.best.get(next);
+            if (opposite != null && newGCost + opposite.getGCost() < meeting.cost) {
+                meeting.cost = newGCost + opposite.getGCost();
+                meeting.forward = forward ? nextSituation : opposite;
+                meeting.backward = forward ? opposite : nextSituation;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Эвристическая функция h(n): Манхэттенское расстояние до цели своей стороны.
+     *
+     * @param state Текущее состояние.
+     * @param target Цель стороны поиска (цель лабиринта для прямого поиска, старт для обратного).
+     * @return Эвристическая оценка расстояния.
+     */
+    private static double heuristicEval(MazeState state, MazeState target) {
+        return Math.abs(state.x() - target.x()) + Math.abs(state.y() - target.y());
+    }
+
+    /**
+     * Решатель всегда возвращает кратчайший по стоимости действий путь.
+     * @return {@code true}.
+     */
+    @Override
+    public boolean isOptimal() {
+        return true;
+    }
+
+    /**
+     * Возвращает имя алгоритма для отображения в UI.
+     * @return Имя алгоритма.
+     */
+    @Override
+    public String getName() {
+        return "Bidirectional A*";
+    }
+}
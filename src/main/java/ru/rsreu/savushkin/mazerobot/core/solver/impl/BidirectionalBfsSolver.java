@@ -0,0 +1,197 @@
+package ru.rsreu.savushkin.mazerobot.core.solver.impl;
+
+import ru.rsreu.savushkin.mazerobot.core.jfr.ExpansionBatchEvent;
+import ru.rsreu.savushkin.mazerobot.core.solver.ProblemSolver;
+import ru.rsreu.savushkin.mazerobot.core.solver.SearchObserver;
+import ru.rsreu.savushkin.mazerobot.core.solver.SearchStats;
+import ru.rsreu.savushkin.mazerobot.core.state.Action;
+import ru.rsreu.savushkin.mazerobot.core.state.Environment;
+import ru.rsreu.savushkin.mazerobot.core.state.State;
+import ru.rsreu.savushkin.mazerobot.core.state.SuccessorVisitor;
+
+import java.util.*;
+
+/**
+ * Реализация двунаправленного поиска в ширину (Bidirectional BFS).
+ * <p>Одновременно ведет прямой поиск от старта и обратный поиск от цели (через
+ * {@link Environment#forEachPredecessor}) и останавливается, когда фронты встречаются. На каждом шаге
+ * целиком раскрывается один уровень меньшего фронта, а из всех встреч этого уровня выбирается лучшая,
+ * поэтому найденный путь кратчайший по числу действий, как у {@link BreadthFirstSolver}.</p>
+ * <p>Каждый фронт имеет глубину около половины пути, поэтому на больших лабиринтах раскрывается
+ * значительно меньше состояний, чем при поиске только от старта.</p>
+ */
+public class BidirectionalBfsSolver implements ProblemSolver {
+
+    /**
+     * Ищет кратчайший по числу действий путь от начального состояния до цели.
+     *
+     * @param env Среда, поддерживающая генерацию предшественников.
+     * @param startState Начальное состояние.
+     * @param stats Приемник статистики или {@code null}. Счетчики обеих сторон суммируются, глубина —
+     *              наибольшая глубина одной стороны.
+     * @param <S> Тип состояния.
+     * @return Список состояний, составляющих кратчайший путь, или пустой список, если путь не найден.
+     */
+    @Override
+    public <S extends State> List<S> solve(Environment<S, ?> env, S startState, SearchStats stats) {
+        if (env == null || startState == null) throw new IllegalArgumentException("Arguments cannot be null");
+        long startTime = System.nanoTime();
+
+        S goal = env.getGoalState();
+        if (env.isGoal(startState)) {
+            List<S> path = List.of(startState);
+            return stats == null ? path : stats.complete(env, path, startTime);
+        }
+
+        // Родитель в прямом поиске и следующее состояние к цели в обратном поиске.
+        Side<S> forward = new Side<>(startState, true);
+        Side<S> backward = new Side<>(goal, false);
+        forward.other = backward;
+        backward.other = forward;
+
+        List<S> path = Collections.emptyList(); // Path not found
+        int peakOpen = 2;
+        SearchObserver observer = stats != null ? stats.getObserver() : null;
+        // Событие JFR охватывает несколько целых уровней.
+        ExpansionBatchEvent batch = ExpansionBatchEvent.start(getName());
+        while (!forward.frontier.isEmpty() && !backward.frontier.isEmpty()) {
+            Side<S> side = forward.frontier.size() <= backward.frontier.size() ? forward : backward;
+            side.expandLevel(env, observer);
+            int open = forward.frontier.size() + backward.frontier.size();
+            peakOpen = Math.max(peakOpen, open);
+            batch = ExpansionBatchEvent.advance(batch, forward.expanded + backward.expanded, open);
+            if (side.meeting != null) {
+                path = buildPath(forward.parents, backward.parents, side.meeting);
+                break;
+            }
+            if (stats != null && !forward.frontier.isEmpty()
+                    && stats.checkpoint(forward.expanded + backward.expanded, open)) {
+                // Частичный результат — прямая половина до клетки фронта.
+                path = buildPath(forward.parents, Map.of(), forward.frontier.get(0));
+                break;
+            }
+        }
+        ExpansionBatchEvent.end(batch, forward.expanded + backward.expanded, 0);
+
+        if (stats != null) {
+            stats.addExpanded(forward.expanded + backward.expanded)
+                    .addGenerated(forward.generated + backward.generated)
+                    .addDuplicates(forward.duplicates + backward.duplicates)
+                    .updatePeakOpen(peakOpen).updatePeakClosed(forward.parents.size() + backward.parents.size())
+                    .updateMaxDepth(Math.max(forward.maxDepth, backward.maxDepth))
+                    .complete(env, path, startTime);
+        }
+        return path;
+    }
+
+    /**
+     * Склеивает путь из прямой и обратной половин в точке встречи.
+     *
+     * @param forwardParents Родители прямого поиска.
+     * @param backwardParents Преемники обратного поиска.
+     * @param meeting Состояние встречи.
+     * @param <S> Тип состояния.
+     * @return Полный путь от старта до цели.
+     */
+    private <S extends State> List<S> buildPath(Map<S, S> forwardParents, Map<S, S> backwardParents, S meeting) {
+        LinkedList<S> path = new LinkedList<>();
+        for (S curr = meeting; curr != null; curr = forwardParents.get(curr)) {
+            path.addFirst(curr);
+        }
+        for (S curr = backwardParents.get(meeting); curr != null; curr = backwardParents.get(curr)) {
+            path.addLast(curr);
+        }
+        return path;
+    }
+
+    /**
+     * Одна сторона поиска: посещенные состояния с глубиной, текущий фронт и лучшая встреча.
+     *
+     * @param <S> Тип состояния.
+     */
+    private static final class Side<S extends State> implements SuccessorVisitor<S, Action> {
+        private final boolean forward;
+        private final Map<S, S> parents = new HashMap<>();
+        private final Map<S, Integer> depths = new HashMap<>();
+        private List<S> frontier = new ArrayList<>();
+        private List<S> nextFrontier = new ArrayList<>();
+        private Side<S> other;
+        private S current;
+        private int bestLength = Integer.MAX_VALUE;
+        private S meeting;
+        private long expanded;
+        private long generated;
+        private long duplicates;
+        private int maxDepth;
+
+        private Side(S root, boolean forward) {
+            this.forward = forward;
+            parents.put(root, null);
+            depths.put(root, 0);
+            frontier.add(root);
+        }
+
+        /**
+         * Раскрывает весь текущий уровень фронта и запоминает кратчайшую встречу с другой стороной.
+         *
+         * @param env Среда.
+         * @param observer Наблюдатель за раскрытием или {@code null}.
+         */
+        private void expandLevel(Environment<S, ?> env, SearchObserver observer) {
+            for (S state : frontier) {
+                current = state;
+                if (forward) {
+                    env.forEachSuccessor(state, this);
+                } else {
+                    env.forEachPredecessor(state, this);
+                }
+                if (observer != null) observer.expanded(state);
+            }
+            expanded += frontier.size();
+            List<S> done = frontier;
+            frontier = nextFrontier;
+            nextFrontier = done;
+            nextFrontier.clear();
+        }
+
+        @Override
+        public boolean visit(Action action, S next, double cost) {
+            generated++;
+            if (parents.containsKey(next)) {
+                duplicates++;
+                return true;
+            }
+
+            int depth = depths.get(current) + 1;
+            maxDepth = Math.max(maxDepth, depth);
+            parents.put(next, current);
+            depths.put(next, depth);
+            nextFrontier.add(next);
+
+            Integer otherDepth = other.depths.get(next);
+            if (otherDepth != null && depth + otherDepth < bestLength) {
+                bestLength = depth + otherDepth;
+                meeting = next;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Решатель всегда возвращает кратчайший по числу действий путь.
+     * @return {@code true}.
+     */
+    @Override
+    public boolean isOptimal() {
+        return true;
+    }
+
+    /**
+     * Возвращает имя алгоритма для отображения в UI.
+     * @return Имя алгоритма.
+     */
+    @Override
+    public String getName() {
+        return "Bidirectional BFS";
+    }
+}
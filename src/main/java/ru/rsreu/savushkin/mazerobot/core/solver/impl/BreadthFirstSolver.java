@@ -1,9 +1,14 @@
 package ru.rsreu.savushkin.mazerobot.core.solver.impl;
 
+import ru.rsreu.savushkin.mazerobot.core.jfr.ExpansionBatchEvent;
 import ru.rsreu.savushkin.mazerobot.core.solver.ProblemSolver;
+import ru.rsreu.savushkin.mazerobot.core.solver.SearchObserver;
+import ru.rsreu.savushkin.mazerobot.core.solver.SearchStats;
 import ru.rsreu.savushkin.mazerobot.core.solver.engine.Situation;
+import ru.rsreu.savushkin.mazerobot.core.state.Action;
 import ru.rsreu.savushkin.mazerobot.core.state.Environment;
 import ru.rsreu.savushkin.mazerobot.core.state.State;
+import ru.rsreu.savushkin.mazerobot.core.state.SuccessorVisitor;
 
 import java.util.*;
 
@@ -21,14 +26,16 @@ public class BreadthFirstSolver implements ProblemSolver {
      *
      * @param env Среда (лабиринт), в которой происходит поиск.
      * @param startState Начальное состояние.
+     * @param stats Приемник статистики или {@code null}.
      * @param <S> Тип состояния.
      * @return Список состояний, составляющих кратчайший путь, или пустой список, если путь не найден.
      */
     @Override
-    public <S extends State> List<S> solve(Environment<S, ?> env, S startState) {
+    public <S extends State> List<S> solve(Environment<S, ?> env, S startState, SearchStats stats) {
         if (env == null || startState == null) throw new IllegalArgumentException("Arguments cannot be null");
+        long startTime = System.nanoTime();
 
-        Queue<Situation<S>> queue = new LinkedList<>();
+        Queue<Situation<S>> queue = new ArrayDeque<>();
         Set<S> visitedStates = new HashSet<>();
 
         // Стоимость пути g(n)=0.0 для корневого узла
@@ -37,33 +44,80 @@ public class BreadthFirstSolver implements ProblemSolver {
         queue.add(root);
         visitedStates.add(startState);
 
+        Expander<S> expander = new Expander<>(queue, visitedStates);
+        List<S> path = Collections.emptyList(); // Path not found
+        long expanded = 0;
+        int peakOpen = 1;
+        SearchObserver observer = stats != null ? stats.getObserver() : null;
+        ExpansionBatchEvent batch = ExpansionBatchEvent.start(getName());
         while (!queue.isEmpty()) {
             Situation<S> current = queue.poll();
 
             if (env.isGoal(current.getState())) {
-                return extractPath(current);
+                path = extractPath(current);
+                break;
             }
 
-            for (var action : env.getPossibleActions(current.getState())) {
-                S nextState = env.applyAction(current.getState(), action);
+            expander.current = current;
+            env.forEachSuccessor(current.getState(), expander);
+            if (observer != null) observer.expanded(current.getState());
+            if ((++expanded & ExpansionBatchEvent.BATCH_MASK) == 0) {
+                batch = ExpansionBatchEvent.next(batch, expanded, queue.size());
+                if (stats != null && stats.checkpoint(expanded, queue.size())) {
+                    path = extractPath(current); // лучший частичный результат
+                    break;
+                }
+            }
+            peakOpen = Math.max(peakOpen, queue.size());
+        }
+        ExpansionBatchEvent.end(batch, expanded, queue.size());
 
-                if (env.isValid(nextState) && !visitedStates.contains(nextState) && !nextState.equals(current.getState())) {
+        if (stats != null) {
+            stats.addExpanded(expanded).addGenerated(expander.generated).addDuplicates(expander.duplicates)
+                    .updatePeakOpen(peakOpen).updatePeakClosed(visitedStates.size()).updateMaxDepth(expander.maxDepth)
+                    .complete(env, path, startTime);
+        }
+        return path;
+    }
+
+    /**
+     * Посетитель преемников для BFS: добавляет в очередь еще не посещенные состояния.
+     * <p>Один экземпляр используется на весь поиск. Объект {@link Situation} создается только для
+     * нового состояния; для уже посещенного состояния новых объектов решатель не создает.</p>
+     *
+     * @param <S> Тип состояния.
+     */
+    private static final class Expander<S extends State> implements SuccessorVisitor<S, Action> {
+        private final Queue<Situation<S>> queue;
+        private final Set<S> visitedStates;
+        private Situation<S> current;
+        private long generated;
+        private long duplicates;
+        private int maxDepth;
 
-                    // В BFS каждое действие имеет стоимость 1.0
-                    double newGCost = current.getGCost() + 1.0;
+        private Expander(Queue<Situation<S>> queue, Set<S> visitedStates) {
+            this.queue = queue;
+            this.visitedStates = visitedStates;
+        }
 
-                    visitedStates.add(nextState);
-                    queue.add(new Situation<>(
-                            nextState,
-                            current,
-                            action,
-                            current.getDepth() + 1,
-                            newGCost
-                    ));
-                }
+        @Override
+        public boolean visit(Action action, S nextState, double cost) {
+            generated++;
+            if (visitedStates.add(nextState)) {
+                // В BFS каждое действие имеет стоимость 1.0
+                queue.add(new Situation<>(
+                        nextState,
+                        current,
+                        action,
+                        current.getDepth() + 1,
+                        current.getGCost() + 1.0
+                ));
+                maxDepth = Math.max(maxDepth, current.getDepth() + 1);
+            } else {
+                duplicates++;
             }
+            return true;
         }
-        return Collections.emptyList(); // Path not found
     }
 
     /**
@@ -83,6 +137,15 @@ public class BreadthFirstSolver implements ProblemSolver {
         return path;
     }
 
+    /**
+     * Решатель всегда возвращает кратчайший по числу действий путь.
+     * @return {@code true}.
+     */
+    @Override
+    public boolean isOptimal() {
+        return true;
+    }
+
     /**
      * Возвращает имя алгоритма для отображения в UI.
      * @return Имя алгоритма.
@@ -0,0 +1,180 @@
+package ru.rsreu.savushkin.mazerobot.core.solver.impl;
+
+import ru.rsreu.savushkin.mazerobot.core.jfr.ExpansionBatchEvent;
+import ru.rsreu.savushkin.mazerobot.core.solver.ProblemSolver;
+import ru.rsreu.savushkin.mazerobot.core.solver.SearchObserver;
+import ru.rsreu.savushkin.mazerobot.core.solver.SearchStats;
+import ru.rsreu.savushkin.mazerobot.core.solver.engine.BucketQueue;
+import ru.rsreu.savushkin.mazerobot.core.solver.engine.ParentTree;
+import ru.rsreu.savushkin.mazerobot.core.state.Environment;
+import ru.rsreu.savushkin.mazerobot.core.state.State;
+import ru.rsreu.savushkin.mazerobot.core.state.maze.MazeEnvironment;
+import ru.rsreu.savushkin.mazerobot.core.state.maze.MazeState;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Реализация A* для сеточной среды {@link MazeEnvironment} с открытым списком в очереди корзин
+ * {@link BucketQueue} (очередь Дайала) вместо двоичной кучи.
+ * <p>Стоимости действий — небольшие целые числа (с рельефом не больше
+ * {@link MazeEnvironment#getMaxActionCost()}), а эвристика согласована, поэтому оценки f(n)
+ * извлекаемых узлов не убывают, а f(n) нового узла превышает f(n) раскрываемого не больше чем на
+ * стоимость действия плюс длину хода (2). Все оценки в очереди укладываются в окно такой ширины,
+ * и вставка и извлечение выполняются за O(1) вместо O(log n) у {@link GridAStarSolver}.</p>
+ * <p>Уменьшение ключа не поддерживается: улучшенный узел добавляется повторно, а при извлечении
+ * запись пропускается, если ее оценка не совпадает с текущей {@code g(n) + h(n)}. Внутри корзины
+ * узлы извлекаются в обратном порядке добавления, что при равных f(n) тоже продвигает поиск вглубь.
+ * Найденный путь имеет ту же стоимость, что и у {@link GridAStarSolver}.</p>
+ */
+public class BucketAStarSolver implements ProblemSolver {
+    private static final int UNREACHED = Integer.MAX_VALUE;
+    /** Наибольшее изменение эвристики за один ход (прыжок на две клетки). */
+    private static final int MAX_HEURISTIC_STEP = 2;
+
+    /**
+     * Ищет оптимальный путь от начального состояния до цели.
+     *
+     * @param env Среда (должна быть {@link MazeEnvironment}).
+     * @param startState Начальное состояние.
+     * @param stats Приемник статистики или {@code null}.
+     * @param <S> Тип состояния (должен быть MazeState).
+     * @return Список состояний, составляющих кратчайший путь, или пустой список, если путь не найден.
+     * @throws IllegalArgumentException если среда не является {@link MazeEnvironment}.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <S extends State> List<S> solve(Environment<S, ?> env, S startState, SearchStats stats) {
+        if (!(env instanceof MazeEnvironment mazeEnv) || !(startState instanceof MazeState start)) {
+            throw new IllegalArgumentException("BucketAStarSolver requires MazeEnvironment.");
+        }
+        long startTime = System.nanoTime();
+        if (!mazeEnv.isValid(start)) {
+            return stats == null ? Collections.emptyList() : stats.complete(env, Collections.emptyList(), startTime);
+        }
+
+        int cellCount = mazeEnv.getIndexedCellCount();
+        int width = mazeEnv.getMaze().getWidth();
+        MazeState goal = mazeEnv.getGoalState();
+        int goalX = goal.x();
+        int goalY = goal.y();
+        int startIndex = mazeEnv.indexOf(start);
+        int goalIndex = mazeEnv.indexOf(goal);
+
+        int[] gCosts = new int[cellCount];
+        int[] parents = new int[cellCount];
+        Arrays.fill(gCosts, UNREACHED);
+        int startF = heuristic(start.x(), start.y(), goalX, goalY);
+        BucketQueue open = new BucketQueue(mazeEnv.getMaxActionCost() + MAX_HEURISTIC_STEP, startF);
+
+        gCosts[startIndex] = 0;
+        parents[startIndex] = -1;
+        open.push(startIndex, startF);
+
+        List<MazeState> path = Collections.emptyList();
+        long expanded = 0;
+        long generated = 0;
+        long duplicates = 0;
+        int peakOpen = 1;
+        int reached = 1;
+        SearchObserver observer = stats != null ? stats.getObserver() : null;
+        ExpansionBatchEvent batch = ExpansionBatchEvent.start(getName());
+        while (!open.isEmpty()) {
+            int current = open.poll();
+            int currentG = gCosts[current];
+            int x = current % width;
+            int y = current / width;
+            // Устаревшая запись: узел уже добавлен повторно с меньшей оценкой.
+            if (currentG + heuristic(x, y, goalX, goalY) != open.getCurrentPriority()) continue;
+            if (current == goalIndex) {
+                path = extractPath(mazeEnv, parents, current);
+                break;
+            }
+
+            if ((++expanded & ExpansionBatchEvent.BATCH_MASK) == 0) {
+                batch = ExpansionBatchEvent.next(batch, expanded, open.size());
+                if (stats != null && stats.checkpoint(expanded, open.size())) {
+                    path = extractPath(mazeEnv, parents, current); // лучший частичный результат
+                    break;
+                }
+            }
+            if (observer != null) observer.expanded(x, y);
+            for (int action = 0; action < MazeEnvironment.ACTION_COUNT; action++) {
+                int next = mazeEnv.successorIndex(current, action);
+                if (next < 0) continue;
+
+                generated++;
+                int newG = currentG + mazeEnv.actionCost(current, action);
+                // Эвристика согласована, поэтому закрытые узлы никогда не улучшаются.
+                if (newG >= gCosts[next]) {
+                    duplicates++;
+                    continue;
+                }
+
+                if (gCosts[next] == UNREACHED) reached++;
+                gCosts[next] = newG;
+                parents[next] = current;
+                open.push(next, newG + heuristic(next % width, next / width, goalX, goalY));
+            }
+            peakOpen = Math.max(peakOpen, open.size());
+        }
+        ExpansionBatchEvent.end(batch, expanded, open.size());
+
+        if (stats != null) {
+            stats.addExpanded(expanded).addGenerated(generated).addDuplicates(duplicates).updatePeakOpen(peakOpen)
+                    .updatePeakClosed(reached).updateMaxDepth(ParentTree.maxDepth(parents, gCosts, UNREACHED))
+                    .complete(mazeEnv, path, startTime);
+        }
+        return (List<S>) path;
+    }
+
+    /**
+     * Эвристическая функция h(n): Манхэттенское расстояние.
+     *
+     * @param x Координата X клетки.
+     * @param y Координата Y клетки.
+     * @param goalX Координата X цели.
+     * @param goalY Координата Y цели.
+     * @return Эвристическая оценка расстояния до цели.
+     */
+    private static int heuristic(int x, int y, int goalX, int goalY) {
+        return Math.abs(x - goalX) + Math.abs(y - goalY);
+    }
+
+    /**
+     * Восстанавливает путь по массиву родителей.
+     *
+     * @param env Среда для декодирования индексов.
+     * @param parents Массив родителей.
+     * @param end Индекс целевой клетки.
+     * @return Список состояний от начала до цели.
+     */
+    private List<MazeState> extractPath(MazeEnvironment env, int[] parents, int end) {
+        List<MazeState> path = new ArrayList<>();
+        for (int curr = end; curr >= 0; curr = parents[curr]) {
+            path.add(env.stateOf(curr));
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    /**
+     * Решатель всегда возвращает кратчайший по стоимости действий путь.
+     * @return {@code true}.
+     */
+    @Override
+    public boolean isOptimal() {
+        return true;
+    }
+
+    /**
+     * Возвращает имя алгоритма для отображения в UI.
+     * @return Имя алгоритма.
+     */
+    @Override
+    public String getName() {
+        return "A* Search (Bucket Queue)";
+    }
+}
@@ -0,0 +1,352 @@
+package ru.rsreu.savushkin.mazerobot.core.solver.impl;
+
+import ru.rsreu.savushkin.mazerobot.core.entity.Event;
+import ru.rsreu.savushkin.mazerobot.core.entity.MazeChangeEvent;
+import ru.rsreu.savushkin.mazerobot.core.jfr.ExpansionBatchEvent;
+import ru.rsreu.savushkin.mazerobot.core.model.Listener;
+import ru.rsreu.savushkin.mazerobot.core.model.MazeModel;
+import ru.rsreu.savushkin.mazerobot.core.solver.ProblemSolver;
+import ru.rsreu.savushkin.mazerobot.core.solver.SearchObserver;
+import ru.rsreu.savushkin.mazerobot.core.solver.SearchStats;
+import ru.rsreu.savushkin.mazerobot.core.solver.engine.IndexedHeap;
+import ru.rsreu.savushkin.mazerobot.core.state.Environment;
+import ru.rsreu.savushkin.mazerobot.core.state.State;
+import ru.rsreu.savushkin.mazerobot.core.state.maze.MazeEnvironment;
+import ru.rsreu.savushkin.mazerobot.core.state.maze.MazeState;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Инкрементальный поиск пути D* Lite.
+ * <p>Поиск ведется от цели к роботу, а его состояние (g, rhs и открытый список) сохраняется между
+ * вызовами для одного лабиринта и одной цели. Решатель подписывается на {@link MazeChangeEvent}
+ * лабиринта и при следующем вызове пересчитывает только ячейки, чьи ребра изменились: саму
+ * измененную ячейку и ячейки на расстоянии 1–2 по прямой (прыжок через измененную ячейку тоже
+ * меняет стоимость). Так же обрабатывается изменение стоимости клетки (рельефа). Перемещение робота учитывается поправкой ключей k<sub>m</sub> без перестройки
+ * открытого списка.</p>
+ * <p>Эвристика (Манхэттенское расстояние) согласована, поэтому найденный путь оптимален, как у
+ * {@link AStarSolver}. Количество раскрытий последнего вызова доступно через
+ * {@link #getLastExpansions()}.</p>
+ */
+public class DStarLiteSolver implements ProblemSolver, Listener {
+    private static final int INF = Integer.MAX_VALUE / 4;
+    private static final int[] DX = {0, 0, 1, 2, 0, 0, -1, -2};
+    private static final int[] DY = {-1, -2, 0, 0, 1, 2, 0, 0};
+
+    private MazeModel maze;
+    private int width;
+    private int height;
+    private int goal;
+    private int last;
+    private int keyModifier;
+    private int[] g;
+    private int[] rhs;
+    private IndexedHeap open;
+    private final List<Integer> changedCells = new ArrayList<>();
+    private long seenVersion;
+    private int lastExpansions;
+    private long lastUpdates;
+    private long lastConsistent;
+    private int lastPeakOpen;
+
+    /**
+     * Ищет оптимальный путь, переиспользуя результаты предыдущих вызовов для того же лабиринта.
+     *
+     * @param env Среда (должна быть {@link MazeEnvironment}).
+     * @param startState Текущее положение робота.
+     * @param stats Приемник статистики или {@code null}. Учитывается только работа этого вызова;
+     *              сгенерированными считаются пересчеты rhs, дубликатами — пересчеты, после которых
+     *              ячейка осталась согласованной.
+     * @param <S> Тип состояния (должен быть MazeState).
+     * @return Список состояний, составляющих кратчайший путь, или пустой список, если путь не найден.
+     * @throws IllegalArgumentException если среда не является {@link MazeEnvironment}.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public synchronized <S extends State> List<S> solve(Environment<S, ?> env, S startState, SearchStats stats) {
+        if (!(env instanceof MazeEnvironment mazeEnv) || !(startState instanceof MazeState start)) {
+            throw new IllegalArgumentException("DStarLiteSolver requires MazeEnvironment.");
+        }
+        long startTime = System.nanoTime();
+        MazeModel envMaze = mazeEnv.getMaze();
+        int goalIndex = mazeEnv.indexOf(mazeEnv.getGoalState());
+        int startIndex = mazeEnv.indexOf(start);
+        lastExpansions = 0;
+        lastUpdates = 0;
+        lastConsistent = 0;
+        lastPeakOpen = 0;
+
+        if (envMaze != maze || goalIndex != goal
+                || envMaze.getVersion() - seenVersion != changedCells.size()) {
+            initialize(mazeEnv, goalIndex, startIndex);
+        } else {
+            keyModifier += heuristic(last, startIndex);
+            last = startIndex;
+            for (int cell : changedCells) {
+                updateVertex(cell);
+                for (int action = 0; action < DX.length; action++) {
+                    int neighbor = neighbor(cell, action);
+                    if (neighbor >= 0) updateVertex(neighbor);
+                }
+            }
+        }
+        changedCells.clear();
+        seenVersion = envMaze.getVersion();
+
+        List<MazeState> path = Collections.emptyList();
+        if (!maze.isWall(start.x(), start.y())) {
+            // Обратный поиск не дает частичного пути от робота, поэтому при остановке путь пустой.
+            if (!computeShortestPath(startIndex, stats)) path = extractPath(startIndex);
+        }
+        if (stats != null) {
+            stats.addExpanded(lastExpansions).addGenerated(lastUpdates).addDuplicates(lastConsistent)
+                    .updatePeakOpen(Math.max(lastPeakOpen, open.size())).updatePeakClosed(countReached())
+                    .complete(mazeEnv, path, startTime);
+        }
+        return (List<S>) path;
+    }
+
+    /**
+     * Подсчитывает ячейки с известным расстоянием до цели. Вызывается только при сборе статистики.
+     * @return Количество ячеек с конечным g.
+     */
+    private int countReached() {
+        int reached = 0;
+        for (int value : g) {
+            if (value < INF) reached++;
+        }
+        return reached;
+    }
+
+    /**
+     * Сбрасывает состояние поиска для нового лабиринта или новой цели.
+     *
+     * @param env Среда.
+     * @param goalIndex Индекс цели.
+     * @param startIndex Индекс текущего положения робота.
+     */
+    private void initialize(MazeEnvironment env, int goalIndex, int startIndex) {
+        if (maze != env.getMaze()) {
+            if (maze != null) maze.removeListener(this);
+            maze = env.getMaze();
+            maze.addListener(this);
+        }
+        width = maze.getWidth();
+        height = maze.getHeight();
+        int cellCount = env.getIndexedCellCount();
+        g = new int[cellCount];
+        rhs = new int[cellCount];
+        open = new IndexedHeap(cellCount);
+        Arrays.fill(g, INF);
+        Arrays.fill(rhs, INF);
+        goal = goalIndex;
+        last = startIndex;
+        keyModifier = 0;
+        updateVertex(goal);
+    }
+
+    /**
+     * Запоминает измененную ячейку; пересчет выполняется при следующем вызове {@link #solve}.
+     *
+     * @param event Событие модели.
+     */
+    @Override
+    public synchronized void handle(Event event) {
+        if (event instanceof MazeChangeEvent change) {
+            changedCells.add(change.getY() * width + change.getX());
+        }
+    }
+
+    /**
+     * Основной цикл D* Lite: раскрывает узлы, пока положение робота не станет согласованным
+     * и его ключ не окажется меньше минимального ключа открытого списка.
+     *
+     * <p>При остановке через {@link SearchStats#checkpoint} открытый список сохраняется, и следующий
+     * вызов продолжает вычисление с того же места.</p>
+     *
+     * @param start Индекс текущего положения робота.
+     * @param stats Статистика с управлением поиском или {@code null}.
+     * @return {@code true}, если вычисление остановлено досрочно.
+     */
+    private boolean computeShortestPath(int start, SearchStats stats) {
+        SearchObserver observer = stats != null ? stats.getObserver() : null;
+        ExpansionBatchEvent batch = ExpansionBatchEvent.start(getName());
+        while (!open.isEmpty() && (open.peekKey() < key(start, start) || rhs[start] != g[start])) {
+            int u = open.peek();
+            long oldKey = open.peekKey();
+            long newKey = key(u, start);
+            if ((++lastExpansions & ExpansionBatchEvent.BATCH_MASK) == 0) {
+                batch = ExpansionBatchEvent.next(batch, lastExpansions, open.size());
+                if (stats != null && stats.checkpoint(lastExpansions, open.size())) {
+                    ExpansionBatchEvent.end(batch, lastExpansions, open.size());
+                    return true;
+                }
+            }
+            lastPeakOpen = Math.max(lastPeakOpen, open.size());
+            if (oldKey < newKey) {
+                open.push(u, newKey);
+            } else if (g[u] > rhs[u]) {
+                g[u] = rhs[u];
+                open.poll();
+                updateNeighbors(u);
+                if (observer != null) observer.expanded(u % width, u / width);
+            } else {
+                g[u] = INF;
+                updateVertex(u);
+                updateNeighbors(u);
+                if (observer != null) observer.expanded(u % width, u / width);
+            }
+        }
+        ExpansionBatchEvent.end(batch, lastExpansions, open.size());
+        return false;
+    }
+
+    private void updateNeighbors(int cell) {
+        for (int action = 0; action < DX.length; action++) {
+            int neighbor = neighbor(cell, action);
+            if (neighbor >= 0) updateVertex(neighbor);
+        }
+    }
+
+    /**
+     * Пересчитывает rhs ячейки по ее соседям и обновляет ее положение в открытом списке.
+     *
+     * @param u Индекс ячейки.
+     */
+    private void updateVertex(int u) {
+        if (u == goal) {
+            rhs[u] = isWall(u) ? INF : 0;
+        } else {
+            int best = INF;
+            if (!isWall(u)) {
+                for (int action = 0; action < DX.length; action++) {
+                    int cost = edgeCost(u, action);
+                    if (cost < 0) continue;
+                    int next = neighbor(u, action);
+                    best = Math.min(best, cost + g[next]);
+                }
+            }
+            rhs[u] = Math.min(best, INF);
+        }
+        lastUpdates++;
+        if (open.contains(u)) open.remove(u);
+        if (g[u] != rhs[u]) {
+            open.push(u, key(u, last));
+        } else {
+            lastConsistent++;
+        }
+    }
+
+    /**
+     * Восстанавливает путь от робота к цели, переходя к соседу с минимальной суммой
+     * стоимости действия и g(n).
+     *
+     * @param start Индекс текущего положения робота.
+     * @return Путь или пустой список.
+     */
+    private List<MazeState> extractPath(int start) {
+        if (g[start] >= INF) return Collections.emptyList();
+        List<MazeState> path = new ArrayList<>();
+        path.add(new MazeState(start % width, start / width));
+        int current = start;
+        while (current != goal) {
+            int bestNext = -1;
+            int bestCost = INF;
+            for (int action = 0; action < DX.length; action++) {
+                int cost = edgeCost(current, action);
+                if (cost < 0) continue;
+                int next = neighbor(current, action);
+                if (cost + g[next] < bestCost) {
+                    bestCost = cost + g[next];
+                    bestNext = next;
+                }
+            }
+            if (bestNext < 0 || path.size() > g.length) return Collections.emptyList();
+            current = bestNext;
+            path.add(new MazeState(current % width, current / width));
+        }
+        return path;
+    }
+
+    /**
+     * Возвращает соседнюю ячейку по действию без проверки стен.
+     *
+     * @param cell Индекс ячейки.
+     * @param action Номер действия в порядке {@code MoveAction.ALL}.
+     * @return Индекс соседа или {@code -1}, если он вне границ.
+     */
+    private int neighbor(int cell, int action) {
+        int x = cell % width + DX[action];
+        int y = cell / width + DY[action];
+        if (x < 0 || y < 0 || x >= width || y >= height) return -1;
+        return y * width + x;
+    }
+
+    /**
+     * Возвращает стоимость действия из проходимой ячейки с учетом текущих стен.
+     *
+     * @param cell Индекс ячейки.
+     * @param action Номер действия.
+     * @return Стоимость (стоимость целевой клетки для шага, сумма стоимостей промежуточной и целевой
+     * клеток для прыжка) или {@code -1}, если действие невозможно.
+     */
+    private int edgeCost(int cell, int action) {
+        int x = cell % width;
+        int y = cell / width;
+        boolean jump = (action & 1) != 0;
+        if (jump && maze.isWall(x + DX[action] / 2, y + DY[action] / 2)) return -1;
+        if (maze.isWall(x + DX[action], y + DY[action])) return -1;
+        int cost = maze.getTerrainCost(x + DX[action], y + DY[action]);
+        return jump ? cost + maze.getTerrainCost(x + DX[action] / 2, y + DY[action] / 2) : cost;
+    }
+
+    private boolean isWall(int cell) {
+        return maze.isWall(cell % width, cell / width);
+    }
+
+    /**
+     * Формирует ключ D* Lite: k1 = min(g, rhs) + h + k<sub>m</sub> в старших битах, k2 = min(g, rhs) в младших.
+     *
+     * @param cell Индекс ячейки.
+     * @param start Индекс текущего положения робота.
+     * @return Ключ для {@link IndexedHeap}.
+     */
+    private long key(int cell, int start) {
+        int k2 = Math.min(g[cell], rhs[cell]);
+        long k1 = (long) k2 + heuristic(start, cell) + keyModifier;
+        return (k1 << 32) | k2;
+    }
+
+    private int heuristic(int a, int b) {
+        return Math.abs(a % width - b % width) + Math.abs(a / width - b / width);
+    }
+
+    /**
+     * Возвращает количество раскрытий в последнем вызове {@link #solve}.
+     * @return Количество раскрытых узлов.
+     */
+    public synchronized int getLastExpansions() {
+        return lastExpansions;
+    }
+
+    /**
+     * Решатель всегда возвращает кратчайший по стоимости действий путь.
+     * @return {@code true}.
+     */
+    @Override
+    public boolean isOptimal() {
+        return true;
+    }
+
+    /**
+     * Возвращает имя алгоритма для отображения в UI.
+     * @return Имя алгоритма.
+     */
+    @Override
+    public String getName() {
+        return "D* Lite (Incremental)";
+    }
+}
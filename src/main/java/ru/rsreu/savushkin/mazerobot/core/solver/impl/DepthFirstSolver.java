@@ -1,93 +1,282 @@
 package ru.rsreu.savushkin.mazerobot.core.solver.impl;
 
+import ru.rsreu.savushkin.mazerobot.core.jfr.ExpansionBatchEvent;
 import ru.rsreu.savushkin.mazerobot.core.solver.ProblemSolver;
-import ru.rsreu.savushkin.mazerobot.core.solver.engine.Situation;
-import ru.rsreu.savushkin.mazerobot.core.state.Action;
+import ru.rsreu.savushkin.mazerobot.core.solver.SearchObserver;
+import ru.rsreu.savushkin.mazerobot.core.solver.SearchStats;
 import ru.rsreu.savushkin.mazerobot.core.state.Environment;
 import ru.rsreu.savushkin.mazerobot.core.state.State;
+import ru.rsreu.savushkin.mazerobot.core.state.maze.MazeEnvironment;
+import ru.rsreu.savushkin.mazerobot.core.state.maze.MazeState;
 
 import java.util.*;
 
 /**
  * Реализация алгоритма Поиска в глубину (Depth-First Search, DFS).
- * <p>Использует стратегию поиска на дереве (Tree Search) с рекурсивным обходом
- * и ограничением максимальной глубины для предотвращения бесконечных циклов.</p>
+ * <p>Поиск итеративный: вместо рекурсии используется явный стек, поэтому длина пути ограничена
+ * только памятью, а не размером стека потока. Содержимое стека в любой момент — это текущий путь
+ * от старта.</p>
+ * <p>Поддерживаются два режима ({@link Mode}):</p>
+ * <ul>
+ *     <li>{@link Mode#GRAPH} — поиск на графе: каждое состояние посещается не более одного раза,
+ *     время работы линейно по числу состояний;</li>
+ *     <li>{@link Mode#TREE} — поиск на дереве: запрещены только циклы в текущей ветке, поэтому
+ *     одни и те же клетки могут исследоваться повторно через разные ветки. Перебираются простые
+ *     пути, и время работы растет экспоненциально (например, если цель недостижима), поэтому по
+ *     умолчанию глубина ограничена {@value #DEFAULT_TREE_MAX_DEPTH} действиями, а в
+ *     {@code PathFindingManager} этот режим не регистрируется.</li>
+ * </ul>
+ * <p>Для {@link MazeEnvironment} стек хранится в примитивных массивах, а посещенные клетки —
+ * в битовом множестве; для остальных сред используются коллекции.</p>
  */
 public class DepthFirstSolver implements ProblemSolver {
-    private static final int MAX_DEPTH_LIMIT = 500;
+    /**
+     * Режим поиска в глубину.
+     */
+    public enum Mode {
+        /** Поиск на графе с множеством посещенных состояний. */
+        GRAPH,
+        /** Поиск на дереве с проверкой циклов только в текущей ветке. */
+        TREE
+    }
+
+    /** Ограничение глубины по умолчанию для режима {@link Mode#TREE}. */
+    public static final int DEFAULT_TREE_MAX_DEPTH = 500;
+    private static final int INITIAL_STACK_SIZE = 64;
+
+    private final Mode mode;
+    private final int maxDepth;
+
+    /**
+     * Создает решатель DFS на графе (линейное время, без ограничения глубины).
+     */
+    public DepthFirstSolver() {
+        this(Mode.GRAPH);
+    }
+
+    /**
+     * Создает решатель DFS в заданном режиме. Поиск на графе не ограничен по глубине, поиск на
+     * дереве ограничен {@value #DEFAULT_TREE_MAX_DEPTH} действиями.
+     *
+     * @param mode Режим поиска.
+     */
+    public DepthFirstSolver(Mode mode) {
+        this(mode, mode == Mode.TREE ? DEFAULT_TREE_MAX_DEPTH : Integer.MAX_VALUE);
+    }
+
+    /**
+     * Создает решатель DFS в заданном режиме с ограничением глубины.
+     *
+     * @param mode Режим поиска.
+     * @param maxDepth Максимальное количество действий в пути.
+     */
+    public DepthFirstSolver(Mode mode, int maxDepth) {
+        if (mode == null) throw new IllegalArgumentException("Mode cannot be null");
+        if (maxDepth < 0) throw new IllegalArgumentException("Depth limit cannot be negative");
+        this.mode = mode;
+        this.maxDepth = maxDepth;
+    }
 
     /**
      * Ищет путь от начального состояния до цели с помощью DFS.
      *
      * @param env Среда (лабиринт), в которой происходит поиск.
      * @param startState Начальное состояние.
+     * @param stats Приемник статистики или {@code null}. Раскрытыми считаются состояния, помещенные
+     *              в стек; в режиме {@link Mode#TREE} одно состояние может раскрываться несколько раз.
      * @param <S> Тип состояния.
      * @return Список состояний, составляющих найденный путь, или пустой список, если путь не найден.
      */
     @Override
-    public <S extends State> List<S> solve(Environment<S, ?> env, S startState) {
+    @SuppressWarnings("unchecked")
+    public <S extends State> List<S> solve(Environment<S, ?> env, S startState, SearchStats stats) {
         if (env == null || startState == null) throw new IllegalArgumentException("Arguments cannot be null");
+        long startTime = System.nanoTime();
 
-        // Стоимость пути g(n)=0.0 для корневого узла
-        Situation<S> root = new Situation<>(startState, null, null, 0, 0.0);
+        List<S> path = env instanceof MazeEnvironment mazeEnv && startState instanceof MazeState start
+                ? (List<S>) searchGrid(mazeEnv, start, stats)
+                : searchGeneric(env, startState, stats);
+        if (stats != null) stats.complete(env, path, startTime);
+        return path;
+    }
 
-        Situation<S> result = recursiveSearch(env, root);
+    /**
+     * Итеративный DFS на сетке лабиринта.
+     * <p>Стек хранит индексы клеток и номер следующего действия для каждой клетки.
+     * В режиме {@link Mode#GRAPH} бит клетки никогда не сбрасывается (множество посещенных),
+     * в режиме {@link Mode#TREE} сбрасывается при возврате (множество клеток текущего пути).</p>
+     *
+     * @param env Среда лабиринта.
+     * @param start Начальное состояние.
+     * @param stats Приемник статистики или {@code null}.
+     * @return Найденный путь или пустой список.
+     */
+    private List<MazeState> searchGrid(MazeEnvironment env, MazeState start, SearchStats stats) {
+        int cellCount = env.getIndexedCellCount();
+        int goal = env.indexOf(env.getGoalState());
+        long[] marked = new long[(cellCount + 63) >>> 6];
+        int[] cells = new int[INITIAL_STACK_SIZE];
+        byte[] nextAction = new byte[INITIAL_STACK_SIZE];
+
+        int startIndex = env.indexOf(start);
+        int top = 0;
+        cells[0] = startIndex;
+        marked[startIndex >>> 6] |= 1L << startIndex;
+
+        List<MazeState> path = Collections.emptyList();
+        long expanded = 1;
+        long generated = 0;
+        long duplicates = 0;
+        int peakTop = 0;
+        int width = env.getMaze().getWidth();
+        SearchObserver observer = stats != null ? stats.getObserver() : null;
+        ExpansionBatchEvent batch = ExpansionBatchEvent.start(getName());
+        while (top >= 0) {
+            int cell = cells[top];
+            if (cell == goal) {
+                path = new ArrayList<>(top + 1);
+                for (int i = 0; i <= top; i++) path.add(env.stateOf(cells[i]));
+                break;
+            }
+
+            int next = -1;
+            if (top < maxDepth) {
+                int action = nextAction[top];
+                while (action < MazeEnvironment.ACTION_COUNT) {
+                    int candidate = env.successorIndex(cell, action++);
+                    if (candidate < 0) continue;
+                    generated++;
+                    if ((marked[candidate >>> 6] & (1L << candidate)) == 0) {
+                        next = candidate;
+                        break;
+                    }
+                    duplicates++;
+                }
+                nextAction[top] = (byte) action;
+            }
 
-        return result != null ? extractPath(result) : Collections.emptyList();
+            if (next >= 0) {
+                if (++top == cells.length) {
+                    cells = Arrays.copyOf(cells, top * 2);
+                    nextAction = Arrays.copyOf(nextAction, top * 2);
+                }
+                cells[top] = next;
+                nextAction[top] = 0;
+                marked[next >>> 6] |= 1L << next;
+                if (observer != null) observer.expanded(next % width, next / width);
+                if ((++expanded & ExpansionBatchEvent.BATCH_MASK) == 0) {
+                    batch = ExpansionBatchEvent.next(batch, expanded, top + 1);
+                    if (stats != null && stats.checkpoint(expanded, top + 1)) {
+                        path = new ArrayList<>(top + 1); // текущая ветка — частичный путь
+                        for (int i = 0; i <= top; i++) path.add(env.stateOf(cells[i]));
+                        break;
+                    }
+                }
+                peakTop = Math.max(peakTop, top);
+            } else {
+                // Все ходы исчерпаны: возвращаемся к предыдущей клетке.
+                if (mode == Mode.TREE) marked[cell >>> 6] &= ~(1L << cell);
+                top--;
+            }
+        }
+
+        ExpansionBatchEvent.end(batch, expanded, top + 1);
+
+        if (stats != null) {
+            // В режиме GRAPH отметки не снимаются, в режиме TREE отмечен только текущий путь.
+            stats.addExpanded(expanded).addGenerated(generated).addDuplicates(duplicates)
+                    .updatePeakOpen(peakTop + 1).updatePeakClosed(mode == Mode.GRAPH ? expanded : peakTop + 1)
+                    .updateMaxDepth(peakTop);
+        }
+        return path;
     }
 
     /**
-     * Рекурсивная функция для выполнения поиска в глубину.
+     * Итеративный DFS для произвольной среды.
      *
      * @param env Среда.
-     * @param current Текущий узел (ситуация).
+     * @param startState Начальное состояние.
+     * @param stats Приемник статистики или {@code null}.
      * @param <S> Тип состояния.
-     * @return Целевой узел, если найден, или {@code null}.
+     * @return Найденный путь или пустой список.
      */
-    private <S extends State> Situation<S> recursiveSearch(Environment<S, ?> env, Situation<S> current) {
-        if (env.isGoal(current.getState())) return current;
-        if (current.getDepth() >= MAX_DEPTH_LIMIT) return null;
-
-        List<? extends Action> actions = env.getPossibleActions(current.getState());
+    private <S extends State> List<S> searchGeneric(Environment<S, ?> env, S startState, SearchStats stats) {
+        Deque<Frame<S>> stack = new ArrayDeque<>();
+        Set<S> marked = new HashSet<>();
 
-        for (Action action : actions) {
-            S nextState = env.applyAction(current.getState(), action);
+        stack.push(new Frame<>(env, startState));
+        marked.add(startState);
 
-            double newGCost = current.getGCost() + 1.0;
-
-            // Проверка на валидность, цикл и отсутствие стояния на месте
-            if (env.isValid(nextState) && !current.hasLoop(nextState) && !nextState.equals(current.getState())) {
+        List<S> path = Collections.emptyList();
+        long expanded = 1;
+        long generated = 0;
+        long duplicates = 0;
+        int peakStack = 1;
+        int peakMarked = 1;
+        SearchObserver observer = stats != null ? stats.getObserver() : null;
+        while (!stack.isEmpty()) {
+            Frame<S> frame = stack.peek();
+            if (env.isGoal(frame.state)) {
+                List<S> found = new ArrayList<>(stack.size());
+                stack.descendingIterator().forEachRemaining(f -> found.add(f.state));
+                path = found;
+                break;
+            }
 
-                Situation<S> nextSituation = new Situation<>(
-                        nextState,
-                        current,
-                        action,
-                        current.getDepth() + 1,
-                        newGCost
-                );
+            S next = null;
+            if (stack.size() <= maxDepth) {
+                while (frame.nextSuccessor < frame.successors.size()) {
+                    S candidate = frame.successors.get(frame.nextSuccessor++);
+                    generated++;
+                    if (!marked.contains(candidate)) {
+                        next = candidate;
+                        break;
+                    }
+                    duplicates++;
+                }
+            }
 
-                Situation<S> res = recursiveSearch(env, nextSituation);
-                if (res != null) return res;
+            if (next != null) {
+                marked.add(next);
+                stack.push(new Frame<>(env, next));
+                if (observer != null) observer.expanded(next);
+                if ((++expanded & ExpansionBatchEvent.BATCH_MASK) == 0
+                        && stats != null && stats.checkpoint(expanded, stack.size())) {
+                    List<S> partial = new ArrayList<>(stack.size()); // текущая ветка — частичный путь
+                    stack.descendingIterator().forEachRemaining(f -> partial.add(f.state));
+                    path = partial;
+                    break;
+                }
+                peakStack = Math.max(peakStack, stack.size());
+                peakMarked = Math.max(peakMarked, marked.size());
+            } else {
+                if (mode == Mode.TREE) marked.remove(frame.state);
+                stack.pop();
             }
         }
-        return null;
+
+        if (stats != null) {
+            stats.addExpanded(expanded).addGenerated(generated).addDuplicates(duplicates)
+                    .updatePeakOpen(peakStack).updatePeakClosed(peakMarked).updateMaxDepth(peakStack - 1);
+        }
+        return path;
     }
 
     /**
-     * Восстанавливает путь, начиная с целевого узла, по ссылкам на родительские узлы.
+     * Кадр явного стека DFS: состояние, его валидные преемники в порядке перебора
+     * и номер следующего проверяемого преемника.
      *
-     * @param end Узел целевого состояния.
      * @param <S> Тип состояния.
-     * @return Список состояний, формирующих путь.
      */
-    private <S extends State> List<S> extractPath(Situation<S> end) {
-        LinkedList<S> path = new LinkedList<>();
-        Situation<S> curr = end;
-        while (curr != null) {
-            path.addFirst(curr.getState());
-            curr = curr.getParent();
+    private static final class Frame<S extends State> {
+        private final S state;
+        private final List<S> successors = new ArrayList<>();
+        private int nextSuccessor;
+
+        private Frame(Environment<S, ?> env, S state) {
+            this.state = state;
+            env.forEachSuccessor(state, (action, next, cost) -> successors.add(next));
         }
-        return path;
     }
 
     /**
@@ -96,6 +285,6 @@ public class DepthFirstSolver implements ProblemSolver {
      */
     @Override
     public String getName() {
-        return "Depth-First Search (Tree DFS)";
+        return mode == Mode.GRAPH ? "Depth-First Search (Graph DFS)" : "Depth-First Search (Tree DFS)";
     }
-}
\ No newline at end of file
+}
@@ -1,9 +1,15 @@
 package ru.rsreu.savushkin.mazerobot.core.solver.impl;
 
+import ru.rsreu.savushkin.mazerobot.core.jfr.ExpansionBatchEvent;
 import ru.rsreu.savushkin.mazerobot.core.solver.ProblemSolver;
+import ru.rsreu.savushkin.mazerobot.core.solver.SearchObserver;
+import ru.rsreu.savushkin.mazerobot.core.solver.SearchStats;
+import ru.rsreu.savushkin.mazerobot.core.solver.engine.DistanceField;
 import ru.rsreu.savushkin.mazerobot.core.solver.engine.Situation;
 import ru.rsreu.savushkin.mazerobot.core.state.Environment;
 import ru.rsreu.savushkin.mazerobot.core.state.State;
+import ru.rsreu.savushkin.mazerobot.core.state.SuccessorVisitor;
+import ru.rsreu.savushkin.mazerobot.core.state.maze.MazeEnvironment;
 import ru.rsreu.savushkin.mazerobot.core.state.maze.MazeState;
 import ru.rsreu.savushkin.mazerobot.core.state.maze.MoveAction;
 
@@ -13,24 +19,77 @@ import java.util.*;
  * Реализация алгоритма жадного поиска по первому наилучшему совпадению (Greedy Best-First Search).
  * <p>Использует только эвристическую функцию h(n) (градиент) для выбора следующего узла,
  * игнорируя фактическую стоимость g(n). Это быстрый, но неоптимальный алгоритм.</p>
+ * <p>В режиме {@link Mode#DISTANCE_FIELD} решатель спускается по настоящему градиенту — полю
+ * расстояний до цели ({@link DistanceField}). Поле строится один раз и переиспользуется для любого
+ * старта, пока не изменятся лабиринт или цель; путь в этом режиме оптимален.</p>
  */
 public class GradientSolver implements ProblemSolver {
 
+    /**
+     * Режим работы решателя.
+     */
+    public enum Mode {
+        /** Жадный поиск по Манхэттенскому расстоянию. */
+        GREEDY,
+        /** Спуск по полю расстояний до цели. */
+        DISTANCE_FIELD
+    }
+
+    private final Mode mode;
+    private volatile DistanceField field;
+
+    /**
+     * Создает решатель в жадном режиме.
+     */
+    public GradientSolver() {
+        this(Mode.GREEDY);
+    }
+
+    /**
+     * Создает решатель в заданном режиме.
+     *
+     * @param mode Режим работы.
+     */
+    public GradientSolver(Mode mode) {
+        if (mode == null) throw new IllegalArgumentException("Mode cannot be null");
+        this.mode = mode;
+    }
+
     /**
      * Решает задачу поиска пути в лабиринте с использованием жадного градиентного алгоритма.
      *
      * @param <S> тип состояния
      * @param env среда выполнения с информацией о лабиринте
      * @param startState начальное состояние
+     * @param stats приемник статистики или {@code null}; в режиме поля расстояний учитывается работа
+     *              по построению поля, если оно строилось в этом запуске
      * @return список состояний, представляющий путь от начала до цели, или пустой список если путь не найден
      * @throws IllegalArgumentException если переданное состояние не является MazeState
      */
     @Override
-    public <S extends State> List<S> solve(Environment<S, ?> env, S startState) {
+    public <S extends State> List<S> solve(Environment<S, ?> env, S startState, SearchStats stats) {
         // Проверка типа входных данных
         if (!(startState instanceof MazeState)) {
             throw new IllegalArgumentException("GradientSolver requires MazeState environment.");
         }
+        long startTime = System.nanoTime();
+
+        if (mode == Mode.DISTANCE_FIELD) {
+            if (!(env instanceof MazeEnvironment mazeEnvironment)) {
+                throw new IllegalArgumentException("GradientSolver distance field mode requires MazeEnvironment.");
+            }
+            DistanceField previous = field;
+            DistanceField current = fieldFor(mazeEnvironment);
+            List<MazeState> path = current.pathFrom((MazeState) startState);
+            if (stats != null) {
+                if (current != previous) current.addBuildStats(stats);
+                stats.complete(mazeEnvironment, path, startTime);
+            }
+            // Состояния среды — MazeState (проверено выше), поэтому приведение безопасно.
+            @SuppressWarnings("unchecked")
+            List<S> result = (List<S>) path;
+            return result;
+        }
 
         // Приведение типов для работы с лабиринтом
         Environment<MazeState, MoveAction> mazeEnv = (Environment<MazeState, MoveAction>) env;
@@ -47,42 +106,114 @@ public class GradientSolver implements ProblemSolver {
         openSet.add(root);
         closedSet.add(start);
 
+        Expander expander = new Expander(mazeEnv, openSet, closedSet);
+        List<MazeState> path = Collections.emptyList(); // Путь не найден
+        long expanded = 0;
+        int peakOpen = 1;
+
         // Основной цикл поиска
+        SearchObserver observer = stats != null ? stats.getObserver() : null;
+        ExpansionBatchEvent batch = ExpansionBatchEvent.start(getName());
         while (!openSet.isEmpty()) {
             Situation<MazeState> current = openSet.poll();
             MazeState currentState = current.getState();
 
             // Проверка достижения цели
             if (mazeEnv.isGoal(currentState)) {
-                return (List<S>) extractPath(current);
+                path = extractPath(current);
+                break;
             }
 
-            // Обработка возможных ходов
-            for (var action : mazeEnv.getPossibleActions(currentState)) {
-                MazeState nextState = mazeEnv.applyAction(currentState, action);
-
-                // Пропуск невалидных или уже посещенных состояний
-                if (!mazeEnv.isValid(nextState) || nextState.equals(currentState) || closedSet.contains(nextState)) {
-                    continue;
+            // Обработка валидных ходов
+            expander.current = current;
+            mazeEnv.forEachSuccessor(currentState, expander);
+            if (observer != null) observer.expanded(currentState.x(), currentState.y());
+            if ((++expanded & ExpansionBatchEvent.BATCH_MASK) == 0) {
+                batch = ExpansionBatchEvent.next(batch, expanded, openSet.size());
+                if (stats != null && stats.checkpoint(expanded, openSet.size())) {
+                    path = extractPath(current); // лучший частичный результат
+                    break;
                 }
+            }
+            peakOpen = Math.max(peakOpen, openSet.size());
+        }
+        ExpansionBatchEvent.end(batch, expanded, openSet.size());
 
-                // Создание новой ситуации
-                Situation<MazeState> nextSituation = new Situation<>(
-                        nextState, current, action, current.getDepth() + 1, 0.0
-                );
-
-                // Вычисление эвристики и добавление в очередь
-                double hCost = heuristicEval(mazeEnv, nextState);
-                nextSituation.setFCost(hCost);
+        if (stats != null) {
+            stats.addExpanded(expanded).addGenerated(expander.generated).addDuplicates(expander.duplicates)
+                    .updatePeakOpen(peakOpen).updatePeakClosed(closedSet.size()).updateMaxDepth(expander.maxDepth)
+                    .complete(mazeEnv, path, startTime);
+        }
+        return (List<S>) path;
+    }
 
-                closedSet.add(nextState);
-                openSet.add(nextSituation);
+    /**
+     * Возвращает поле расстояний для среды, перестраивая его после изменения лабиринта или цели.
+     *
+     * @param env Среда лабиринта.
+     * @return Актуальное поле расстояний.
+     */
+    private DistanceField fieldFor(MazeEnvironment env) {
+        DistanceField current = field;
+        if (current != null && current.isValidFor(env)) return current;
+        synchronized (this) {
+            if (field == null || !field.isValidFor(env)) {
+                field = new DistanceField(env);
             }
+            return field;
+        }
+    }
+
+    /**
+     * Возвращает последнее построенное поле расстояний.
+     * @return Поле или {@code null}, если решатель не работал в режиме поля расстояний.
+     */
+    public DistanceField getDistanceField() {
+        return field;
+    }
+
+    /**
+     * Посетитель преемников для жадного поиска: добавляет в очередь непосещенные состояния
+     * с приоритетом по эвристике. Один экземпляр используется на весь поиск.
+     */
+    private final class Expander implements SuccessorVisitor<MazeState, MoveAction> {
+        private final Environment<MazeState, MoveAction> env;
+        private final PriorityQueue<Situation<MazeState>> openSet;
+        private final Set<MazeState> closedSet;
+        private Situation<MazeState> current;
+        private long generated;
+        private long duplicates;
+        private int maxDepth;
+
+        private Expander(Environment<MazeState, MoveAction> env,
+                         PriorityQueue<Situation<MazeState>> openSet, Set<MazeState> closedSet) {
+            this.env = env;
+            this.openSet = openSet;
+            this.closedSet = closedSet;
         }
 
-        // Путь не найден
-        return Collections.emptyList();
+        @Override
+        public boolean visit(MoveAction action, MazeState nextState, double cost) {
+            generated++;
+            // Пропуск уже посещенных состояний
+            if (!closedSet.add(nextState)) {
+                duplicates++;
+                return true;
+            }
+            maxDepth = Math.max(maxDepth, current.getDepth() + 1);
+
+            // Создание новой ситуации
+            Situation<MazeState> nextSituation = new Situation<>(
+                    nextState, current, action, current.getDepth() + 1, 0.0
+            );
+
+            // Вычисление эвристики и добавление в очередь
+            nextSituation.setFCost(heuristicEval(env, nextState));
+            openSet.add(nextSituation);
+            return true;
+        }
     }
+
     /**
      * Вычисляет эвристическую оценку расстояния до цели с использованием манхэттенского расстояния.
      *
@@ -119,6 +250,15 @@ public class GradientSolver implements ProblemSolver {
      */
     @Override
     public String getName() {
-        return "Gradient Search";
+        return mode == Mode.DISTANCE_FIELD ? "Gradient Search (Distance Field)" : "Gradient Search";
+    }
+
+    /**
+     * В режиме поля расстояний путь всегда оптимален по стоимости действий.
+     * @return {@code true} для режима {@link Mode#DISTANCE_FIELD}.
+     */
+    @Override
+    public boolean isOptimal() {
+        return mode == Mode.DISTANCE_FIELD;
     }
 }
\ No newline at end of file
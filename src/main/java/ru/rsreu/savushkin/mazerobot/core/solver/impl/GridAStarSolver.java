@@ -0,0 +1,182 @@
+package ru.rsreu.savushkin.mazerobot.core.solver.impl;
+
+import ru.rsreu.savushkin.mazerobot.core.jfr.ExpansionBatchEvent;
+import ru.rsreu.savushkin.mazerobot.core.solver.ProblemSolver;
+import ru.rsreu.savushkin.mazerobot.core.solver.SearchObserver;
+import ru.rsreu.savushkin.mazerobot.core.solver.SearchStats;
+import ru.rsreu.savushkin.mazerobot.core.solver.engine.IndexedHeap;
+import ru.rsreu.savushkin.mazerobot.core.solver.engine.ParentTree;
+import ru.rsreu.savushkin.mazerobot.core.state.Environment;
+import ru.rsreu.savushkin.mazerobot.core.state.State;
+import ru.rsreu.savushkin.mazerobot.core.state.maze.MazeEnvironment;
+import ru.rsreu.savushkin.mazerobot.core.state.maze.MazeState;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Реализация A* для сеточной среды {@link MazeEnvironment} на примитивных массивах.
+ * <p>Каждая клетка кодируется индексом {@code y * width + x}; стоимости g(n) и родители хранятся
+ * в массивах {@code int[]}, а открытый список — в индексированной куче {@link IndexedHeap}
+ * с операцией уменьшения ключа. Во время раскрытия узлов объекты не создаются: объекты
+ * {@link MazeState} появляются только при восстановлении найденного пути.</p>
+ * <p>Использует ту же эвристику (манхэттенское расстояние) и те же стоимости действий
+ * (с учетом рельефа), что и {@link AStarSolver}, поэтому находит путь той же стоимости. Клетка
+ * стоит не меньше 1, поэтому эвристика остается допустимой и согласованной и при рельефе.
+ * При равных f(n) предпочтение отдается узлам с большим g(n).</p>
+ */
+public class GridAStarSolver implements ProblemSolver {
+    private static final int UNREACHED = Integer.MAX_VALUE;
+
+    /**
+     * Ищет оптимальный путь от начального состояния до цели.
+     *
+     * @param env Среда (должна быть {@link MazeEnvironment}).
+     * @param startState Начальное состояние.
+     * @param stats Приемник статистики или {@code null}.
+     * @param <S> Тип состояния (должен быть MazeState).
+     * @return Список состояний, составляющих кратчайший путь, или пустой список, если путь не найден.
+     * @throws IllegalArgumentException если среда не является {@link MazeEnvironment}.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <S extends State> List<S> solve(Environment<S, ?> env, S startState, SearchStats stats) {
+        if (!(env instanceof MazeEnvironment mazeEnv) || !(startState instanceof MazeState start)) {
+            throw new IllegalArgumentException("GridAStarSolver requires MazeEnvironment.");
+        }
+        long startTime = System.nanoTime();
+        if (!mazeEnv.isValid(start)) {
+            return stats == null ? Collections.emptyList() : stats.complete(env, Collections.emptyList(), startTime);
+        }
+
+        int cellCount = mazeEnv.getIndexedCellCount();
+        int width = mazeEnv.getMaze().getWidth();
+        MazeState goal = mazeEnv.getGoalState();
+        int goalX = goal.x();
+        int goalY = goal.y();
+        int startIndex = mazeEnv.indexOf(start);
+        int goalIndex = mazeEnv.indexOf(goal);
+
+        int[] gCosts = new int[cellCount];
+        int[] parents = new int[cellCount];
+        Arrays.fill(gCosts, UNREACHED);
+        IndexedHeap open = new IndexedHeap(cellCount);
+
+        gCosts[startIndex] = 0;
+        parents[startIndex] = -1;
+        open.push(startIndex, key(0, heuristic(start.x(), start.y(), goalX, goalY)));
+
+        List<MazeState> path = Collections.emptyList();
+        long expanded = 0;
+        long generated = 0;
+        long duplicates = 0;
+        int peakOpen = 1;
+        int reached = 1;
+        SearchObserver observer = stats != null ? stats.getObserver() : null;
+        ExpansionBatchEvent batch = ExpansionBatchEvent.start(getName());
+        while (!open.isEmpty()) {
+            int current = open.poll();
+            if (current == goalIndex) {
+                path = extractPath(mazeEnv, parents, current);
+                break;
+            }
+
+            if ((++expanded & ExpansionBatchEvent.BATCH_MASK) == 0) {
+                batch = ExpansionBatchEvent.next(batch, expanded, open.size());
+                if (stats != null && stats.checkpoint(expanded, open.size())) {
+                    path = extractPath(mazeEnv, parents, current); // лучший частичный результат
+                    break;
+                }
+            }
+            if (observer != null) observer.expanded(current % width, current / width);
+            int currentG = gCosts[current];
+            for (int action = 0; action < MazeEnvironment.ACTION_COUNT; action++) {
+                int next = mazeEnv.successorIndex(current, action);
+                if (next < 0) continue;
+
+                generated++;
+                int newG = currentG + mazeEnv.actionCost(current, action);
+                // Эвристика согласована, поэтому закрытые узлы никогда не улучшаются.
+                if (newG >= gCosts[next]) {
+                    duplicates++;
+                    continue;
+                }
+
+                if (gCosts[next] == UNREACHED) reached++;
+                gCosts[next] = newG;
+                parents[next] = current;
+                open.push(next, key(newG, heuristic(next % width, next / width, goalX, goalY)));
+            }
+            peakOpen = Math.max(peakOpen, open.size());
+        }
+        ExpansionBatchEvent.end(batch, expanded, open.size());
+
+        if (stats != null) {
+            stats.addExpanded(expanded).addGenerated(generated).addDuplicates(duplicates).updatePeakOpen(peakOpen)
+                    .updatePeakClosed(reached).updateMaxDepth(ParentTree.maxDepth(parents, gCosts, UNREACHED))
+                    .complete(mazeEnv, path, startTime);
+        }
+        return (List<S>) path;
+    }
+
+    /**
+     * Формирует ключ кучи: f(n) в старших битах, при равенстве меньший ключ у большего g(n).
+     *
+     * @param g Стоимость g(n).
+     * @param h Эвристика h(n).
+     * @return Ключ для {@link IndexedHeap}.
+     */
+    private static long key(int g, int h) {
+        return ((long) (g + h) << 32) | (UNREACHED - g);
+    }
+
+    /**
+     * Эвристическая функция h(n): Манхэттенское расстояние.
+     *
+     * @param x Координата X клетки.
+     * @param y Координата Y клетки.
+     * @param goalX Координата X цели.
+     * @param goalY Координата Y цели.
+     * @return Эвристическая оценка расстояния до цели.
+     */
+    private static int heuristic(int x, int y, int goalX, int goalY) {
+        return Math.abs(x - goalX) + Math.abs(y - goalY);
+    }
+
+    /**
+     * Восстанавливает путь по массиву родителей.
+     *
+     * @param env Среда для декодирования индексов.
+     * @param parents Массив родителей.
+     * @param end Индекс целевой клетки.
+     * @return Список состояний от начала до цели.
+     */
+    private List<MazeState> extractPath(MazeEnvironment env, int[] parents, int end) {
+        List<MazeState> path = new ArrayList<>();
+        for (int curr = end; curr >= 0; curr = parents[curr]) {
+            path.add(env.stateOf(curr));
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    /**
+     * Решатель всегда возвращает кратчайший по стоимости действий путь.
+     * @return {@code true}.
+     */
+    @Override
+    public boolean isOptimal() {
+        return true;
+    }
+
+    /**
+     * Возвращает имя алгоритма для отображения в UI.
+     * @return Имя алгоритма.
+     */
+    @Override
+    public String getName() {
+        return "A* Search (Grid Engine)";
+    }
+}
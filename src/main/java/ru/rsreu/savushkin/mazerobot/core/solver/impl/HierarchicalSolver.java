@@ -0,0 +1,349 @@
+package ru.rsreu.savushkin.mazerobot.core.solver.impl;
+
+import ru.rsreu.savushkin.mazerobot.core.model.MazeModel;
+import ru.rsreu.savushkin.mazerobot.core.solver.ProblemSolver;
+import ru.rsreu.savushkin.mazerobot.core.solver.SearchStats;
+import ru.rsreu.savushkin.mazerobot.core.solver.engine.ClusterGraph;
+import ru.rsreu.savushkin.mazerobot.core.solver.engine.IndexedHeap;
+import ru.rsreu.savushkin.mazerobot.core.state.Environment;
+import ru.rsreu.savushkin.mazerobot.core.state.State;
+import ru.rsreu.savushkin.mazerobot.core.state.maze.MazeEnvironment;
+import ru.rsreu.savushkin.mazerobot.core.state.maze.MazeState;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Иерархический поиск пути (Hierarchical Pathfinding A*, HPA*).
+ * <p>При первом запросе для лабиринта строится {@link ClusterGraph}: входы на границах кластеров
+ * и расстояния между ними внутри кластеров. Граф кэшируется и переиспользуется всеми последующими
+ * запросами к тому же лабиринту, пока не изменится его версия. Запрос временно подключает старт
+ * и цель к узлам их кластеров, выполняет A* по небольшому абстрактному графу и уточняет только
+ * отрезки найденного абстрактного пути поиском в ширину внутри одного кластера.</p>
+ * <p>Путь почти оптимален: переходы между кластерами выбираются не во всех клетках входа, поэтому
+ * стоимость может немного превышать стоимость пути {@link AStarSolver}. Время построения, объем
+ * графа и статистика последнего запроса доступны через {@link #getClusterGraph()} и
+ * {@link #getLastQueryStats()}.</p>
+ * <p>Расстояния в графе кластеров рассчитаны на одинаковую стоимость клеток, поэтому для лабиринта
+ * с рельефом ({@link MazeModel#hasTerrain()}) поиск выполняет {@link GridAStarSolver}.</p>
+ */
+public class HierarchicalSolver implements ProblemSolver {
+    /** Размер кластера по умолчанию. */
+    public static final int DEFAULT_CLUSTER_SIZE = 16;
+    private static final int UNREACHED = Integer.MAX_VALUE;
+
+    private final int clusterSize;
+    private final GridAStarSolver weightedSolver = new GridAStarSolver();
+    private volatile ClusterGraph graph;
+    private volatile QueryStats lastQueryStats;
+
+    /**
+     * Статистика одного запроса.
+     *
+     * @param nanos Время запроса в наносекундах (без построения графа).
+     * @param abstractExpansions Количество раскрытых узлов абстрактного графа.
+     * @param cellsSearched Количество клеток, просмотренных при подключении старта и цели и уточнении пути.
+     * @param totalCells Общее количество клеток лабиринта — верхняя граница для плоского поиска.
+     */
+    public record QueryStats(long nanos, int abstractExpansions, int cellsSearched, long totalCells) {
+    }
+
+    /**
+     * Создает решатель с размером кластера {@link #DEFAULT_CLUSTER_SIZE}.
+     */
+    public HierarchicalSolver() {
+        this(DEFAULT_CLUSTER_SIZE);
+    }
+
+    /**
+     * Создает решатель с заданным размером кластера.
+     *
+     * @param clusterSize Сторона квадратного кластера в клетках.
+     */
+    public HierarchicalSolver(int clusterSize) {
+        if (clusterSize < 2) throw new IllegalArgumentException("Cluster size must be at least 2");
+        this.clusterSize = clusterSize;
+    }
+
+    /**
+     * Ищет путь от начального состояния до цели по иерархии кластеров.
+     *
+     * @param env Среда (должна быть {@link MazeEnvironment}).
+     * @param startState Начальное состояние.
+     * @param stats Приемник статистики или {@code null}. Раскрытыми считаются узлы абстрактного графа
+     *              и клетки, просмотренные внутри кластеров; время включает построение графа.
+     * @param <S> Тип состояния (должен быть MazeState).
+     * @return Список состояний, составляющих путь, или пустой список, если путь не найден.
+     * @throws IllegalArgumentException если среда не является {@link MazeEnvironment}.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <S extends State> List<S> solve(Environment<S, ?> env, S startState, SearchStats stats) {
+        if (!(env instanceof MazeEnvironment mazeEnv) || !(startState instanceof MazeState start)) {
+            throw new IllegalArgumentException("HierarchicalSolver requires MazeEnvironment.");
+        }
+        if (mazeEnv.getMaze().hasTerrain()) return weightedSolver.solve(env, startState, stats);
+        long solveStart = System.nanoTime();
+        if (!mazeEnv.isValid(start)) {
+            return stats == null ? Collections.emptyList() : stats.complete(env, Collections.emptyList(), solveStart);
+        }
+
+        ClusterGraph clusterGraph = graphFor(mazeEnv.getMaze());
+        long startTime = System.nanoTime();
+        Query query = new Query(clusterGraph, start, mazeEnv.getGoalState());
+        List<MazeState> path = query.run();
+        MazeModel maze = clusterGraph.getMaze();
+        lastQueryStats = new QueryStats(System.nanoTime() - startTime, query.expansions, query.cellsSearched,
+                (long) maze.getWidth() * maze.getHeight());
+        if (stats != null) {
+            stats.addExpanded(query.expansions + query.cellsSearched).addGenerated(query.generated)
+                    .addDuplicates(query.duplicates).updatePeakOpen(query.peakOpen)
+                    .updatePeakClosed(query.reached + query.cellsSearched)
+                    .complete(mazeEnv, path, solveStart);
+        }
+        return (List<S>) path;
+    }
+
+    /**
+     * Возвращает граф кластеров для лабиринта, строя его при первом обращении или после изменения лабиринта.
+     *
+     * @param maze Модель лабиринта.
+     * @return Граф кластеров.
+     */
+    private ClusterGraph graphFor(MazeModel maze) {
+        ClusterGraph current = graph;
+        if (isBuiltFor(current, maze)) return current;
+        synchronized (this) {
+            if (!isBuiltFor(graph, maze)) {
+                graph = new ClusterGraph(maze, clusterSize);
+            }
+            return graph;
+        }
+    }
+
+    private static boolean isBuiltFor(ClusterGraph graph, MazeModel maze) {
+        return graph != null && graph.getMaze() == maze && graph.getMazeVersion() == maze.getVersion();
+    }
+
+    /**
+     * Возвращает граф кластеров, построенный для последнего лабиринта.
+     * @return Граф или {@code null}, если поиск еще не выполнялся.
+     */
+    public ClusterGraph getClusterGraph() {
+        return graph;
+    }
+
+    /**
+     * Возвращает статистику последнего запроса.
+     * @return Статистика или {@code null}, если поиск еще не выполнялся.
+     */
+    public QueryStats getLastQueryStats() {
+        return lastQueryStats;
+    }
+
+    /**
+     * Состояние одного запроса. Старт и цель подключаются к абстрактному графу как
+     * временные узлы с номерами {@code nodeCount} и {@code nodeCount + 1}.
+     */
+    private static final class Query {
+        private final ClusterGraph graph;
+        private final int width;
+        private final int startCell;
+        private final int goalCell;
+        private final int startCluster;
+        private final int goalCluster;
+        private final int startNode;
+        private final int goalNode;
+        private final int goalX;
+        private final int goalY;
+        private final int[] gCosts;
+        private final int[] parents;
+        private final IndexedHeap open;
+        private int[] startDistances;
+        private int[] goalDistances;
+        private int expansions;
+        private int cellsSearched;
+        private long generated;
+        private long duplicates;
+        private int peakOpen = 1;
+        private int reached = 1;
+
+        private Query(ClusterGraph graph, MazeState start, MazeState goal) {
+            this.graph = graph;
+            this.width = graph.getMaze().getWidth();
+            this.startCell = start.y() * width + start.x();
+            this.goalCell = goal.y() * width + goal.x();
+            this.startCluster = graph.clusterOf(start.x(), start.y());
+            this.goalCluster = graph.clusterOf(goal.x(), goal.y());
+            this.goalX = goal.x();
+            this.goalY = goal.y();
+            int nodeCount = graph.getNodeCount();
+            this.startNode = nodeCount;
+            this.goalNode = nodeCount + 1;
+            this.gCosts = new int[nodeCount + 2];
+            this.parents = new int[nodeCount + 2];
+            this.open = new IndexedHeap(nodeCount + 2);
+            Arrays.fill(gCosts, UNREACHED);
+        }
+
+        /**
+         * Выполняет A* по абстрактному графу и уточняет найденный путь.
+         * @return Путь или пустой список.
+         */
+        private List<MazeState> run() {
+            if (startCell == goalCell) return List.of(stateOf(startCell));
+            if (graph.getMaze().isWall(goalX, goalY)) return Collections.emptyList();
+
+            startDistances = clusterDistances(startCluster, startCell, null);
+            goalDistances = clusterDistances(goalCluster, goalCell, null);
+
+            gCosts[startNode] = 0;
+            parents[startNode] = -1;
+            open.push(startNode, key(0, heuristic(startCell)));
+            while (!open.isEmpty()) {
+                int current = open.poll();
+                if (current == goalNode) return refine();
+                expansions++;
+
+                if (current == startNode) {
+                    for (int node : graph.getClusterNodes(startCluster)) {
+                        relax(current, node, startDistances[graph.localIndex(startCluster, graph.getNodeCell(node))]);
+                    }
+                    if (startCluster == goalCluster) {
+                        relax(current, goalNode, startDistances[graph.localIndex(startCluster, goalCell)]);
+                    }
+                    continue;
+                }
+
+                int[] targets = graph.getEdgeTargets(current);
+                int[] costs = graph.getEdgeCosts(current);
+                for (int i = 0; i < targets.length; i++) {
+                    relax(current, targets[i], costs[i]);
+                }
+                int cell = graph.getNodeCell(current);
+                if (graph.clusterOfCell(cell) == goalCluster) {
+                    relax(current, goalNode, goalDistances[graph.localIndex(goalCluster, cell)]);
+                }
+                peakOpen = Math.max(peakOpen, open.size());
+            }
+            return Collections.emptyList();
+        }
+
+        /**
+         * Обновляет стоимость абстрактного узла.
+         *
+         * @param from Текущий узел.
+         * @param to Соседний узел.
+         * @param cost Стоимость ребра или {@code -1}, если узлы не связаны.
+         */
+        private void relax(int from, int to, int cost) {
+            if (cost < 0) return;
+            generated++;
+            int newG = gCosts[from] + cost;
+            if (newG >= gCosts[to]) {
+                duplicates++;
+                return;
+            }
+            if (gCosts[to] == UNREACHED) reached++;
+            gCosts[to] = newG;
+            parents[to] = from;
+            open.push(to, key(newG, heuristic(cellOfNode(to))));
+        }
+
+        /**
+         * Уточняет абстрактный путь: переходы между кластерами — один шаг, отрезки внутри
+         * кластера — кратчайший путь поиском в ширину в пределах этого кластера.
+         *
+         * @return Путь по клеткам от старта до цели.
+         */
+        private List<MazeState> refine() {
+            List<Integer> nodes = new ArrayList<>();
+            for (int curr = goalNode; curr >= 0; curr = parents[curr]) {
+                nodes.add(cellOfNode(curr));
+            }
+            Collections.reverse(nodes);
+
+            List<Integer> cells = new ArrayList<>();
+            cells.add(nodes.get(0));
+            for (int i = 1; i < nodes.size(); i++) {
+                int from = nodes.get(i - 1);
+                int to = nodes.get(i);
+                if (from == to) continue;
+                int cluster = graph.clusterOfCell(from);
+                if (cluster != graph.clusterOfCell(to)) {
+                    cells.add(to);
+                    continue;
+                }
+                int[] localParents = new int[graph.getClusterSize() * graph.getClusterSize()];
+                clusterDistances(cluster, from, localParents);
+                int segmentStart = cells.size();
+                for (int local = graph.localIndex(cluster, to); local >= 0; local = localParents[local]) {
+                    cells.add(graph.cellOf(cluster, local));
+                }
+                cells.remove(cells.size() - 1); // клетка from уже в пути
+                Collections.reverse(cells.subList(segmentStart, cells.size()));
+            }
+            return toStates(cells);
+        }
+
+        /**
+         * Преобразует последовательность соседних клеток в состояния, заменяя два шага по прямой
+         * одним прыжком той же стоимости.
+         *
+         * @param cells Клетки пути с шагом 1.
+         * @return Список состояний.
+         */
+        private List<MazeState> toStates(List<Integer> cells) {
+            List<MazeState> path = new ArrayList<>();
+            path.add(stateOf(cells.get(0)));
+            int i = 0;
+            while (i < cells.size() - 1) {
+                int a = cells.get(i);
+                if (i + 2 < cells.size() && cells.get(i + 1) - a == cells.get(i + 2) - cells.get(i + 1)) {
+                    i += 2;
+                } else {
+                    i += 1;
+                }
+                path.add(stateOf(cells.get(i)));
+            }
+            return path;
+        }
+
+        private int[] clusterDistances(int cluster, int cell, int[] localParents) {
+            int[] distances = graph.distancesFrom(cluster, cell % width, cell / width, localParents);
+            for (int distance : distances) {
+                if (distance >= 0) cellsSearched++;
+            }
+            return distances;
+        }
+
+        private int cellOfNode(int node) {
+            if (node == startNode) return startCell;
+            if (node == goalNode) return goalCell;
+            return graph.getNodeCell(node);
+        }
+
+        private MazeState stateOf(int cell) {
+            return new MazeState(cell % width, cell / width);
+        }
+
+        private int heuristic(int cell) {
+            return Math.abs(cell % width - goalX) + Math.abs(cell / width - goalY);
+        }
+
+        private static long key(int g, int h) {
+            return ((long) (g + h) << 32) | (UNREACHED - g);
+        }
+    }
+
+    /**
+     * Возвращает имя алгоритма для отображения в UI.
+     * @return Имя алгоритма.
+     */
+    @Override
+    public String getName() {
+        return "Hierarchical A* (HPA*)";
+    }
+}
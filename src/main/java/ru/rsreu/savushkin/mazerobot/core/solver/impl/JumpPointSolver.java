@@ -0,0 +1,314 @@
+package ru.rsreu.savushkin.mazerobot.core.solver.impl;
+
+import ru.rsreu.savushkin.mazerobot.core.jfr.ExpansionBatchEvent;
+import ru.rsreu.savushkin.mazerobot.core.model.MazeModel;
+import ru.rsreu.savushkin.mazerobot.core.solver.ProblemSolver;
+import ru.rsreu.savushkin.mazerobot.core.solver.SearchObserver;
+import ru.rsreu.savushkin.mazerobot.core.solver.SearchStats;
+import ru.rsreu.savushkin.mazerobot.core.solver.engine.IndexedHeap;
+import ru.rsreu.savushkin.mazerobot.core.solver.engine.ParentTree;
+import ru.rsreu.savushkin.mazerobot.core.state.Environment;
+import ru.rsreu.savushkin.mazerobot.core.state.State;
+import ru.rsreu.savushkin.mazerobot.core.state.maze.MazeEnvironment;
+import ru.rsreu.savushkin.mazerobot.core.state.maze.MazeState;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Реализация поиска по точкам прыжка (Jump Point Search, JPS) для модели действий {@code MoveAction}.
+ * <p>Прыжок через проходимую клетку стоит 2 и эквивалентен двум шагам по 1, поэтому стоимость
+ * кратчайшего пути совпадает с кратчайшим путем по четырехсвязной сетке. На такой сетке JPS отсекает
+ * симметричные пути, фиксируя канонический порядок ходов: вертикальное движение продолжается,
+ * пока горизонтальный просмотр не найдет точку прыжка, а горизонтальный просмотр останавливается
+ * только на цели или клетке с «вынужденным» соседом сверху/снизу.</p>
+ * <p>В открытый список (индексированная куча) попадают только точки прыжка, что сокращает число
+ * раскрытий на больших открытых лабиринтах на порядок. Найденный путь разворачивается обратно
+ * в последовательность прыжков и шагов, поэтому его стоимость совпадает со стоимостью пути
+ * {@link AStarSolver}.</p>
+ * <p>Отсечение симметричных путей верно только при одинаковой стоимости клеток, поэтому для лабиринта
+ * с рельефом ({@link MazeModel#hasTerrain()}) поиск выполняет {@link GridAStarSolver}.</p>
+ */
+public class JumpPointSolver implements ProblemSolver {
+    private static final int UNREACHED = Integer.MAX_VALUE;
+
+    private final GridAStarSolver weightedSolver = new GridAStarSolver();
+
+    /**
+     * Ищет оптимальный путь от начального состояния до цели.
+     *
+     * @param env Среда (должна быть {@link MazeEnvironment}).
+     * @param startState Начальное состояние.
+     * @param stats Приемник статистики или {@code null}. Узлы дерева поиска — точки прыжка,
+     *              сгенерированные преемники — найденные точки прыжка.
+     * @param <S> Тип состояния (должен быть MazeState).
+     * @return Список состояний, составляющих кратчайший путь, или пустой список, если путь не найден.
+     * @throws IllegalArgumentException если среда не является {@link MazeEnvironment}.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <S extends State> List<S> solve(Environment<S, ?> env, S startState, SearchStats stats) {
+        if (!(env instanceof MazeEnvironment mazeEnv) || !(startState instanceof MazeState start)) {
+            throw new IllegalArgumentException("JumpPointSolver requires MazeEnvironment.");
+        }
+        if (mazeEnv.getMaze().hasTerrain()) return weightedSolver.solve(env, startState, stats);
+        long startTime = System.nanoTime();
+        if (!mazeEnv.isValid(start)) {
+            return stats == null ? Collections.emptyList() : stats.complete(env, Collections.emptyList(), startTime);
+        }
+        Search search = new Search(mazeEnv);
+        List<MazeState> path = search.run(start, getName(), stats);
+        if (stats != null) {
+            stats.addExpanded(search.expanded).addGenerated(search.generated).addDuplicates(search.duplicates)
+                    .updatePeakOpen(search.peakOpen).updatePeakClosed(search.reached)
+                    .updateMaxDepth(ParentTree.maxDepth(search.parents, search.gCosts, UNREACHED))
+                    .complete(mazeEnv, path, startTime);
+        }
+        return (List<S>) path;
+    }
+
+    /**
+     * Состояние одного запуска поиска. Создается на каждый вызов, поэтому решатель потокобезопасен.
+     */
+    private static final class Search {
+        private final MazeEnvironment env;
+        private final MazeModel maze;
+        private final int width;
+        private final int goalX;
+        private final int goalY;
+        private final int[] gCosts;
+        private final int[] parents;
+        private final IndexedHeap open;
+        private long expanded;
+        private long generated;
+        private long duplicates;
+        private int peakOpen = 1;
+        private int reached = 1;
+
+        private Search(MazeEnvironment env) {
+            this.env = env;
+            this.maze = env.getMaze();
+            this.width = maze.getWidth();
+            MazeState goal = env.getGoalState();
+            this.goalX = goal.x();
+            this.goalY = goal.y();
+            int cellCount = env.getIndexedCellCount();
+            this.gCosts = new int[cellCount];
+            this.parents = new int[cellCount];
+            this.open = new IndexedHeap(cellCount);
+            Arrays.fill(gCosts, UNREACHED);
+        }
+
+        /**
+         * Выполняет A* по точкам прыжка.
+         *
+         * @param start Начальное состояние.
+         * @param algorithm Имя алгоритма для событий JFR.
+         * @param stats Статистика с управлением поиском или {@code null}.
+         * @return Путь, частичный путь при остановке или пустой список.
+         */
+        private List<MazeState> run(MazeState start, String algorithm, SearchStats stats) {
+            int startIndex = env.indexOf(start);
+            int goalIndex = goalY * width + goalX;
+            gCosts[startIndex] = 0;
+            parents[startIndex] = -1;
+            open.push(startIndex, key(0, heuristic(start.x(), start.y())));
+
+            SearchObserver observer = stats != null ? stats.getObserver() : null;
+            ExpansionBatchEvent batch = ExpansionBatchEvent.start(algorithm);
+            while (!open.isEmpty()) {
+                int current = open.poll();
+                if (current == goalIndex) {
+                    ExpansionBatchEvent.end(batch, expanded, open.size());
+                    return extractPath(current);
+                }
+
+                if ((++expanded & ExpansionBatchEvent.BATCH_MASK) == 0) {
+                    batch = ExpansionBatchEvent.next(batch, expanded, open.size());
+                    if (stats != null && stats.checkpoint(expanded, open.size())) {
+                        ExpansionBatchEvent.end(batch, expanded, open.size());
+                        return extractPath(current); // лучший частичный результат
+                    }
+                }
+                int x = current % width;
+                int y = current / width;
+                if (observer != null) observer.expanded(x, y);
+                int parent = parents[current];
+                if (parent < 0) {
+                    // Старт: просматриваем все четыре направления.
+                    relax(current, jumpHorizontal(x, y, 1));
+                    relax(current, jumpHorizontal(x, y, -1));
+                    relax(current, jumpVertical(x, y, 1));
+                    relax(current, jumpVertical(x, y, -1));
+                } else if (parent / width == y) {
+                    // Пришли горизонтально: продолжаем и проверяем вынужденных соседей.
+                    int dx = Integer.signum(x - parent % width);
+                    relax(current, jumpHorizontal(x, y, dx));
+                    if (isForced(x, y, dx, -1)) relax(current, jumpVertical(x, y, -1));
+                    if (isForced(x, y, dx, 1)) relax(current, jumpVertical(x, y, 1));
+                } else {
+                    // Пришли вертикально: естественные соседи — вперед и в обе стороны.
+                    int dy = Integer.signum(y - parent / width);
+                    relax(current, jumpVertical(x, y, dy));
+                    relax(current, jumpHorizontal(x, y, -1));
+                    relax(current, jumpHorizontal(x, y, 1));
+                }
+                peakOpen = Math.max(peakOpen, open.size());
+            }
+            ExpansionBatchEvent.end(batch, expanded, 0);
+            return Collections.emptyList();
+        }
+
+        /**
+         * Обновляет стоимость точки прыжка, найденной из текущего узла.
+         *
+         * @param from Индекс текущего узла.
+         * @param to Индекс найденной точки прыжка или {@code -1}.
+         */
+        private void relax(int from, int to) {
+            if (to < 0) return;
+            generated++;
+            int toX = to % width;
+            int toY = to / width;
+            int distance = Math.abs(toX - from % width) + Math.abs(toY - from / width);
+            int newG = gCosts[from] + distance;
+            if (newG >= gCosts[to]) {
+                duplicates++;
+                return;
+            }
+            if (gCosts[to] == UNREACHED) reached++;
+            gCosts[to] = newG;
+            parents[to] = from;
+            open.push(to, key(newG, heuristic(toX, toY)));
+        }
+
+        /**
+         * Горизонтальный просмотр: идет по строке, пока не встретит стену, цель
+         * или клетку с вынужденным вертикальным соседом.
+         *
+         * @param x Координата X исходной клетки.
+         * @param y Координата Y исходной клетки.
+         * @param dx Направление (+1 или -1).
+         * @return Индекс точки прыжка или {@code -1}.
+         */
+        private int jumpHorizontal(int x, int y, int dx) {
+            while (true) {
+                x += dx;
+                if (maze.isWall(x, y)) return -1;
+                if ((x == goalX && y == goalY) || isForced(x, y, dx, -1) || isForced(x, y, dx, 1)) {
+                    return y * width + x;
+                }
+            }
+        }
+
+        /**
+         * Вертикальный просмотр: на каждой клетке запускает горизонтальные просмотры и останавливается,
+         * если хотя бы один из них нашел точку прыжка.
+         *
+         * @param x Координата X исходной клетки.
+         * @param y Координата Y исходной клетки.
+         * @param dy Направление (+1 или -1).
+         * @return Индекс точки прыжка или {@code -1}.
+         */
+        private int jumpVertical(int x, int y, int dy) {
+            while (true) {
+                y += dy;
+                if (maze.isWall(x, y)) return -1;
+                if ((x == goalX && y == goalY) || jumpHorizontal(x, y, 1) >= 0 || jumpHorizontal(x, y, -1) >= 0) {
+                    return y * width + x;
+                }
+            }
+        }
+
+        /**
+         * Проверяет, есть ли у клетки вынужденный вертикальный сосед при горизонтальном движении:
+         * соседняя клетка по вертикали свободна, а клетка позади нее — стена.
+         *
+         * @param x Координата X клетки.
+         * @param y Координата Y клетки.
+         * @param dx Направление горизонтального движения.
+         * @param dy Проверяемая вертикальная сторона (+1 или -1).
+         * @return {@code true}, если сосед вынужденный.
+         */
+        private boolean isForced(int x, int y, int dx, int dy) {
+            return !maze.isWall(x, y + dy) && maze.isWall(x - dx, y + dy);
+        }
+
+        /**
+         * Формирует ключ кучи: f(n) в старших битах, при равенстве приоритет у большего g(n).
+         *
+         * @param g Стоимость g(n).
+         * @param h Эвристика h(n).
+         * @return Ключ для {@link IndexedHeap}.
+         */
+        private static long key(int g, int h) {
+            return ((long) (g + h) << 32) | (UNREACHED - g);
+        }
+
+        /**
+         * Эвристическая функция h(n): Манхэттенское расстояние до цели.
+         *
+         * @param x Координата X.
+         * @param y Координата Y.
+         * @return Эвристическая оценка.
+         */
+        private int heuristic(int x, int y) {
+            return Math.abs(x - goalX) + Math.abs(y - goalY);
+        }
+
+        /**
+         * Восстанавливает путь по точкам прыжка и разворачивает каждый прямой отрезок
+         * в прыжки на 2 клетки и, при нечетной длине, один шаг.
+         *
+         * @param end Индекс целевой клетки.
+         * @return Список состояний от начала до цели.
+         */
+        private List<MazeState> extractPath(int end) {
+            List<Integer> jumpPoints = new ArrayList<>();
+            for (int curr = end; curr >= 0; curr = parents[curr]) {
+                jumpPoints.add(curr);
+            }
+            Collections.reverse(jumpPoints);
+
+            List<MazeState> path = new ArrayList<>();
+            int x = jumpPoints.get(0) % width;
+            int y = jumpPoints.get(0) / width;
+            path.add(new MazeState(x, y));
+            for (int i = 1; i < jumpPoints.size(); i++) {
+                int toX = jumpPoints.get(i) % width;
+                int toY = jumpPoints.get(i) / width;
+                int dx = Integer.signum(toX - x);
+                int dy = Integer.signum(toY - y);
+                int remaining = Math.abs(toX - x) + Math.abs(toY - y);
+                while (remaining > 0) {
+                    int step = remaining >= 2 ? 2 : 1;
+                    x += dx * step;
+                    y += dy * step;
+                    remaining -= step;
+                    path.add(new MazeState(x, y));
+                }
+            }
+            return path;
+        }
+    }
+
+    /**
+     * Решатель всегда возвращает кратчайший по стоимости действий путь.
+     * @return {@code true}.
+     */
+    @Override
+    public boolean isOptimal() {
+        return true;
+    }
+
+    /**
+     * Возвращает имя алгоритма для отображения в UI.
+     * @return Имя алгоритма.
+     */
+    @Override
+    public String getName() {
+        return "Jump Point Search (JPS)";
+    }
+}
@@ -0,0 +1,292 @@
+package ru.rsreu.savushkin.mazerobot.core.solver.impl;
+
+import ru.rsreu.savushkin.mazerobot.core.jfr.ExpansionBatchEvent;
+import ru.rsreu.savushkin.mazerobot.core.solver.ProblemSolver;
+import ru.rsreu.savushkin.mazerobot.core.solver.SearchObserver;
+import ru.rsreu.savushkin.mazerobot.core.solver.SearchStats;
+import ru.rsreu.savushkin.mazerobot.core.state.Environment;
+import ru.rsreu.savushkin.mazerobot.core.state.State;
+import ru.rsreu.savushkin.mazerobot.core.state.maze.MazeEnvironment;
+import ru.rsreu.savushkin.mazerobot.core.state.maze.MazeState;
+
+import java.io.Serial;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Параллельный поиск в ширину по уровням (level-synchronous BFS) на {@link ForkJoinPool}.
+ * <p>Каждый уровень фронта делится на блоки, которые раскрываются параллельно. Посещенные клетки
+ * отмечаются в битовом множестве на {@link AtomicLongArray}: клетку «захватывает» поток, первым
+ * установивший ее бит через CAS, и только он записывает родителя и добавляет клетку в свой буфер
+ * следующего фронта. После завершения уровня буферы объединяются в новый фронт.</p>
+ * <p>Уровни обрабатываются строго по очереди, поэтому найденный путь кратчайший по числу действий,
+ * как у {@link BreadthFirstSolver}. Для других сред, кроме {@link MazeEnvironment}, используется
+ * последовательный {@link BreadthFirstSolver}.</p>
+ */
+public class ParallelBreadthFirstSolver implements ProblemSolver {
+    /** Минимальное количество клеток фронта на одну задачу. */
+    private static final int MIN_CHUNK = 2048;
+
+    private final ForkJoinPool pool;
+    private final BreadthFirstSolver fallback = new BreadthFirstSolver();
+
+    /**
+     * Создает решатель, использующий общий пул {@link ForkJoinPool#commonPool()}.
+     */
+    public ParallelBreadthFirstSolver() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Создает решатель, использующий заданный пул потоков.
+     *
+     * @param pool Пул, в котором раскрываются уровни фронта.
+     */
+    public ParallelBreadthFirstSolver(ForkJoinPool pool) {
+        if (pool == null) throw new IllegalArgumentException("Pool cannot be null");
+        this.pool = pool;
+    }
+
+    /**
+     * Ищет кратчайший по числу действий путь от начального состояния до цели.
+     *
+     * @param env Среда (лабиринт), в которой происходит поиск.
+     * @param startState Начальное состояние.
+     * @param stats Приемник статистики или {@code null}. Счетчики ведутся каждым блоком отдельно
+     *              и суммируются при объединении фронта.
+     * @param <S> Тип состояния.
+     * @return Список состояний, составляющих кратчайший путь, или пустой список, если путь не найден.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <S extends State> List<S> solve(Environment<S, ?> env, S startState, SearchStats stats) {
+        if (env == null || startState == null) throw new IllegalArgumentException("Arguments cannot be null");
+        if (!(env instanceof MazeEnvironment mazeEnv) || !(startState instanceof MazeState start)) {
+            return fallback.solve(env, startState, stats);
+        }
+        long startTime = System.nanoTime();
+        Search search = new Search(mazeEnv);
+        List<MazeState> path = search.run(start, stats);
+        if (stats != null) {
+            stats.addExpanded(search.expanded).addGenerated(search.generated).addDuplicates(search.duplicates)
+                    .updatePeakOpen(search.peakOpen).updatePeakClosed(search.reached).updateMaxDepth(search.levels)
+                    .complete(mazeEnv, path, startTime);
+        }
+        return (List<S>) path;
+    }
+
+    /**
+     * Состояние одного запуска поиска.
+     */
+    private final class Search {
+        private final MazeEnvironment env;
+        private final AtomicLongArray visited;
+        private final int[] parents;
+        private final int goal;
+        private int[] frontier = new int[1];
+        private int frontierSize;
+        private volatile boolean goalReached;
+        private long expanded;
+        private long generated;
+        private long duplicates;
+        private int peakOpen = 1;
+        private long reached = 1;
+        private int levels;
+
+        private Search(MazeEnvironment env) {
+            this.env = env;
+            int cellCount = env.getIndexedCellCount();
+            this.visited = new AtomicLongArray((cellCount + 63) >>> 6);
+            this.parents = new int[cellCount];
+            this.goal = env.indexOf(env.getGoalState());
+        }
+
+        /**
+         * Выполняет поиск уровень за уровнем, пока цель не будет захвачена или фронт не опустеет.
+         *
+         * @param start Начальное состояние.
+         * @param stats Статистика с управлением поиском или {@code null}; проверяется после каждого уровня.
+         * @return Путь, частичный путь до клетки фронта при остановке или пустой список.
+         */
+        private List<MazeState> run(MazeState start, SearchStats stats) {
+            int startIndex = env.indexOf(start);
+            tryVisit(startIndex);
+            parents[startIndex] = -1;
+            frontier[0] = startIndex;
+            frontierSize = 1;
+            goalReached = startIndex == goal;
+            // Наблюдателю сообщает только этот поток: рабочие потоки в него не пишут.
+            SearchObserver observer = stats != null ? stats.getObserver() : null;
+            int width = env.getMaze().getWidth();
+            if (observer != null) observer.expanded(start.x(), start.y());
+
+            // Событие JFR охватывает несколько целых уровней фронта.
+            ExpansionBatchEvent batch = ExpansionBatchEvent.start(getName());
+            while (!goalReached && frontierSize > 0) {
+                int chunks = Math.max(1, Math.min(frontierSize / MIN_CHUNK, pool.getParallelism() * 4));
+                LevelChunk[] tasks = new LevelChunk[chunks];
+                for (int i = 0; i < chunks; i++) {
+                    int from = (int) ((long) frontierSize * i / chunks);
+                    int to = (int) ((long) frontierSize * (i + 1) / chunks);
+                    tasks[i] = new LevelChunk(from, to);
+                }
+                if (chunks == 1) {
+                    tasks[0].compute();
+                } else {
+                    pool.invoke(new Level(tasks));
+                }
+                mergeFrontier(tasks);
+                if (observer != null) {
+                    for (int i = 0; i < frontierSize; i++) observer.expanded(frontier[i] % width, frontier[i] / width);
+                }
+                batch = ExpansionBatchEvent.advance(batch, expanded, frontierSize);
+                if (!goalReached && frontierSize > 0 && stats != null && stats.checkpoint(expanded, frontierSize)) {
+                    ExpansionBatchEvent.end(batch, expanded, frontierSize);
+                    return extractPath(frontier[0]); // лучший частичный результат
+                }
+            }
+            ExpansionBatchEvent.end(batch, expanded, frontierSize);
+            return goalReached ? extractPath(goal) : Collections.emptyList();
+        }
+
+        /**
+         * Объединяет буферы блоков в следующий фронт.
+         *
+         * @param tasks Завершенные блоки текущего уровня.
+         */
+        private void mergeFrontier(LevelChunk[] tasks) {
+            int total = 0;
+            for (LevelChunk task : tasks) total += task.size;
+            if (frontier.length < total) frontier = new int[total];
+            int offset = 0;
+            for (LevelChunk task : tasks) {
+                System.arraycopy(task.buffer, 0, frontier, offset, task.size);
+                offset += task.size;
+                expanded += task.expanded;
+                generated += task.generated;
+                duplicates += task.duplicates;
+            }
+            frontierSize = total;
+            reached += total;
+            peakOpen = Math.max(peakOpen, total);
+            if (total > 0) levels++;
+        }
+
+        /**
+         * Атомарно отмечает клетку посещенной.
+         *
+         * @param cell Индекс клетки.
+         * @return {@code true}, если клетку отметил именно этот вызов.
+         */
+        private boolean tryVisit(int cell) {
+            int word = cell >>> 6;
+            long bit = 1L << cell;
+            long current = visited.get(word);
+            while ((current & bit) == 0) {
+                if (visited.compareAndSet(word, current, current | bit)) return true;
+                current = visited.get(word);
+            }
+            return false;
+        }
+
+        /**
+         * Восстанавливает путь по массиву родителей.
+         * @param end Последняя клетка пути.
+         * @return Список состояний от начала до {@code end}.
+         */
+        private List<MazeState> extractPath(int end) {
+            List<MazeState> path = new ArrayList<>();
+            for (int curr = end; curr >= 0; curr = parents[curr]) {
+                path.add(env.stateOf(curr));
+            }
+            Collections.reverse(path);
+            return path;
+        }
+
+        /**
+         * Задача, параллельно запускающая все блоки одного уровня.
+         */
+        private final class Level extends RecursiveAction {
+            @Serial
+            private static final long serialVersionUID = 1L;
+
+            private final LevelChunk[] chunks;
+
+            private Level(LevelChunk[] chunks) {
+                this.chunks = chunks;
+            }
+
+            @Override
+            protected void compute() {
+                invokeAll(chunks);
+            }
+        }
+
+        /**
+         * Блок фронта: раскрывает клетки {@code [from, to)} и складывает захваченных соседей
+         * в собственный буфер, не разделяемый с другими потоками.
+         */
+        private final class LevelChunk extends RecursiveAction {
+            @Serial
+            private static final long serialVersionUID = 1L;
+
+            private final int from;
+            private final int to;
+            private int[] buffer = new int[16];
+            private int size;
+            private int expanded;
+            private int generated;
+            private int duplicates;
+
+            private LevelChunk(int from, int to) {
+                this.from = from;
+                this.to = to;
+            }
+
+            @Override
+            protected void compute() {
+                for (int i = from; i < to && !goalReached; i++) {
+                    int cell = frontier[i];
+                    expanded++;
+                    for (int action = 0; action < MazeEnvironment.ACTION_COUNT; action++) {
+                        int next = env.successorIndex(cell, action);
+                        if (next < 0) continue;
+                        generated++;
+                        if (!tryVisit(next)) {
+                            duplicates++;
+                            continue;
+                        }
+
+                        parents[next] = cell;
+                        if (size == buffer.length) buffer = Arrays.copyOf(buffer, size * 2);
+                        buffer[size++] = next;
+                        if (next == goal) goalReached = true;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Решатель всегда возвращает кратчайший по числу действий путь.
+     * @return {@code true}.
+     */
+    @Override
+    public boolean isOptimal() {
+        return true;
+    }
+
+    /**
+     * Возвращает имя алгоритма для отображения в UI.
+     * @return Имя алгоритма.
+     */
+    @Override
+    public String getName() {
+        return "Breadth-First Search (Parallel BFS)";
+    }
+}
@@ -23,6 +23,51 @@ public interface Environment<S extends State, A extends Action> {
      */
     S getGoalState();
 
+    /**
+     * Возвращает версию среды. Версия увеличивается при каждом изменении, влияющем на переходы,
+     * и позволяет определить, что ранее найденные пути устарели.
+     * <p>По умолчанию среда считается неизменяемой.</p>
+     * @return Версия среды.
+     */
+    default long getVersion() {
+        return 0;
+    }
+
+    /**
+     * Возвращает среду с теми же правилами, но другой целью.
+     * <p>Используется для запросов с произвольной целью; данные среды (например, лабиринт)
+     * разделяются, а не копируются. По умолчанию не поддерживается.</p>
+     * @param goal Новое целевое состояние.
+     * @return Среда с заданной целью.
+     * @throws UnsupportedOperationException если среда не поддерживает смену цели.
+     */
+    default Environment<S, A> withGoal(S goal) {
+        throw new UnsupportedOperationException(getClass().getSimpleName() + " does not support custom goals");
+    }
+
+    /**
+     * Вычисляет стоимость пути как сумму стоимостей действий между соседними состояниями.
+     * <p>Реализация по умолчанию ищет действие перебором переходов {@link #forEachSuccessor}.</p>
+     * @param path Путь.
+     * @return Суммарная стоимость.
+     * @throws IllegalArgumentException если соседние состояния не связаны действием.
+     */
+    default double pathCost(List<S> path) {
+        double total = 0;
+        for (int i = 1; i < path.size(); i++) {
+            S target = path.get(i);
+            double[] step = {Double.NaN};
+            forEachSuccessor(path.get(i - 1), (action, next, cost) -> {
+                if (!next.equals(target)) return true;
+                step[0] = cost;
+                return false;
+            });
+            if (Double.isNaN(step[0])) throw new IllegalArgumentException("Path is not connected at index " + i);
+            total += step[0];
+        }
+        return total;
+    }
+
     /**
      * Проверяет, является ли заданное состояние валидным в данной среде (например, не выходит ли за границы).
      * @param state Проверяемое состояние.
@@ -51,4 +96,51 @@ public interface Environment<S extends State, A extends Action> {
      * @return Новое состояние.
      */
     S applyAction(S state, Action action);
+
+    /**
+     * Возвращает стоимость применения действия в заданном состоянии.
+     * <p>По умолчанию все действия имеют единичную стоимость.</p>
+     * @param state Исходное состояние.
+     * @param action Действие.
+     * @return Стоимость действия.
+     */
+    default double getActionCost(S state, A action) {
+        return 1.0;
+    }
+
+    /**
+     * Перебирает все валидные переходы из заданного состояния.
+     * <p>Посетитель получает только переходы, которые ведут в валидное состояние, отличное от исходного.
+     * Реализация по умолчанию построена на {@link #getPossibleActions(State)} и {@link #applyAction(State, Action)};
+     * конкретные среды переопределяют ее, чтобы не создавать промежуточных объектов.</p>
+     * <p>Перебор не создает списков действий и состояний для невалидных ходов, но объект целевого
+     * состояния передается посетителю для каждого валидного перехода, а решатели на объектах
+     * ({@code AStarSolver}, {@code BreadthFirstSolver}) дополнительно создают узел для каждого нового
+     * или улучшенного состояния. Перебор совсем без создания объектов доступен только на индексах клеток
+     * ({@code MazeEnvironment.successorIndex}) и используется решателями на примитивных массивах.</p>
+     * @param state Исходное состояние.
+     * @param visitor Посетитель переходов; перебор прекращается, если он вернул {@code false}.
+     */
+    default void forEachSuccessor(S state, SuccessorVisitor<S, ? super A> visitor) {
+        for (A action : getPossibleActions(state)) {
+            S next = applyAction(state, action);
+            if (isValid(next) && !next.equals(state)
+                    && !visitor.visit(action, next, getActionCost(state, action))) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Перебирает все переходы, ведущие в заданное состояние (обратные переходы).
+     * <p>Посетитель получает действие, которое нужно применить к предшественнику, чтобы попасть
+     * в {@code state}, самого предшественника и стоимость действия. Используется для обратного поиска
+     * от цели (например, в двунаправленных алгоритмах). По умолчанию не поддерживается.</p>
+     * @param state Состояние, в которое ведут переходы.
+     * @param visitor Посетитель переходов; перебор прекращается, если он вернул {@code false}.
+     * @throws UnsupportedOperationException если среда не умеет генерировать предшественников.
+     */
+    default void forEachPredecessor(S state, SuccessorVisitor<S, ? super A> visitor) {
+        throw new UnsupportedOperationException(getClass().getSimpleName() + " does not support predecessor generation");
+    }
 }
\ No newline at end of file
@@ -0,0 +1,23 @@
+package ru.rsreu.savushkin.mazerobot.core.state;
+
+/**
+ * Посетитель преемников состояния.
+ * <p>Вызывается средой для каждого валидного перехода (действие, новое состояние, стоимость)
+ * в {@link Environment#forEachSuccessor(State, SuccessorVisitor)}. Позволяет решателям
+ * перебирать переходы без создания списков действий и промежуточных состояний.</p>
+ *
+ * @param <S> Тип состояния.
+ * @param <A> Тип действия.
+ */
+@FunctionalInterface
+public interface SuccessorVisitor<S extends State, A extends Action> {
+    /**
+     * Обрабатывает один валидный переход.
+     *
+     * @param action Действие, приводящее в новое состояние.
+     * @param next Новое состояние.
+     * @param cost Стоимость действия.
+     * @return {@code true}, чтобы продолжить перебор; {@code false}, чтобы остановить его.
+     */
+    boolean visit(A action, S next, double cost);
+}
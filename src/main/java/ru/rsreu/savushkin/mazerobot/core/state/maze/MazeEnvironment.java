@@ -1,19 +1,28 @@
 package ru.rsreu.savushkin.mazerobot.core.state.maze;
 
-import ru.rsreu.savushkin.mazerobot.core.entity.CellType;
 import ru.rsreu.savushkin.mazerobot.core.model.MazeModel;
 import ru.rsreu.savushkin.mazerobot.core.state.Action;
 import ru.rsreu.savushkin.mazerobot.core.state.Environment;
+import ru.rsreu.savushkin.mazerobot.core.state.SuccessorVisitor;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Реализация среды (Environment) для задачи "Робот в лабиринте".
  * <p>Определяет начальное, целевое состояния, правила перехода (действия, прыжки)
  * и условия валидности состояний в соответствии с моделью лабиринта.</p>
+ * <p>Ход стоит столько, сколько стоит проход клеток, в которые входит робот: шаг — стоимость целевой
+ * клетки, прыжок — сумма стоимостей промежуточной и целевой клеток ({@link MazeModel#getTerrainCost}).
+ * Без рельефа шаг стоит 1, а прыжок — 2.</p>
  */
 public class MazeEnvironment implements Environment<MazeState, MoveAction> {
+    /** Количество действий из каждой клетки: 4 шага и 4 прыжка. */
+    public static final int ACTION_COUNT = 8;
+    /** Смещения по X для действий в порядке {@link MoveAction#ALL}. */
+    private static final int[] ACTION_DX = {0, 0, 1, 2, 0, 0, -1, -2};
+    /** Смещения по Y для действий в порядке {@link MoveAction#ALL}. */
+    private static final int[] ACTION_DY = {-1, -2, 0, 0, 1, 2, 0, 0};
+
     private final MazeModel maze;
     private final MazeState start;
     private final MazeState goal;
@@ -24,9 +33,32 @@ public class MazeEnvironment implements Environment<MazeState, MoveAction> {
      * @param maze Модель лабиринта, с которой работает среда.
      */
     public MazeEnvironment(MazeModel maze) {
+        this(maze, maze.getStart(), maze.getGoal());
+    }
+
+    /**
+     * Создает среду лабиринта с заданными стартом и целью.
+     *
+     * @param maze Модель лабиринта, с которой работает среда.
+     * @param start Начальное состояние.
+     * @param goal Целевое состояние.
+     */
+    public MazeEnvironment(MazeModel maze, MazeState start, MazeState goal) {
+        if (maze == null || start == null || goal == null) throw new IllegalArgumentException("Arguments cannot be null");
         this.maze = maze;
-        this.start = new MazeState(1, 1);
-        this.goal = new MazeState(maze.getWidth() - 2, maze.getHeight() - 2);
+        this.start = start;
+        this.goal = goal;
+    }
+
+    /**
+     * Возвращает среду над тем же лабиринтом с другой целью. Лабиринт не копируется.
+     *
+     * @param goal Новое целевое состояние.
+     * @return Новая среда.
+     */
+    @Override
+    public MazeEnvironment withGoal(MazeState goal) {
+        return goal.equals(this.goal) ? this : new MazeEnvironment(maze, start, goal);
     }
 
     /**
@@ -43,20 +75,24 @@ public class MazeEnvironment implements Environment<MazeState, MoveAction> {
     @Override
     public MazeState getGoalState() { return goal; }
 
+    /**
+     * Возвращает версию лабиринта: она меняется при каждом изменении ячейки.
+     * @return Версия лабиринта.
+     */
+    @Override
+    public long getVersion() { return maze.getVersion(); }
+
     /**
      * Проверяет, является ли состояние валидным: находится ли оно в пределах лабиринта
      * и не является ли стеной.
+     * <p>Проверка выполняется одним чтением слова упакованной сетки.</p>
      *
      * @param state Проверяемое состояние.
      * @return {@code true}, если состояние валидно и доступно для посещения.
      */
     @Override
     public boolean isValid(MazeState state) {
-        int x = state.x();
-        int y = state.y();
-        return x >= 0 && x < maze.getWidth() &&
-                y >= 0 && y < maze.getHeight() &&
-                maze.getCell(x, y) != CellType.WALL;
+        return !maze.isWall(state.x(), state.y());
     }
 
     /**
@@ -71,24 +107,16 @@ public class MazeEnvironment implements Environment<MazeState, MoveAction> {
     }
 
     /**
-     * Генерирует список всех возможных действий (ход на 1 клетку и прыжок на 2 клетки)
+     * Возвращает список всех возможных действий (ход на 1 клетку и прыжок на 2 клетки)
      * из текущего состояния.
+     * <p>Возвращается общий неизменяемый список {@link MoveAction#ALL}, новые объекты не создаются.</p>
      *
      * @param state Текущее состояние.
      * @return Список всех возможных действий MoveAction.
      */
     @Override
     public List<MoveAction> getPossibleActions(MazeState state) {
-        List<MoveAction> actions = new ArrayList<>();
-        int[][] dirs = {{0, -1}, {1, 0}, {0, 1}, {-1, 0}};
-
-        for (int[] d : dirs) {
-            // Обычный шаг
-            actions.add(new MoveAction(d[0], d[1], false));
-            // Прыжок
-            actions.add(new MoveAction(d[0] * 2, d[1] * 2, true));
-        }
-        return actions;
+        return MoveAction.ALL;
     }
 
     /**
@@ -105,25 +133,223 @@ public class MazeEnvironment implements Environment<MazeState, MoveAction> {
     public MazeState applyAction(MazeState state, Action action) {
         if (!(action instanceof MoveAction move)) throw new IllegalArgumentException("Wrong action type");
 
-        // Логика прыжка: проверяем клетку посередине
-        if (move.isDouble()) {
-            int midX = state.x() + (move.dx() / 2);
-            int midY = state.y() + (move.dy() / 2);
+        // Логика прыжка: если промежуточная клетка - стена, прыжок невозможен
+        if (move.isDouble() && maze.isWall(state.x() + move.dx() / 2, state.y() + move.dy() / 2)) {
+            return state;
+        }
+
+        int nextX = state.x() + move.dx();
+        int nextY = state.y() + move.dy();
+
+        // Если ход ведет в стену/за границу, остаемся на месте.
+        return maze.isWall(nextX, nextY) ? state : new MazeState(nextX, nextY);
+    }
+
+    /**
+     * Возвращает стоимость действия: стоимость целевой клетки для шага и сумму стоимостей
+     * промежуточной и целевой клеток для прыжка.
+     *
+     * @param state Исходное состояние.
+     * @param action Действие.
+     * @return Стоимость действия.
+     */
+    @Override
+    public double getActionCost(MazeState state, MoveAction action) {
+        return moveCost(state.x(), state.y(), action.dx(), action.dy());
+    }
+
+    /**
+     * Вычисляет стоимость пути по смещениям между соседними состояниями: каждый шаг стоит столько,
+     * сколько стоят клетки, в которые входит робот.
+     *
+     * @param path Путь.
+     * @return Суммарная стоимость.
+     */
+    @Override
+    public double pathCost(List<MazeState> path) {
+        int cost = 0;
+        for (int i = 1; i < path.size(); i++) {
+            MazeState from = path.get(i - 1);
+            MazeState to = path.get(i);
+            cost += moveCost(from.x(), from.y(), to.x() - from.x(), to.y() - from.y());
+        }
+        return cost;
+    }
 
-            // Если промежуточная клетка не валидна, прыжок невозможен
-            if (!isValid(new MazeState(midX, midY))) {
-                return state;
+    /**
+     * Перебирает валидные ходы из заданного состояния, используя общие экземпляры {@link MoveAction}.
+     * <p>Проверки клеток выполняются по координатам, поэтому объект {@link MazeState}
+     * создается только для валидной целевой клетки.</p>
+     *
+     * @param state Исходное состояние.
+     * @param visitor Посетитель переходов.
+     */
+    @Override
+    public void forEachSuccessor(MazeState state, SuccessorVisitor<MazeState, ? super MoveAction> visitor) {
+        int x = state.x();
+        int y = state.y();
+        for (int action = 0; action < ACTION_COUNT; action++) {
+            int dx = ACTION_DX[action];
+            int dy = ACTION_DY[action];
+            if ((action & 1) != 0 && maze.isWall(x + dx / 2, y + dy / 2)) continue;
+            int nextX = x + dx;
+            int nextY = y + dy;
+            if (maze.isWall(nextX, nextY)) continue;
+            if (!visitor.visit(MoveAction.ALL.get(action), new MazeState(nextX, nextY), moveCost(x, y, dx, dy))) {
+                return;
             }
         }
+    }
 
-        MazeState nextState = new MazeState(state.x() + move.dx(), state.y() + move.dy());
+    /**
+     * Перебирает ходы, ведущие в заданное состояние.
+     * <p>Ходы в лабиринте симметричны: из клетки {@code p} можно попасть в {@code state} действием
+     * {@code (dx, dy)} тогда и только тогда, когда из {@code state} можно попасть в {@code p}
+     * действием {@code (-dx, -dy)}, причем промежуточная клетка прыжка у них общая. Стоимости в обратную
+     * сторону при этом различаются: передается стоимость хода из предшественника в {@code state}.</p>
+     *
+     * @param state Состояние, в которое ведут ходы.
+     * @param visitor Посетитель, получающий действие предшественника, самого предшественника и стоимость.
+     */
+    @Override
+    public void forEachPredecessor(MazeState state, SuccessorVisitor<MazeState, ? super MoveAction> visitor) {
+        int x = state.x();
+        int y = state.y();
+        for (int action = 0; action < ACTION_COUNT; action++) {
+            int dx = ACTION_DX[action];
+            int dy = ACTION_DY[action];
+            if ((action & 1) != 0 && maze.isWall(x - dx / 2, y - dy / 2)) continue;
+            int prevX = x - dx;
+            int prevY = y - dy;
+            if (maze.isWall(prevX, prevY)) continue;
+            if (!visitor.visit(MoveAction.ALL.get(action), new MazeState(prevX, prevY), moveCost(prevX, prevY, dx, dy))) {
+                return;
+            }
+        }
+    }
 
-        // Проверяем, что конечная точка валидна
-        if (isValid(nextState)) {
-            return nextState;
-        } else {
-            // Если ход ведет в стену/за границу, остаемся на месте.
-            return state;
+    /**
+     * Возвращает модель лабиринта, с которой работает среда.
+     * @return Модель лабиринта.
+     */
+    public MazeModel getMaze() { return maze; }
+
+    /**
+     * Кодирует состояние в целочисленный индекс клетки {@code y * width + x}.
+     * <p>Используется решателями, хранящими данные поиска в примитивных массивах.</p>
+     *
+     * @param state Состояние.
+     * @return Индекс клетки.
+     */
+    public int indexOf(MazeState state) {
+        return state.y() * maze.getWidth() + state.x();
+    }
+
+    /**
+     * Восстанавливает состояние по индексу клетки.
+     *
+     * @param index Индекс клетки {@code y * width + x}.
+     * @return Состояние, соответствующее клетке.
+     */
+    public MazeState stateOf(int index) {
+        return new MazeState(index % maze.getWidth(), index / maze.getWidth());
+    }
+
+    /**
+     * Возвращает количество клеток лабиринта, проверяя, что его можно адресовать индексом {@code int}.
+     *
+     * @return Количество клеток.
+     * @throws IllegalStateException если лабиринт содержит больше {@code Integer.MAX_VALUE} клеток.
+     */
+    public int getIndexedCellCount() {
+        long cells = (long) maze.getWidth() * maze.getHeight();
+        if (cells > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Maze is too large for int-encoded search: " + cells + " cells");
         }
+        return (int) cells;
+    }
+
+    /**
+     * Вычисляет клетку, в которую ведет действие с заданным номером, без создания объектов.
+     * <p>Правила совпадают с {@link #applyAction(MazeState, Action)}: прыжок возможен только
+     * через проходимую промежуточную клетку.</p>
+     *
+     * @param index Индекс исходной клетки.
+     * @param action Номер действия от 0 до {@link #ACTION_COUNT} - 1.
+     * @return Индекс целевой клетки или {@code -1}, если действие невалидно.
+     */
+    public int successorIndex(int index, int action) {
+        int width = maze.getWidth();
+        int x = index % width;
+        int y = index / width;
+        int dx = ACTION_DX[action];
+        int dy = ACTION_DY[action];
+        if ((action & 1) != 0 && maze.isWall(x + dx / 2, y + dy / 2)) {
+            return -1;
+        }
+        int nx = x + dx;
+        int ny = y + dy;
+        return maze.isWall(nx, ny) ? -1 : ny * width + nx;
+    }
+
+    /**
+     * Возвращает стоимость действия с заданным номером из клетки с заданным индексом.
+     * <p>Допустимость действия не проверяется (см. {@link #successorIndex(int, int)}). Без рельефа
+     * стоимость определяется номером действия без обращения к сетке.</p>
+     *
+     * @param index Индекс исходной клетки.
+     * @param action Номер действия.
+     * @return Стоимость действия.
+     */
+    public int actionCost(int index, int action) {
+        if (!maze.hasTerrain()) return (action & 1) != 0 ? 2 : 1;
+        int width = maze.getWidth();
+        return moveCost(index % width, index / width, ACTION_DX[action], ACTION_DY[action]);
+    }
+
+    /**
+     * Возвращает наибольшую стоимость одного действия в лабиринте.
+     * <p>Используется для выбора размера очередей с корзинами.</p>
+     *
+     * @return Наибольшая стоимость действия.
+     */
+    public int getMaxActionCost() {
+        return maze.hasTerrain() ? 2 * MazeModel.MAX_TERRAIN_COST : 2;
+    }
+
+    /**
+     * Возвращает номер действия, обратного заданному (с тем же смещением в противоположную сторону).
+     *
+     * @param action Номер действия.
+     * @return Номер обратного действия.
+     */
+    public static int reverseAction(int action) {
+        return (action + ACTION_COUNT / 2) % ACTION_COUNT;
+    }
+
+    /**
+     * Вычисляет стоимость хода со смещением на 1 или 2 клетки по прямой.
+     */
+    private int moveCost(int x, int y, int dx, int dy) {
+        int cost = maze.getTerrainCost(x + dx, y + dy);
+        if (Math.abs(dx) + Math.abs(dy) == 2) cost += maze.getTerrainCost(x + dx / 2, y + dy / 2);
+        return cost;
+    }
+
+    /**
+     * Среды равны, если они работают с одним и тем же лабиринтом и имеют одинаковые старт и цель.
+     *
+     * @param o Объект для сравнения.
+     * @return {@code true}, если среды эквивалентны.
+     */
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof MazeEnvironment other && maze == other.maze
+                && start.equals(other.start) && goal.equals(other.goal);
+    }
+
+    @Override
+    public int hashCode() {
+        return (System.identityHashCode(maze) * 31 + start.hashCode()) * 31 + goal.hashCode();
     }
 }
\ No newline at end of file
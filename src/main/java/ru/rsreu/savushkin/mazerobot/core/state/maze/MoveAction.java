@@ -2,12 +2,38 @@ package ru.rsreu.savushkin.mazerobot.core.state.maze;
 
 import ru.rsreu.savushkin.mazerobot.core.state.Action;
 
+import java.util.List;
+
 /**
  * Класс-запись (Record Class), представляющий действие перемещения робота в лабиринте.
  * <p>Действие определяется смещением по X (dx), смещением по Y (dy) и флагом,
  * указывающим на двойной шаг (прыжок).</p>
  */
 public record MoveAction(int dx, int dy, boolean isDouble) implements Action {
+    /** Шаг вверх. */
+    public static final MoveAction UP = new MoveAction(0, -1, false);
+    /** Прыжок вверх. */
+    public static final MoveAction JUMP_UP = new MoveAction(0, -2, true);
+    /** Шаг вправо. */
+    public static final MoveAction RIGHT = new MoveAction(1, 0, false);
+    /** Прыжок вправо. */
+    public static final MoveAction JUMP_RIGHT = new MoveAction(2, 0, true);
+    /** Шаг вниз. */
+    public static final MoveAction DOWN = new MoveAction(0, 1, false);
+    /** Прыжок вниз. */
+    public static final MoveAction JUMP_DOWN = new MoveAction(0, 2, true);
+    /** Шаг влево. */
+    public static final MoveAction LEFT = new MoveAction(-1, 0, false);
+    /** Прыжок влево. */
+    public static final MoveAction JUMP_LEFT = new MoveAction(-2, 0, true);
+
+    /**
+     * Все действия в порядке перебора: для каждого направления (вверх, вправо, вниз, влево)
+     * сначала шаг, затем прыжок. Экземпляры общие и неизменяемые.
+     */
+    public static final List<MoveAction> ALL = List.of(
+            UP, JUMP_UP, RIGHT, JUMP_RIGHT, DOWN, JUMP_DOWN, LEFT, JUMP_LEFT);
+
     /**
      * Возвращает удобочитаемое имя действия (например, "Up", "Jump Left").
      *
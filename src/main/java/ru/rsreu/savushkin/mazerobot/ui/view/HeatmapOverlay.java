@@ -0,0 +1,196 @@
+package ru.rsreu.savushkin.mazerobot.ui.view;
+
+import ru.rsreu.savushkin.mazerobot.core.solver.ExpansionRing;
+
+import javax.swing.Timer;
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.Arrays;
+
+/**
+ * Тепловая карта раскрытых клеток поверх {@link MazePanel} во время поиска.
+ * <p>Решатель пишет раскрытые клетки в {@link ExpansionRing}, а таймер Swing с частотой кадров забирает
+ * из него накопленное и закрашивает клетки в полупрозрачном изображении цветом по порядку раскрытия: от
+ * синего (первые) к красному (последние). Клетки последнего кадра подсвечиваются белым — это текущий фронт
+ * поиска. Изображение хранит по пикселю на блок 2<sup>k</sup> × 2<sup>k</sup> клеток (не больше
+ * {@value #MAX_BLOCKS} блоков), так что для больших лабиринтов клетки одного блока сливаются в один
+ * пиксель, а память ограничена 16 МБ.</p>
+ * <p>За кадр читается не больше {@value #MAX_DRAIN} клеток, и перерисовывается только охватывающий их
+ * прямоугольник. Если интерфейс не успевает, буфер переполняется и решатель отбрасывает лишние клетки,
+ * не замедляясь: карта становится неполной, но время поиска почти не меняется.</p>
+ * <p>Все методы вызываются в потоке обработки событий Swing.</p>
+ */
+final class HeatmapOverlay implements ExpansionRing.CellConsumer {
+    /** Интервал кадров в миллисекундах (около 60 кадров в секунду). */
+    private static final int FRAME_MILLIS = 16;
+    /** Наибольшее количество пикселей изображения. */
+    private static final int MAX_BLOCKS = 1 << 22;
+    /** Наибольшее количество клеток, забираемых из буфера за кадр. */
+    private static final int MAX_DRAIN = 1 << 20;
+    /** Наибольшее количество подсвечиваемых блоков фронта. */
+    private static final int MAX_RECENT = 1 << 16;
+    private static final int ALPHA = 150 << 24;
+    private static final int FRONT_COLOR = 0xF0FFFFFF;
+    /** Цвета по порядку раскрытия: от синего к красному. */
+    private static final int[] PALETTE = new int[256];
+
+    static {
+        for (int i = 0; i < PALETTE.length; i++) {
+            float hue = 0.66f * (1 - i / (PALETTE.length - 1f));
+            PALETTE[i] = ALPHA | (Color.HSBtoRGB(hue, 1f, 1f) & 0xFFFFFF);
+        }
+    }
+
+    private final MazePanel panel;
+    private final int mazeWidth;
+    private final int mazeHeight;
+    /** Двоичный логарифм стороны блока в клетках. */
+    private final int blockShift;
+    /** Двоичный логарифм количества раскрытий на один цвет палитры. */
+    private final int orderShift;
+    private final int blocksWide;
+    private final BufferedImage image;
+    private final int[] pixels;
+    private final Timer timer;
+    /** Блоки последнего кадра и их цвета по порядку раскрытия. */
+    private final int[] recent = new int[MAX_RECENT];
+    private final int[] recentColors = new int[MAX_RECENT];
+    private int recentCount;
+    private ExpansionRing ring;
+    private long order;
+    private int minX;
+    private int minY;
+    private int maxX;
+    private int maxY;
+
+    /**
+     * Создает карту для лабиринта заданного размера.
+     *
+     * @param panel Панель, на которой показывается карта.
+     * @param mazeWidth Ширина лабиринта.
+     * @param mazeHeight Высота лабиринта.
+     */
+    HeatmapOverlay(MazePanel panel, int mazeWidth, int mazeHeight) {
+        this.panel = panel;
+        this.mazeWidth = mazeWidth;
+        this.mazeHeight = mazeHeight;
+        int shift = 0;
+        while ((long) blocks(mazeWidth, shift) * blocks(mazeHeight, shift) > MAX_BLOCKS) shift++;
+        this.blockShift = shift;
+        long cells = (long) mazeWidth * mazeHeight;
+        this.orderShift = Math.max(0, 64 - Long.numberOfLeadingZeros(cells - 1) - 8);
+        this.blocksWide = blocks(mazeWidth, shift);
+        this.image = new BufferedImage(blocksWide, blocks(mazeHeight, shift), BufferedImage.TYPE_INT_ARGB);
+        this.pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        this.timer = new Timer(FRAME_MILLIS, e -> drain());
+    }
+
+    /**
+     * Проверяет, подходит ли карта для лабиринта заданного размера.
+     *
+     * @param width Ширина лабиринта.
+     * @param height Высота лабиринта.
+     * @return {@code true}, если размеры совпадают.
+     */
+    boolean fits(int width, int height) {
+        return width == mazeWidth && height == mazeHeight;
+    }
+
+    /**
+     * Очищает карту и начинает показ раскрытий из буфера.
+     *
+     * @param ring Буфер, в который пишет решатель.
+     */
+    void start(ExpansionRing ring) {
+        Arrays.fill(pixels, 0);
+        this.ring = ring;
+        this.order = 0;
+        this.recentCount = 0;
+        timer.start();
+        panel.repaint();
+    }
+
+    /**
+     * Забирает из буфера оставшиеся клетки, снимает подсветку фронта и останавливает таймер.
+     * Карта остается на панели до следующего запуска.
+     */
+    void stop() {
+        if (ring == null) return;
+        timer.stop();
+        drain();
+        restoreRecent();
+        ring = null;
+        panel.repaint();
+    }
+
+    /**
+     * Рисует видимую часть карты.
+     *
+     * @param g2 Графический контекст панели.
+     * @param scale Масштаб в пикселях на клетку.
+     */
+    void paint(Graphics2D g2, double scale) {
+        Object hint = g2.getRenderingHint(RenderingHints.KEY_INTERPOLATION);
+        g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+        double blockScale = scale * (1 << blockShift);
+        g2.drawImage(image, AffineTransform.getScaleInstance(blockScale, blockScale), null);
+        if (hint != null) g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, hint);
+    }
+
+    @Override
+    public void accept(int x, int y) {
+        if (x < 0 || y < 0 || x >= mazeWidth || y >= mazeHeight) return;
+        int block = (y >> blockShift) * blocksWide + (x >> blockShift);
+        int color = PALETTE[(int) Math.min(PALETTE.length - 1, order++ >>> orderShift)];
+        if (recentCount < MAX_RECENT) {
+            recent[recentCount] = block;
+            recentColors[recentCount++] = color;
+            color = FRONT_COLOR;
+        }
+        pixels[block] = color;
+        minX = Math.min(minX, x);
+        minY = Math.min(minY, y);
+        maxX = Math.max(maxX, x);
+        maxY = Math.max(maxY, y);
+    }
+
+    /**
+     * Кадр таймера: возвращает подсвеченным блокам их цвет, забирает новые клетки и перерисовывает
+     * охватывающий их прямоугольник.
+     */
+    private void drain() {
+        if (ring == null) return;
+        restoreRecent();
+        minX = minY = Integer.MAX_VALUE;
+        maxX = maxY = -1;
+        if (ring.drain(this, MAX_DRAIN) == 0 || maxX < 0) return;
+        panel.repaintCells(minX, minY, maxX, maxY);
+    }
+
+    private void restoreRecent() {
+        if (recentCount == 0) return;
+        int x0 = Integer.MAX_VALUE;
+        int y0 = Integer.MAX_VALUE;
+        int x1 = -1;
+        int y1 = -1;
+        for (int i = 0; i < recentCount; i++) {
+            int block = recent[i];
+            pixels[block] = recentColors[i];
+            int bx = block % blocksWide;
+            int by = block / blocksWide;
+            x0 = Math.min(x0, bx);
+            y0 = Math.min(y0, by);
+            x1 = Math.max(x1, bx);
+            y1 = Math.max(y1, by);
+        }
+        recentCount = 0;
+        panel.repaintCells(x0 << blockShift, y0 << blockShift,
+                ((x1 + 1) << blockShift) - 1, ((y1 + 1) << blockShift) - 1);
+    }
+
+    private static int blocks(int cells, int shift) {
+        return (cells + (1 << shift) - 1) >> shift;
+    }
+}
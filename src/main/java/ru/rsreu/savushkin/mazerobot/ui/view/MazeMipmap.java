@@ -0,0 +1,134 @@
+package ru.rsreu.savushkin.mazerobot.ui.view;
+
+import ru.rsreu.savushkin.mazerobot.core.entity.CellType;
+import ru.rsreu.savushkin.mazerobot.core.model.MazeModel;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Пирамида уменьшенных копий лабиринта (mipmap) для отрисовки при мелком масштабе.
+ * <p>Уровень {@code k} хранит для каждого блока 2<sup>k</sup> × 2<sup>k</sup> ячеек долю стен в нем
+ * (0–255). Первый уровень строится по строкам лабиринта параллельно, каждый следующий — усреднением
+ * четырех значений предыдущего, поэтому пиксель при любом масштабе читается одним обращением к массиву.
+ * Ячейки за границей лабиринта считаются стенами.</p>
+ * <p>Изменение ячейки обновляет по одному значению на каждом уровне. Для лабиринта 10000 × 10000
+ * пирамида занимает около 33 МБ.</p>
+ */
+final class MazeMipmap {
+    private static final int WALL = CellType.WALL.ordinal();
+    /** Количество пар строк первого уровня, обрабатываемых одной задачей при построении. */
+    private static final int ROWS_PER_TASK = 64;
+
+    private final MazeModel maze;
+    private final byte[][] levels;
+    private final int[] widths;
+    private final int[] heights;
+
+    /**
+     * Строит пирамиду.
+     *
+     * @param maze Лабиринт.
+     * @param levelCount Количество уровней (наибольший уровень — сжатие в 2<sup>levelCount</sup> раз).
+     * @throws IllegalArgumentException если количество уровней меньше 1.
+     */
+    MazeMipmap(MazeModel maze, int levelCount) {
+        if (levelCount < 1) throw new IllegalArgumentException("Level count must be positive");
+        this.maze = maze;
+        this.levels = new byte[levelCount + 1][];
+        this.widths = new int[levelCount + 1];
+        this.heights = new int[levelCount + 1];
+        for (int level = 1; level <= levelCount; level++) {
+            widths[level] = (maze.getWidth() + (1 << level) - 1) >> level;
+            heights[level] = (maze.getHeight() + (1 << level) - 1) >> level;
+            levels[level] = new byte[widths[level] * heights[level]];
+        }
+        buildFirstLevel();
+        for (int level = 2; level <= levelCount; level++) {
+            for (int y = 0; y < heights[level]; y++) {
+                for (int x = 0; x < widths[level]; x++) {
+                    levels[level][y * widths[level] + x] = average(level, x, y);
+                }
+            }
+        }
+    }
+
+    /**
+     * Возвращает количество уровней.
+     * @return Количество уровней.
+     */
+    int levelCount() {
+        return levels.length - 1;
+    }
+
+    /**
+     * Возвращает долю стен в блоке.
+     *
+     * @param level Уровень (от 1 до {@link #levelCount()}).
+     * @param x Координата X блока.
+     * @param y Координата Y блока.
+     * @return Доля стен от 0 (только проходы) до 255 (только стены); за границей — 255.
+     */
+    int wallShare(int level, int x, int y) {
+        if (x < 0 || y < 0 || x >= widths[level] || y >= heights[level]) return 255;
+        return levels[level][y * widths[level] + x] & 0xFF;
+    }
+
+    /**
+     * Обновляет блоки, содержащие измененную ячейку.
+     *
+     * @param x Координата X ячейки.
+     * @param y Координата Y ячейки.
+     */
+    void cellChanged(int x, int y) {
+        int bx = x >> 1;
+        int by = y >> 1;
+        int walls = wall(2 * bx, 2 * by) + wall(2 * bx + 1, 2 * by) + wall(2 * bx, 2 * by + 1) + wall(2 * bx + 1, 2 * by + 1);
+        levels[1][by * widths[1] + bx] = share(walls);
+        for (int level = 2; level <= levelCount(); level++) {
+            bx >>= 1;
+            by >>= 1;
+            levels[level][by * widths[level] + bx] = average(level, bx, by);
+        }
+    }
+
+    private void buildFirstLevel() {
+        int width = maze.getWidth();
+        int height = maze.getHeight();
+        int rows = heights[1];
+        IntStream.range(0, (rows + ROWS_PER_TASK - 1) / ROWS_PER_TASK).parallel().forEach(task -> {
+            byte[] upper = new byte[width];
+            byte[] lower = new byte[width];
+            int end = Math.min(rows, (task + 1) * ROWS_PER_TASK);
+            for (int by = task * ROWS_PER_TASK; by < end; by++) {
+                maze.readRow(2 * by, upper);
+                if (2 * by + 1 < height) {
+                    maze.readRow(2 * by + 1, lower);
+                } else {
+                    Arrays.fill(lower, (byte) WALL);
+                }
+                int offset = by * widths[1];
+                for (int bx = 0; bx < widths[1]; bx++) {
+                    int x = 2 * bx;
+                    int walls = (upper[x] == WALL ? 1 : 0) + (lower[x] == WALL ? 1 : 0);
+                    walls += x + 1 < width ? (upper[x + 1] == WALL ? 1 : 0) + (lower[x + 1] == WALL ? 1 : 0) : 2;
+                    levels[1][offset + bx] = share(walls);
+                }
+            }
+        });
+    }
+
+    private byte average(int level, int x, int y) {
+        int sum = wallShare(level - 1, 2 * x, 2 * y) + wallShare(level - 1, 2 * x + 1, 2 * y)
+                + wallShare(level - 1, 2 * x, 2 * y + 1) + wallShare(level - 1, 2 * x + 1, 2 * y + 1);
+        return (byte) ((sum + 2) / 4);
+    }
+
+    private int wall(int x, int y) {
+        return maze.isWall(x, y) ? 1 : 0;
+    }
+
+    private static byte share(int walls) {
+        return (byte) ((walls * 255 + 2) / 4);
+    }
+}
@@ -3,34 +3,117 @@ package ru.rsreu.savushkin.mazerobot.ui.view;
 import ru.rsreu.savushkin.mazerobot.core.entity.CellType;
 import ru.rsreu.savushkin.mazerobot.core.model.MazeModel;
 import ru.rsreu.savushkin.mazerobot.core.model.RobotAgent;
+import ru.rsreu.savushkin.mazerobot.core.solver.ExpansionRing;
 import ru.rsreu.savushkin.mazerobot.core.state.maze.MazeState;
 
 import javax.swing.*;
 import java.awt.*;
-import java.util.List;
+import java.awt.event.ActionEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.image.BufferedImage;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * Панель для отображения лабиринта, робота и найденного пути.
  * <p>Отвечает за графическое представление данных из {@link MazeModel} и {@link RobotAgent}.</p>
- * <p>Использует {@code Graphics2D} для включения сглаживания (anti-aliasing) и применяет
- * стилизованные цвета и фигуры для улучшения визуального восприятия элементов.</p>
+ * <p>Панель рассчитана на размещение в {@link JScrollPane} и поддерживает масштаб от 48 пикселей на
+ * ячейку до одного пикселя на блок 64 × 64 ячейки (Ctrl + колесо мыши или клавиши {@code +}/{@code -};
+ * перетаскивание правой или средней кнопкой прокручивает лабиринт). Неизменная часть картинки (пол,
+ * стены, сетка и клад) рисуется плитками {@value #TILE_SIZE} × {@value #TILE_SIZE} пикселей, которые
+ * хранятся в LRU-кэше и перерисовываются только при изменении ячейки или масштаба. Отрисовка копирует
+ * лишь плитки, попавшие в область отсечения, поэтому ее стоимость зависит от размера окна, а не
+ * лабиринта.</p>
+ * <p>Уровень детализации зависит от масштаба: крупные ячейки рисуются фигурами с сеткой, мелкие —
+ * попиксельно, а при масштабе меньше пикселя на ячейку цвет пикселя берется из пирамиды
+ * {@link MazeMipmap} (доля стен в блоке). Робот и клад при мелком масштабе показываются метками
+ * фиксированного размера. Перемещение робота и удлинение пути перерисовывают лишь затронутые ячейки.</p>
+ * <p>Во время поиска поверх лабиринта может показываться тепловая карта раскрытых клеток
+ * ({@link HeatmapOverlay}).</p>
+ * <p>Все методы вызываются в потоке обработки событий Swing.</p>
  */
-public class MazePanel extends JPanel {
+public class MazePanel extends JPanel implements Scrollable {
     private final MazeModel maze;
     private final RobotAgent<MazeState> agent;
-    /** Список состояний, составляющих найденный путь (для визуализации). */
-    private List<MazeState> path = List.of();
-    /** Размер одной ячейки в пикселях. */
+    /** Клетки показанного пути по индексу {@code y * width + x}: отрисовка перебирает только видимые клетки. */
+    private final BitSet pathCells = new BitSet();
+    /** Кэш плиток неизменной части картинки в порядке последнего использования. */
+    private final transient Map<Long, BufferedImage> tiles = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, BufferedImage> eldest) {
+            return size() > MAX_TILES;
+        }
+    };
+    /** Буфер пикселей плитки при попиксельной отрисовке. */
+    private final int[] tilePixels = new int[TILE_SIZE * TILE_SIZE];
+    /** Пирамида для мелкого масштаба; строится при первом переходе к нему. */
+    private transient MazeMipmap mipmap;
+    /** Тепловая карта раскрытых клеток; создается при первом показе. */
+    private transient HeatmapOverlay heatmap;
+    /** Показывается ли тепловая карта. */
+    private boolean heatmapVisible;
+    /** Клетка, в которой робот нарисован последним (ее нужно стереть при перемещении). */
+    private transient MazeState robotCell;
+    /** Индекс текущего масштаба в {@link #ZOOM_LEVELS}. */
+    private int zoomIndex;
+    /** Размер ячейки в пикселях (1 при масштабе меньше пикселя на ячейку). */
+    private int cellSize;
+    /** Двоичный логарифм числа ячеек на пиксель (0 при масштабе от пикселя на ячейку). */
+    private int shift;
+    /** Ромб клада относительно левого верхнего угла ячейки при текущем масштабе. */
+    private Polygon treasureShape;
+    /** Точка начала перетаскивания в экранных координатах. */
+    private Point dragOrigin;
+
+    /** Размер ячейки в пикселях по умолчанию. */
     private static final int CELL_SIZE = 35;
+    /**
+     * Масштабы: положительное значение — размер ячейки в пикселях, отрицательное {@code -k} — один
+     * пиксель на блок 2<sup>k</sup> × 2<sup>k</sup> ячеек.
+     */
+    private static final int[] ZOOM_LEVELS = {-6, -5, -4, -3, -2, -1, 1, 2, 3, 4, 6, 8, 12, 16, 24, CELL_SIZE, 48};
+    /** Наименьший размер ячейки, при котором рисуются сетка и фигуры. */
+    private static final int DETAIL_CELL_SIZE = 6;
+    /** Размер меток робота и клада при мелком масштабе. */
+    private static final int MARKER_SIZE = 7;
+    private static final int TILE_SIZE = 256;
+    /** Наибольшее количество плиток в кэше (около 32 МБ). */
+    private static final int MAX_TILES = 128;
+    /** Наибольший размер области прокрутки, которую панель запрашивает при компоновке окна. */
+    private static final Dimension MAX_VIEWPORT = new Dimension(1200, 800);
 
     // Новые константы цветов для улучшения визуала
     private static final Color WALL_COLOR = new Color(50, 50, 50); // Почти черный
     private static final Color FLOOR_COLOR = new Color(230, 230, 230); // Светло-серый пол
+    private static final Color TERRAIN_COLOR = new Color(150, 110, 60); // Самая дорогая клетка рельефа
+    private static final Color GRID_COLOR = Color.GRAY.darker();
     private static final Color TREASURE_COLOR = new Color(255, 215, 0); // Золотой
+    private static final Color PATH_COLOR = new Color(30, 144, 255, 150); // Полупрозрачный синий
     private static final Color ROBOT_BODY_COLOR = new Color(20, 20, 150); // Глубокий синий
+    /** Цвета пикселя по доле стен в блоке: от пола к стене. */
+    private static final int[] SHADES = new int[256];
+
+    static {
+        for (int share = 0; share < SHADES.length; share++) {
+            SHADES[share] = blend(FLOOR_COLOR, WALL_COLOR, share / 255.0).getRGB();
+        }
+    }
+
+    /** Цвета пола по стоимости клетки: от обычного пола (1) к цвету рельефа. */
+    private static final Color[] TERRAIN_SHADES = new Color[MazeModel.MAX_TERRAIN_COST + 1];
+
+    static {
+        for (int cost = 1; cost < TERRAIN_SHADES.length; cost++) {
+            TERRAIN_SHADES[cost] = blend(FLOOR_COLOR, TERRAIN_COLOR, (cost - 1) / (MazeModel.MAX_TERRAIN_COST - 1.0));
+        }
+    }
 
     /**
      * Создает новую панель лабиринта.
+     * <p>Начальный масштаб — наибольший, не превышающий {@value #CELL_SIZE} пикселей на ячейку,
+     * при котором лабиринт целиком помещается в область просмотра.</p>
      *
      * @param maze Модель лабиринта.
      * @param agent Агент, представляющий робота.
@@ -38,24 +121,144 @@ public class MazePanel extends JPanel {
     public MazePanel(MazeModel maze, RobotAgent<MazeState> agent) {
         this.maze = maze;
         this.agent = agent;
-        setPreferredSize(new Dimension(maze.getWidth() * CELL_SIZE, maze.getHeight() * CELL_SIZE));
+        this.robotCell = agent.getCurrentState();
+        int initial = 0;
+        for (int i = 0; i < ZOOM_LEVELS.length && ZOOM_LEVELS[i] <= CELL_SIZE; i++) {
+            setZoomIndex(i);
+            if (extent(maze.getWidth()) <= MAX_VIEWPORT.width && extent(maze.getHeight()) <= MAX_VIEWPORT.height) initial = i;
+        }
+        setZoomIndex(initial);
         setFocusable(true);
+        setupZoomAndPan();
+    }
+
+    /**
+     * Убирает показанный путь и перерисовывает панель.
+     */
+    public void clearPath() {
+        if (pathCells.isEmpty()) return;
+        pathCells.clear();
+        repaint();
+    }
+
+    /**
+     * Добавляет клетку к показанному пути и перерисовывает только ее.
+     *
+     * @param cell Клетка пути.
+     */
+    public void appendPath(MazeState cell) {
+        pathCells.set(index(cell.x(), cell.y()));
+        repaintCell(cell);
+    }
+
+    /**
+     * Начинает показ тепловой карты раскрытых клеток, которые решатель пишет в буфер.
+     * Прежняя карта стирается.
+     *
+     * @param ring Буфер раскрытых клеток.
+     */
+    public void startHeatmap(ExpansionRing ring) {
+        if (heatmap == null || !heatmap.fits(maze.getWidth(), maze.getHeight())) {
+            if (heatmap != null) heatmap.stop();
+            heatmap = new HeatmapOverlay(this, maze.getWidth(), maze.getHeight());
+        }
+        heatmapVisible = true;
+        heatmap.start(ring);
+    }
+
+    /**
+     * Дорисовывает оставшиеся в буфере клетки и прекращает обновление карты. Карта остается видимой.
+     */
+    public void stopHeatmap() {
+        if (heatmap != null) heatmap.stop();
+    }
+
+    /**
+     * Останавливает и скрывает тепловую карту.
+     */
+    public void clearHeatmap() {
+        stopHeatmap();
+        if (!heatmapVisible) return;
+        heatmapVisible = false;
+        repaint();
+    }
+
+    /**
+     * Обновляет плитки и пирамиду после изменения ячейки лабиринта и перерисовывает ячейку.
+     *
+     * @param x Координата X ячейки.
+     * @param y Координата Y ячейки.
+     */
+    public void cellChanged(int x, int y) {
+        if (mipmap != null) mipmap.cellChanged(x, y);
+        Rectangle bounds = cellBounds(new MazeState(x, y));
+        for (int ty = bounds.y / TILE_SIZE; ty <= (bounds.y + bounds.height - 1) / TILE_SIZE; ty++) {
+            for (int tx = bounds.x / TILE_SIZE; tx <= (bounds.x + bounds.width - 1) / TILE_SIZE; tx++) {
+                tiles.remove(tileKey(tx, ty));
+            }
+        }
+        repaint(bounds);
     }
 
     /**
-     * Обновляет путь для отображения и перерисовывает панель.
+     * Перерисовывает прежнюю и текущую ячейки робота после его перемещения и прокручивает
+     * область просмотра так, чтобы робот оставался видимым.
+     */
+    public void robotMoved() {
+        repaintCell(robotCell);
+        robotCell = agent.getCurrentState();
+        repaintCell(robotCell);
+        if (robotCell != null) scrollRectToVisible(cellBounds(robotCell));
+    }
+
+    /**
+     * Изменяет масштаб, сохраняя под точкой привязки ту же ячейку.
      *
-     * @param path Новый список состояний пути.
+     * @param steps Количество шагов масштаба (положительное — крупнее).
+     * @param anchor Точка привязки в координатах панели.
      */
-    public void updatePath(List<MazeState> path) {
-        this.path = path != null ? List.copyOf(path) : List.of();
+    public void zoom(int steps, Point anchor) {
+        int index = Math.max(0, Math.min(ZOOM_LEVELS.length - 1, zoomIndex + steps));
+        if (index == zoomIndex) return;
+        double scale = scale();
+        double cellX = anchor.x / scale;
+        double cellY = anchor.y / scale;
+        JViewport viewport = (JViewport) SwingUtilities.getAncestorOfClass(JViewport.class, this);
+        Point offset = new Point(anchor);
+        if (viewport != null) {
+            Point view = viewport.getViewPosition();
+            offset.translate(-view.x, -view.y);
+        }
+
+        setZoomIndex(index);
+        if (viewport != null) {
+            // Размер меняем сразу, иначе область просмотра ограничит новую позицию прежним размером
+            setSize(getPreferredSize());
+            Dimension extent = viewport.getExtentSize();
+            int x = (int) Math.round(cellX * scale() - offset.x);
+            int y = (int) Math.round(cellY * scale() - offset.y);
+            viewport.setViewPosition(new Point(
+                    Math.max(0, Math.min(x, getWidth() - extent.width)),
+                    Math.max(0, Math.min(y, getHeight() - extent.height))));
+        }
+        revalidate();
         repaint();
     }
 
+    /**
+     * Возвращает ячейку лабиринта под точкой панели.
+     *
+     * @param point Точка в координатах панели.
+     * @return Состояние с координатами ячейки (может быть вне границ лабиринта).
+     */
+    public MazeState cellAt(Point point) {
+        return new MazeState(cell(point.x), cell(point.y));
+    }
+
     /**
      * Метод отрисовки компонентов панели.
-     * <p>Отрисовывает сетку лабиринта, стилизованный клад (ромб), анимированный путь и
-     * стилизованный робот (закругленный квадрат с датчиком).</p>
+     * <p>Копирует видимые плитки лабиринта и поверх них рисует тепловую карту, видимые клетки пути, метку клада
+     * (при мелком масштабе) и робота.</p>
      *
      * @param g Графический контекст.
      */
@@ -63,76 +266,350 @@ public class MazePanel extends JPanel {
     protected void paintComponent(Graphics g) {
         super.paintComponent(g);
         Graphics2D g2 = (Graphics2D) g;
+        Rectangle clip = g2.getClipBounds();
+        if (clip == null) clip = new Rectangle(0, 0, getWidth(), getHeight());
+
+        // --- 1. Лабиринт и клад из кэша плиток ---
+        int lastTileX = (extent(maze.getWidth()) - 1) / TILE_SIZE;
+        int lastTileY = (extent(maze.getHeight()) - 1) / TILE_SIZE;
+        for (int ty = Math.max(0, clip.y / TILE_SIZE); ty <= Math.min(lastTileY, (clip.y + clip.height - 1) / TILE_SIZE); ty++) {
+            for (int tx = Math.max(0, clip.x / TILE_SIZE); tx <= Math.min(lastTileX, (clip.x + clip.width - 1) / TILE_SIZE); tx++) {
+                g2.drawImage(tile(tx, ty), tx * TILE_SIZE, ty * TILE_SIZE, null);
+            }
+        }
+
+        // --- 2. Тепловая карта раскрытых клеток ---
+        if (heatmapVisible) heatmap.paint(g2, scale());
 
-        // Включаем сглаживание для улучшения качества отрисовки фигур
         g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        // Метки мелкого масштаба выходят за ячейку, поэтому область перебора расширяется на их размер
+        Rectangle area = new Rectangle(clip);
+        if (cellSize < DETAIL_CELL_SIZE) area.grow(MARKER_SIZE, MARKER_SIZE);
 
-        // --- 1. Отрисовка лабиринта (стен и пола) ---
-        for (int y = 0; y < maze.getHeight(); y++) {
-            for (int x = 0; x < maze.getWidth(); x++) {
-                CellType cell = maze.getCell(x, y);
+        // --- 3. Отрисовка видимой части найденного пути ---
+        int width = maze.getWidth();
+        int x0 = Math.max(0, cell(area.x));
+        int x1 = Math.min(width - 1, cell(area.x + area.width));
+        int y0 = Math.max(0, cell(area.y));
+        int y1 = Math.min(maze.getHeight() - 1, cell(area.y + area.height));
+        int inset = cellSize * 8 / CELL_SIZE;
+        g2.setColor(PATH_COLOR);
+        for (int y = y0; y <= y1; y++) {
+            int row = y * width;
+            for (int i = pathCells.nextSetBit(row + x0); i >= 0 && i <= row + x1; i = pathCells.nextSetBit(i)) {
+                int x = i - row;
+                if (cellSize >= DETAIL_CELL_SIZE) {
+                    g2.fillOval(x * cellSize + inset, y * cellSize + inset, cellSize - 2 * inset, cellSize - 2 * inset);
+                } else {
+                    g2.fillRect(pixels(x), pixels(y), cellSize, cellSize);
+                }
+                // Остальные клетки того же пикселя уже закрашены
+                i = row + cell(pixels(x) + cellSize);
+            }
+        }
 
-                // Отрисовка фона ячейки
-                g2.setColor(cell == CellType.WALL ? WALL_COLOR : FLOOR_COLOR);
-                g2.fillRect(x * CELL_SIZE, y * CELL_SIZE, CELL_SIZE, CELL_SIZE);
+        // --- 4. Метка клада при мелком масштабе ---
+        MazeState goal = maze.getGoal();
+        if (cellSize < DETAIL_CELL_SIZE && goal != null && clip.intersects(cellBounds(goal))) {
+            Point c = center(goal);
+            int r = MARKER_SIZE / 2;
+            Polygon diamond = new Polygon(new int[]{c.x, c.x + r, c.x, c.x - r}, new int[]{c.y - r, c.y, c.y + r, c.y}, 4);
+            g2.setColor(TREASURE_COLOR);
+            g2.fillPolygon(diamond);
+            g2.setColor(Color.BLACK);
+            g2.drawPolygon(diamond);
+        }
 
-                // Отрисовка сетки
-                g2.setColor(Color.GRAY.darker());
-                g2.drawRect(x * CELL_SIZE, y * CELL_SIZE, CELL_SIZE, CELL_SIZE);
+        // --- 5. Отрисовка робота (стилизованный закругленный квадрат) ---
+        MazeState current = agent.getCurrentState();
+        if (current != null && clip.intersects(cellBounds(current))) {
+            if (cellSize >= DETAIL_CELL_SIZE) {
+                paintRobot(g2, current.x() * cellSize, current.y() * cellSize);
+            } else {
+                Point c = center(current);
+                g2.setColor(ROBOT_BODY_COLOR);
+                g2.fillRect(c.x - MARKER_SIZE / 2, c.y - MARKER_SIZE / 2, MARKER_SIZE, MARKER_SIZE);
+                g2.setColor(Color.CYAN.brighter());
+                g2.drawRect(c.x - MARKER_SIZE / 2, c.y - MARKER_SIZE / 2, MARKER_SIZE - 1, MARKER_SIZE - 1);
             }
         }
+    }
 
-        // --- 2. Отрисовка клада (стилизованный ромб) ---
-        for (int y = 0; y < maze.getHeight(); y++) {
-            for (int x = 0; x < maze.getWidth(); x++) {
-                if (maze.getCell(x, y) == CellType.TREASURE) {
-                    // Координаты для ромба
-                    int[] xPoints = {
-                            x * CELL_SIZE + CELL_SIZE / 2,
-                            x * CELL_SIZE + CELL_SIZE - 5,
-                            x * CELL_SIZE + CELL_SIZE / 2,
-                            x * CELL_SIZE + 5
-                    };
-                    int[] yPoints = {
-                            y * CELL_SIZE + 5,
-                            y * CELL_SIZE + CELL_SIZE / 2,
-                            y * CELL_SIZE + CELL_SIZE - 5,
-                            y * CELL_SIZE + CELL_SIZE / 2
-                    };
+    private void paintRobot(Graphics2D g2, int x, int y) {
+        int inset = cellSize * 5 / CELL_SIZE;
+        int arc = cellSize * 10 / CELL_SIZE;
+        int sensor = cellSize * 12 / CELL_SIZE;
 
-                    g2.setColor(TREASURE_COLOR);
-                    g2.fillPolygon(xPoints, yPoints, 4);
+        // Корпус
+        g2.setColor(ROBOT_BODY_COLOR);
+        g2.fillRoundRect(x + inset, y + inset, cellSize - 2 * inset, cellSize - 2 * inset, arc, arc);
 
-                    // Блик
-                    g2.setColor(Color.WHITE);
-                    g2.fillOval(x * CELL_SIZE + CELL_SIZE / 2 - 3, y * CELL_SIZE + 5, 5, 5);
+        // Датчик/Экран
+        g2.setColor(Color.CYAN.brighter());
+        g2.fillOval(x + (cellSize - sensor) / 2, y + (cellSize - sensor) / 2, sensor, sensor);
+
+        // Граница корпуса
+        g2.setColor(Color.BLACK);
+        g2.drawRoundRect(x + inset, y + inset, cellSize - 2 * inset, cellSize - 2 * inset, arc, arc);
+    }
+
+    /**
+     * Возвращает плитку из кэша, при необходимости рисуя ее.
+     */
+    private BufferedImage tile(int tx, int ty) {
+        long key = tileKey(tx, ty);
+        BufferedImage tile = tiles.get(key);
+        if (tile == null) {
+            tile = renderTile(tx, ty);
+            tiles.put(key, tile);
+        }
+        return tile;
+    }
+
+    private BufferedImage renderTile(int tx, int ty) {
+        BufferedImage tile = new BufferedImage(TILE_SIZE, TILE_SIZE, BufferedImage.TYPE_INT_RGB);
+        int px0 = tx * TILE_SIZE;
+        int py0 = ty * TILE_SIZE;
+        if (cellSize >= DETAIL_CELL_SIZE) {
+            Graphics2D g2 = tile.createGraphics();
+            g2.setColor(getBackground());
+            g2.fillRect(0, 0, TILE_SIZE, TILE_SIZE);
+            g2.translate(-px0, -py0);
+            int x1 = Math.min(maze.getWidth() - 1, (px0 + TILE_SIZE - 1) / cellSize);
+            int y1 = Math.min(maze.getHeight() - 1, (py0 + TILE_SIZE - 1) / cellSize);
+            // Линия сетки правой/нижней соседней плитки заходит на эту, поэтому начинаем на ячейку раньше
+            for (int y = Math.max(0, py0 / cellSize - 1); y <= y1; y++) {
+                for (int x = Math.max(0, px0 / cellSize - 1); x <= x1; x++) {
+                    paintCell(g2, x, y);
                 }
             }
+            g2.dispose();
+            return tile;
         }
 
-        // --- 3. Отрисовка найденного пути ---
-        g2.setColor(new Color(30, 144, 255, 150)); // Полупрозрачный синий
-        for (MazeState s : path) {
-            g2.fillOval(s.x() * CELL_SIZE + 8, s.y() * CELL_SIZE + 8, CELL_SIZE - 16, CELL_SIZE - 16);
+        if (shift > 0 && mipmap == null) mipmap = new MazeMipmap(maze, -ZOOM_LEVELS[0]);
+        int background = getBackground().getRGB();
+        int width = maze.getWidth();
+        int height = maze.getHeight();
+        for (int py = 0; py < TILE_SIZE; py++) {
+            int y = cell(py0 + py);
+            for (int px = 0; px < TILE_SIZE; px++) {
+                int x = cell(px0 + px);
+                int color;
+                if (x >= width || y >= height) {
+                    color = background;
+                } else if (shift > 0) {
+                    color = SHADES[mipmap.wallShare(shift, px0 + px, py0 + py)];
+                } else {
+                    color = switch (maze.getCell(x, y)) {
+                        case WALL -> WALL_COLOR.getRGB();
+                        case TREASURE -> TREASURE_COLOR.getRGB();
+                        default -> floorColor(x, y).getRGB();
+                    };
+                }
+                tilePixels[py * TILE_SIZE + px] = color;
+            }
         }
+        tile.setRGB(0, 0, TILE_SIZE, TILE_SIZE, tilePixels, 0, TILE_SIZE);
+        return tile;
+    }
 
-        // --- 4. Отрисовка робота (стилизованный закругленный квадрат) ---
-        MazeState current = agent.getCurrentState();
-        if (current != null) {
-            int x = current.x() * CELL_SIZE;
-            int y = current.y() * CELL_SIZE;
+    /**
+     * Рисует одну ячейку лабиринта: фон, сетку и клад (стилизованный ромб с бликом).
+     */
+    private void paintCell(Graphics2D g2, int x, int y) {
+        CellType cell = maze.getCell(x, y);
+        int px = x * cellSize;
+        int py = y * cellSize;
 
-            // Корпус
-            g2.setColor(ROBOT_BODY_COLOR);
-            g2.fillRoundRect(x + 5, y + 5, CELL_SIZE - 10, CELL_SIZE - 10, 10, 10);
+        // Отрисовка фона ячейки
+        g2.setColor(cell == CellType.WALL ? WALL_COLOR : floorColor(x, y));
+        g2.fillRect(px, py, cellSize, cellSize);
 
-            // Датчик/Экран
-            g2.setColor(Color.CYAN.brighter());
-            g2.fillOval(x + CELL_SIZE / 2 - 6, y + CELL_SIZE / 2 - 6, 12, 12);
+        // Отрисовка сетки
+        g2.setColor(GRID_COLOR);
+        g2.drawRect(px, py, cellSize, cellSize);
 
-            // Граница корпуса
-            g2.setColor(Color.BLACK);
-            g2.drawRoundRect(x + 5, y + 5, CELL_SIZE - 10, CELL_SIZE - 10, 10, 10);
+        if (cell == CellType.TREASURE) {
+            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g2.translate(px, py);
+            g2.setColor(TREASURE_COLOR);
+            g2.fillPolygon(treasureShape);
+
+            // Блик
+            int glint = Math.max(2, cellSize / 7);
+            g2.setColor(Color.WHITE);
+            g2.fillOval(cellSize / 2 - glint / 2 - 1, treasureShape.ypoints[0], glint, glint);
+            g2.translate(-px, -py);
+            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF);
         }
     }
+
+    private void setupZoomAndPan() {
+        addMouseWheelListener(e -> {
+            if (e.isControlDown()) {
+                zoom(e.getWheelRotation() < 0 ? 1 : -1, e.getPoint());
+            } else {
+                // Без Ctrl колесо прокручивает лабиринт: передаем событие области прокрутки
+                JScrollPane scroll = (JScrollPane) SwingUtilities.getAncestorOfClass(JScrollPane.class, this);
+                if (scroll != null) scroll.dispatchEvent(SwingUtilities.convertMouseEvent(this, e, scroll));
+            }
+        });
+
+        MouseAdapter pan = new MouseAdapter() {
+            @Override
+            public void mousePressed(MouseEvent e) {
+                if (!SwingUtilities.isLeftMouseButton(e)) dragOrigin = e.getLocationOnScreen();
+            }
+
+            @Override
+            public void mouseDragged(MouseEvent e) {
+                if (dragOrigin == null) return;
+                Point now = e.getLocationOnScreen();
+                Rectangle visible = getVisibleRect();
+                visible.translate(dragOrigin.x - now.x, dragOrigin.y - now.y);
+                scrollRectToVisible(visible);
+                dragOrigin = now;
+            }
+
+            @Override
+            public void mouseReleased(MouseEvent e) {
+                dragOrigin = null;
+            }
+        };
+        addMouseListener(pan);
+        addMouseMotionListener(pan);
+
+        bindZoomKey("zoomIn", 1, KeyStroke.getKeyStroke('+'), KeyStroke.getKeyStroke('='));
+        bindZoomKey("zoomOut", -1, KeyStroke.getKeyStroke('-'));
+    }
+
+    private void bindZoomKey(String name, int steps, KeyStroke... keys) {
+        for (KeyStroke key : keys) getInputMap(WHEN_FOCUSED).put(key, name);
+        getActionMap().put(name, new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                Rectangle visible = getVisibleRect();
+                zoom(steps, new Point((int) visible.getCenterX(), (int) visible.getCenterY()));
+            }
+        });
+    }
+
+    private void setZoomIndex(int index) {
+        zoomIndex = index;
+        int level = ZOOM_LEVELS[index];
+        cellSize = Math.max(1, level);
+        shift = Math.max(0, -level);
+        int inset = Math.max(1, cellSize / 7);
+        treasureShape = new Polygon(
+                new int[]{cellSize / 2, cellSize - inset, cellSize / 2, inset},
+                new int[]{inset, cellSize / 2, cellSize - inset, cellSize / 2}, 4);
+        tiles.clear();
+        setPreferredSize(new Dimension(extent(maze.getWidth()), extent(maze.getHeight())));
+    }
+
+    /**
+     * Возвращает масштаб в пикселях на ячейку.
+     */
+    private double scale() {
+        return shift > 0 ? 1.0 / (1 << shift) : cellSize;
+    }
+
+    /**
+     * Переводит координату ячейки в координату пикселя.
+     */
+    private int pixels(int cell) {
+        return shift > 0 ? cell >> shift : cell * cellSize;
+    }
+
+    /**
+     * Возвращает размер в пикселях, занимаемый заданным количеством ячеек.
+     */
+    private int extent(int cells) {
+        return shift > 0 ? (cells + (1 << shift) - 1) >> shift : cells * cellSize;
+    }
+
+    /**
+     * Переводит координату пикселя в координату ячейки.
+     */
+    private int cell(int pixel) {
+        return shift > 0 ? pixel << shift : Math.floorDiv(pixel, cellSize);
+    }
+
+    private Point center(MazeState cell) {
+        return new Point(pixels(cell.x()) + cellSize / 2, pixels(cell.y()) + cellSize / 2);
+    }
+
+    /**
+     * Перерисовывает прямоугольник ячеек (включительно).
+     */
+    void repaintCells(int x0, int y0, int x1, int y1) {
+        int left = pixels(x0);
+        int top = pixels(y0);
+        repaint(left, top, pixels(x1) + cellSize - left + 1, pixels(y1) + cellSize - top + 1);
+    }
+
+    private void repaintCell(MazeState cell) {
+        if (cell != null) repaint(cellBounds(cell));
+    }
+
+    /**
+     * Возвращает область ячейки вместе с правой и нижней линиями сетки, а при мелком масштабе —
+     * область метки.
+     */
+    private Rectangle cellBounds(MazeState cell) {
+        if (cellSize >= DETAIL_CELL_SIZE) {
+            return new Rectangle(cell.x() * cellSize, cell.y() * cellSize, cellSize + 1, cellSize + 1);
+        }
+        Point c = center(cell);
+        return new Rectangle(c.x - MARKER_SIZE, c.y - MARKER_SIZE, 2 * MARKER_SIZE + 1, 2 * MARKER_SIZE + 1);
+    }
+
+    private static long tileKey(int tx, int ty) {
+        return ((long) ty << 32) | (tx & 0xFFFFFFFFL);
+    }
+
+    private int index(int x, int y) {
+        return y * maze.getWidth() + x;
+    }
+
+    /**
+     * Возвращает цвет пола клетки с учетом ее стоимости (рельефа).
+     */
+    private Color floorColor(int x, int y) {
+        return maze.hasTerrain() ? TERRAIN_SHADES[maze.getTerrainCost(x, y)] : FLOOR_COLOR;
+    }
+
+    private static Color blend(Color from, Color to, double t) {
+        return new Color(
+                (int) Math.round(from.getRed() + (to.getRed() - from.getRed()) * t),
+                (int) Math.round(from.getGreen() + (to.getGreen() - from.getGreen()) * t),
+                (int) Math.round(from.getBlue() + (to.getBlue() - from.getBlue()) * t));
+    }
+
+    @Override
+    public Dimension getPreferredScrollableViewportSize() {
+        Dimension size = getPreferredSize();
+        return new Dimension(Math.min(size.width, MAX_VIEWPORT.width), Math.min(size.height, MAX_VIEWPORT.height));
+    }
+
+    @Override
+    public int getScrollableUnitIncrement(Rectangle visibleRect, int orientation, int direction) {
+        return Math.max(cellSize, 16);
+    }
+
+    @Override
+    public int getScrollableBlockIncrement(Rectangle visibleRect, int orientation, int direction) {
+        return orientation == SwingConstants.HORIZONTAL ? visibleRect.width : visibleRect.height;
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportWidth() {
+        return false;
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportHeight() {
+        return false;
+    }
 }
\ No newline at end of file
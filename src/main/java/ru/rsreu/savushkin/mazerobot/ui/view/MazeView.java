@@ -2,10 +2,15 @@ package ru.rsreu.savushkin.mazerobot.ui.view;
 
 import ru.rsreu.savushkin.mazerobot.core.controller.MazeController;
 import ru.rsreu.savushkin.mazerobot.core.entity.Event;
+import ru.rsreu.savushkin.mazerobot.core.entity.MazeChangeEvent;
+import ru.rsreu.savushkin.mazerobot.core.entity.PathComputedEvent;
+import ru.rsreu.savushkin.mazerobot.core.entity.StateChangeEvent;
 import ru.rsreu.savushkin.mazerobot.core.model.Listener;
 import ru.rsreu.savushkin.mazerobot.core.model.MazeModel;
 import ru.rsreu.savushkin.mazerobot.core.model.RobotAgent;
+import ru.rsreu.savushkin.mazerobot.core.solver.ExpansionRing;
 import ru.rsreu.savushkin.mazerobot.core.solver.PathFindingManager;
+import ru.rsreu.savushkin.mazerobot.core.solver.SearchStats;
 import ru.rsreu.savushkin.mazerobot.core.state.State;
 import ru.rsreu.savushkin.mazerobot.core.state.maze.MazeState;
 
@@ -13,9 +18,8 @@ import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import java.awt.*;
 import java.awt.event.KeyListener;
+import java.awt.event.MouseListener;
 import java.util.List;
-import java.util.Timer;
-import java.util.TimerTask;
 
 /**
  * Главное окно приложения (Представление - View).
@@ -26,8 +30,14 @@ public class MazeView extends JFrame implements Listener {
     private final MazePanel mazePanel;
     private final JButton startButton = new JButton("START GAME");
     private final JButton findPathButton = new JButton("FIND PATH");
+    private final JButton cancelButton = new JButton("CANCEL");
+    private final JLabel progressLabel = new JLabel(" ");
+    private final JButton skipButton = new JButton("SKIP");
+    /** Скорость анимации пути по логарифмической шкале: 10<sup>value/10</sup> клеток в секунду. */
+    private final JSlider speedSlider = new JSlider(0, 40, 10);
+    private final JCheckBox heatmapBox = new JCheckBox("Heatmap");
+    private final transient PathAnimator animator;
     private final JComboBox<String> algorithmBox;
-    private final PathFindingManager pathMgr;
     private MazeController controller;
 
     // Стилизация для улучшения внешнего вида
@@ -35,8 +45,8 @@ public class MazeView extends JFrame implements Listener {
     private static final Font BOLD_FONT = new Font("Arial", Font.BOLD, 12);
 
     public MazeView(MazeModel maze, RobotAgent<MazeState> agent, PathFindingManager pathMgr) {
-        this.pathMgr = pathMgr;
         this.mazePanel = new MazePanel(maze, agent);
+        this.animator = new PathAnimator(mazePanel, animationSpeed());
 
         setTitle("Intelligent Maze Robot Solver");
         setDefaultCloseOperation(EXIT_ON_CLOSE);
@@ -45,7 +55,9 @@ public class MazeView extends JFrame implements Listener {
         // 1. Панель для центрирования лабиринта с отступами
         JPanel centerPanel = new JPanel(new BorderLayout());
         centerPanel.setBorder(new EmptyBorder(10, 10, 5, 10)); // Внешний отступ вокруг лабиринта
-        centerPanel.add(mazePanel, BorderLayout.CENTER);
+        JScrollPane scrollPane = new JScrollPane(mazePanel);
+        scrollPane.setBorder(BorderFactory.createEmptyBorder());
+        centerPanel.add(scrollPane, BorderLayout.CENTER);
         add(centerPanel, BorderLayout.CENTER);
 
         // 2. Панель элементов управления (Controls)
@@ -67,6 +79,32 @@ public class MazeView extends JFrame implements Listener {
         findPathButton.setFocusPainted(false);
         findPathButton.addActionListener(e -> controller.findPath());
 
+        // Кнопка CANCEL (доступна только во время поиска)
+        cancelButton.setFont(BOLD_FONT);
+        cancelButton.setBackground(Color.LIGHT_GRAY);
+        cancelButton.setFocusPainted(false);
+        cancelButton.setEnabled(false);
+        cancelButton.addActionListener(e -> controller.cancelSearch());
+
+        // Кнопка SKIP (доступна только во время анимации пути)
+        skipButton.setFont(BOLD_FONT);
+        skipButton.setBackground(Color.LIGHT_GRAY);
+        skipButton.setFocusPainted(false);
+        skipButton.setEnabled(false);
+        skipButton.addActionListener(e -> animator.skipToEnd());
+
+        // Ползунок скорости анимации (от 1 до 10 000 клеток в секунду)
+        speedSlider.setFocusable(false);
+        speedSlider.setPreferredSize(new Dimension(120, speedSlider.getPreferredSize().height));
+        speedSlider.addChangeListener(e -> animator.setSpeed(animationSpeed()));
+
+        // Флажок тепловой карты раскрытых клеток (показывается во время следующего поиска)
+        heatmapBox.setFont(BOLD_FONT);
+        heatmapBox.setFocusable(false);
+        heatmapBox.addActionListener(e -> {
+            if (!heatmapBox.isSelected()) mazePanel.clearHeatmap();
+        });
+
         // JComboBox
         algorithmBox = new JComboBox<>(pathMgr.getAvailable().toArray(new String[0]));
         algorithmBox.addActionListener(e -> controller.changeAlgorithm((String) algorithmBox.getSelectedItem()));
@@ -76,6 +114,12 @@ public class MazeView extends JFrame implements Listener {
         controls.add(findPathButton);
         controls.add(new JLabel("Algorithm:"));
         controls.add(algorithmBox);
+        controls.add(cancelButton);
+        controls.add(new JLabel("Speed:"));
+        controls.add(speedSlider);
+        controls.add(skipButton);
+        controls.add(heatmapBox);
+        controls.add(progressLabel);
 
         add(controls, BorderLayout.SOUTH);
         pack();
@@ -94,6 +138,54 @@ public class MazeView extends JFrame implements Listener {
         algorithmBox.setEnabled(enable);
     }
 
+    /**
+     * Переключает элементы управления между режимом поиска пути и обычным режимом.
+     * @param searching - если true, поиск идет: доступна только кнопка отмены.
+     */
+    public void setSearching(boolean searching) {
+        findPathButton.setEnabled(!searching);
+        algorithmBox.setEnabled(!searching);
+        cancelButton.setEnabled(searching);
+        if (searching) {
+            animator.stop();
+            skipButton.setEnabled(false);
+        }
+        if (!searching) mazePanel.stopHeatmap();
+        progressLabel.setText(searching ? "Searching..." : " ");
+        if (!searching) requestFocusForPanel();
+    }
+
+    /**
+     * Проверяет, включена ли тепловая карта раскрытых клеток.
+     * @return {@code true}, если отмечен флажок Heatmap.
+     */
+    public boolean isHeatmapEnabled() {
+        return heatmapBox.isSelected();
+    }
+
+    /**
+     * Начинает показ тепловой карты клеток, раскрываемых текущим поиском.
+     * <p>Карта обновляется с частотой кадров до завершения поиска и остается видимой до следующего
+     * поиска или до снятия флажка.</p>
+     *
+     * @param ring Буфер, в который решатель пишет раскрытые клетки.
+     */
+    public void startHeatmap(ExpansionRing ring) {
+        mazePanel.startHeatmap(ring);
+    }
+
+    /**
+     * Показывает ход текущего поиска пути.
+     *
+     * @param expanded Количество раскрытых узлов.
+     * @param openSize Размер открытого списка.
+     * @param elapsedNanos Время с начала поиска в наносекундах.
+     */
+    public void showProgress(long expanded, long openSize, long elapsedNanos) {
+        if (!cancelButton.isEnabled()) return;
+        progressLabel.setText(String.format("Expanded: %,d, open: %,d, %d ms", expanded, openSize, elapsedNanos / 1_000_000));
+    }
+
     /**
      * Принудительно запрашивает фокус ввода у панели лабиринта.
      */
@@ -101,30 +193,42 @@ public class MazeView extends JFrame implements Listener {
         mazePanel.requestFocusInWindow();
     }
 
-    public void showPath(List<? extends State> path) {
-        animatePath(path.stream().map(s -> (MazeState) s).toList());
+    /**
+     * Анимирует найденный путь и по окончании показывает статистику поиска.
+     * <p>Скорость задается ползунком, а кнопка SKIP сразу показывает оставшуюся часть пути.</p>
+     *
+     * @param path Путь.
+     * @param algorithm Название алгоритма, которым найден путь.
+     * @param stats Статистика поиска этого пути.
+     */
+    public void showPath(List<? extends State> path, String algorithm, SearchStats stats) {
+        animatePath(path.stream().map(s -> (MazeState) s).toList(), algorithm, stats);
     }
 
-    private void animatePath(List<MazeState> path) {
+    private void animatePath(List<MazeState> path, String algorithm, SearchStats stats) {
         if (path.isEmpty()) {
-            JOptionPane.showMessageDialog(this, "Path Not Found!", "Info", JOptionPane.WARNING_MESSAGE);
+            animator.stop();
+            mazePanel.clearPath();
+            JOptionPane.showMessageDialog(this, "Path Not Found!\n" + stats, "Info", JOptionPane.WARNING_MESSAGE);
             return;
         }
-        Timer timer = new Timer();
-        final int[] idx = {0};
-        timer.scheduleAtFixedRate(new TimerTask() {
-            @Override
-            public void run() {
-                if (idx[0] < path.size()) {
-                    mazePanel.updatePath(path.subList(0, idx[0] + 1));
-                    idx[0]++;
-                } else {
-                    timer.cancel();
-                    SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(
-                            MazeView.this, "Path: " + path.size() + " steps\nAlgorithm: " + pathMgr.getCurrentAlgorithmName()));
-                }
-            }
-        }, 0, 100);
+        skipButton.setEnabled(true);
+        animator.start(path, () -> {
+            skipButton.setEnabled(false);
+            JOptionPane.showMessageDialog(this, "Algorithm: " + algorithm + "\n" + stats);
+        });
+    }
+
+    private double animationSpeed() {
+        return Math.pow(10, speedSlider.getValue() / 10.0);
+    }
+
+    /**
+     * Показывает сообщение об ошибке.
+     * @param message Текст сообщения.
+     */
+    public void showError(String message) {
+        JOptionPane.showMessageDialog(this, message, "Error", JOptionPane.ERROR_MESSAGE);
     }
 
     public void showVictory() {
@@ -136,6 +240,33 @@ public class MazeView extends JFrame implements Listener {
         mazePanel.addKeyListener(listener);
     }
 
+    /** Добавляет обработчик мыши к MazePanel */
+    public void addMouseListener(MouseListener listener) {
+        mazePanel.addMouseListener(listener);
+    }
+
+    /**
+     * Возвращает ячейку лабиринта под точкой панели лабиринта.
+     * @param point Точка в координатах MazePanel.
+     * @return Координаты ячейки.
+     */
+    public MazeState cellAt(Point point) {
+        return mazePanel.cellAt(point);
+    }
+
+    /**
+     * Обрабатывает события модели и агента: перерисовывает измененную ячейку или клетки робота
+     * и показывает найденный путь.
+     * @param event Событие модели или агента.
+     */
     @Override
-    public void handle(Event event) { mazePanel.repaint(); }
+    public void handle(Event event) {
+        if (event instanceof MazeChangeEvent change) {
+            mazePanel.cellChanged(change.getX(), change.getY());
+        } else if (event instanceof StateChangeEvent<?>) {
+            mazePanel.robotMoved();
+        } else if (event instanceof PathComputedEvent<?> computed) {
+            showPath(computed.getPath(), computed.getAlgorithm(), computed.getStats());
+        }
+    }
 }
\ No newline at end of file
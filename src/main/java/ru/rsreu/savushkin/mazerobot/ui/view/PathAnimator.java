@@ -0,0 +1,118 @@
+package ru.rsreu.savushkin.mazerobot.ui.view;
+
+import ru.rsreu.savushkin.mazerobot.core.state.maze.MazeState;
+
+import javax.swing.Timer;
+import java.util.List;
+
+/**
+ * Анимация найденного пути на {@link MazePanel}.
+ * <p>Работает на таймере Swing, поэтому вся работа с панелью выполняется в потоке обработки событий.
+ * Таймер срабатывает с частотой кадров, и за кадр к панели добавляются те клетки пути, которые
+ * должны были появиться к этому моменту при текущей скорости; перерисовываются только они. Кадр стоит
+ * O(добавленных клеток), а вся анимация — O(n), поэтому пути из сотен тысяч шагов не копируются и не
+ * перерисовываются целиком. Скорость можно менять на ходу, а анимацию — досрочно завершить.</p>
+ */
+final class PathAnimator {
+    /** Интервал кадров в миллисекундах (около 60 кадров в секунду). */
+    private static final int FRAME_MILLIS = 16;
+
+    private final MazePanel panel;
+    private final Timer timer;
+    private List<MazeState> path = List.of();
+    private int shown;
+    /** Скорость в клетках в секунду. */
+    private double speed;
+    /** Накопленная дробная часть клеток, которые пора показать. */
+    private double due;
+    private long lastTickNanos;
+    private Runnable onFinish;
+
+    /**
+     * Создает аниматор.
+     *
+     * @param panel Панель, на которой показывается путь.
+     * @param cellsPerSecond Начальная скорость.
+     */
+    PathAnimator(MazePanel panel, double cellsPerSecond) {
+        this.panel = panel;
+        this.timer = new Timer(FRAME_MILLIS, e -> tick());
+        setSpeed(cellsPerSecond);
+    }
+
+    /**
+     * Прерывает текущую анимацию и начинает показ нового пути с первой клетки.
+     *
+     * @param path Путь.
+     * @param onFinish Действие после показа последней клетки (в том числе после {@link #skipToEnd()}).
+     */
+    void start(List<MazeState> path, Runnable onFinish) {
+        stop();
+        panel.clearPath();
+        this.path = path;
+        this.onFinish = onFinish;
+        this.shown = 0;
+        this.due = 0;
+        if (path.isEmpty()) {
+            finish();
+            return;
+        }
+        panel.appendPath(path.get(shown++));
+        lastTickNanos = System.nanoTime();
+        timer.start();
+        if (shown == path.size()) finish();
+    }
+
+    /**
+     * Изменяет скорость анимации, не сбрасывая ее положения.
+     *
+     * @param cellsPerSecond Количество клеток пути в секунду.
+     * @throws IllegalArgumentException если скорость не положительна.
+     */
+    void setSpeed(double cellsPerSecond) {
+        if (!(cellsPerSecond > 0)) throw new IllegalArgumentException("Speed must be positive");
+        this.speed = cellsPerSecond;
+    }
+
+    /**
+     * Показывает оставшиеся клетки пути сразу и завершает анимацию.
+     */
+    void skipToEnd() {
+        if (!timer.isRunning()) return;
+        while (shown < path.size()) panel.appendPath(path.get(shown++));
+        finish();
+    }
+
+    /**
+     * Останавливает анимацию без вызова действия завершения. Показанная часть пути остается.
+     */
+    void stop() {
+        timer.stop();
+        onFinish = null;
+    }
+
+    /**
+     * Проверяет, идет ли анимация.
+     * @return {@code true}, если путь еще показывается.
+     */
+    boolean isRunning() {
+        return timer.isRunning();
+    }
+
+    private void tick() {
+        long now = System.nanoTime();
+        due += (now - lastTickNanos) * speed / 1e9;
+        lastTickNanos = now;
+        int count = (int) Math.min(due, path.size() - shown);
+        due -= count;
+        for (int i = 0; i < count; i++) panel.appendPath(path.get(shown++));
+        if (shown == path.size()) finish();
+    }
+
+    private void finish() {
+        timer.stop();
+        Runnable action = onFinish;
+        onFinish = null;
+        if (action != null) action.run();
+    }
+}
@@ -0,0 +1,62 @@
+package ru.rsreu.savushkin.mazerobot.core.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import ru.rsreu.savushkin.mazerobot.core.entity.CellType;
+
+import java.util.concurrent.CyclicBarrier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Тесты изменения {@link MazeModel}: версия растет ровно на число действительных изменений.
+ */
+class MazeModelTest {
+    private static final int THREADS = 8;
+    private static final int ROUNDS = 5000;
+
+    @Test
+    @Timeout(30)
+    void concurrentSameCellChangesBumpVersionOnce() throws Exception {
+        MazeModel maze = new MazeModel(8, 8, 0.0, 1);
+        race(maze, round -> maze.setCell(3, 3, round % 2 == 0 ? CellType.WALL : CellType.EMPTY));
+    }
+
+    @Test
+    @Timeout(30)
+    void concurrentSameTerrainChangesBumpVersionOnce() throws Exception {
+        MazeModel maze = new MazeModel(8, 8, 0.0, 1);
+        race(maze, round -> maze.setTerrainCost(3, 3, round % 2 == 0 ? 5 : 1));
+    }
+
+    /**
+     * В каждом раунде все потоки одновременно выполняют одно и то же изменение,
+     * поэтому версия должна увеличиться ровно на один.
+     */
+    private static void race(MazeModel maze, RoundAction action) throws Exception {
+        CyclicBarrier barrier = new CyclicBarrier(THREADS);
+        Thread[] threads = new Thread[THREADS];
+        long before = maze.getVersion();
+        for (int t = 0; t < THREADS; t++) {
+            threads[t] = new Thread(() -> {
+                try {
+                    for (int round = 0; round < ROUNDS; round++) {
+                        barrier.await();
+                        action.run(round);
+                        barrier.await();
+                    }
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) thread.join();
+        assertEquals(before + ROUNDS, maze.getVersion());
+    }
+
+    @FunctionalInterface
+    private interface RoundAction {
+        void run(int round);
+    }
+}
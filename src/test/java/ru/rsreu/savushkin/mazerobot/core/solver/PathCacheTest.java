@@ -0,0 +1,76 @@
+package ru.rsreu.savushkin.mazerobot.core.solver;
+
+import org.junit.jupiter.api.Test;
+import ru.rsreu.savushkin.mazerobot.core.entity.CellType;
+import ru.rsreu.savushkin.mazerobot.core.model.MazeModel;
+import ru.rsreu.savushkin.mazerobot.core.solver.impl.DepthFirstSolver;
+import ru.rsreu.savushkin.mazerobot.core.solver.impl.GridAStarSolver;
+import ru.rsreu.savushkin.mazerobot.core.state.maze.MazeEnvironment;
+import ru.rsreu.savushkin.mazerobot.core.state.maze.MazeState;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Тесты кэша путей {@link PathCache}.
+ */
+class PathCacheTest {
+    private final ProblemSolver optimal = new GridAStarSolver();
+    private final ProblemSolver nonOptimal = new DepthFirstSolver(DepthFirstSolver.Mode.GRAPH);
+
+    @Test
+    void answersFromSuffixOfOptimalPath() {
+        MazeEnvironment env = new MazeEnvironment(new MazeModel(30, 20, 0.1, 3));
+        List<MazeState> path = optimal.solve(env, env.getInitialState(), null);
+        PathCache cache = new PathCache(16, 1_000_000);
+        cache.put(env, env.getVersion(), env.getInitialState(), optimal, path);
+
+        int middle = path.size() / 2;
+        assertEquals(path.subList(middle, path.size()), cache.get(env, path.get(middle), optimal.getName()));
+        assertNull(cache.get(env, path.get(middle), nonOptimal.getName()));
+        assertEquals(1, cache.getStats().suffixHits());
+        assertEquals(1, cache.getStats().misses());
+    }
+
+    @Test
+    void countsSuffixIndexTowardStateLimit() {
+        MazeEnvironment env = new MazeEnvironment(new MazeModel(30, 20, 0.1, 3));
+        MazeState start = env.getInitialState();
+        List<MazeState> path = optimal.solve(env, start, null);
+        int n = path.size();
+        // Оптимальный путь занимает 2n (путь и индекс), неоптимальный — n.
+        PathCache cache = new PathCache(16, 3L * n - 1);
+        cache.put(env, env.getVersion(), start, optimal, path);
+        assertEquals(2L * n, cache.getStats().states());
+
+        cache.put(env, env.getVersion(), start, nonOptimal, path);
+        assertEquals(1, cache.getStats().evictions());
+        assertEquals(n, cache.getStats().states());
+        assertNull(cache.get(env, path.get(1), optimal.getName()));
+    }
+
+    @Test
+    void dropsEntriesOfOldVersion() {
+        MazeModel maze = new MazeModel(30, 20, 0.1, 3);
+        MazeEnvironment env = new MazeEnvironment(maze);
+        MazeState start = env.getInitialState();
+        PathCache cache = new PathCache(16, 1_000_000);
+        cache.put(env, env.getVersion(), start, optimal, optimal.solve(env, start, null));
+        long oldVersion = env.getVersion();
+
+        maze.setCell(maze.getWidth() / 2, maze.getHeight() / 2,
+                maze.isWall(maze.getWidth() / 2, maze.getHeight() / 2) ? CellType.EMPTY : CellType.WALL);
+        assertTrue(env.getVersion() > oldVersion);
+        assertNull(cache.get(env, start, optimal.getName()));
+        assertEquals(0, cache.getStats().size());
+        assertEquals(0, cache.getStats().states());
+
+        // Путь, найденный для устаревшей версии, не сохраняется.
+        cache.put(env, env.getVersion(), start, optimal, optimal.solve(env, start, null));
+        cache.put(env, oldVersion, start, nonOptimal, List.of(start));
+        assertEquals(1, cache.getStats().size());
+    }
+}
@@ -0,0 +1,91 @@
+package ru.rsreu.savushkin.mazerobot.core.solver.engine;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Тесты очереди корзин {@link BucketQueue}.
+ */
+class BucketQueueTest {
+
+    @Test
+    void pollsInPriorityOrder() {
+        BucketQueue queue = new BucketQueue(3);
+        queue.push(1, 2);
+        queue.push(2, 0);
+        queue.push(3, 3);
+        queue.push(4, 1);
+
+        assertEquals(2, queue.poll());
+        assertEquals(0, queue.getCurrentPriority());
+        assertEquals(4, queue.poll());
+        assertEquals(1, queue.poll());
+        assertEquals(3, queue.poll());
+        assertEquals(3, queue.getCurrentPriority());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    void acceptsOutOfOrderPushesAfterDraining() {
+        BucketQueue queue = new BucketQueue(4);
+        queue.push(1, 2);
+        assertEquals(1, queue.poll());
+        assertTrue(queue.isEmpty());
+
+        // Окно отсчитывается от последнего извлеченного приоритета (2), а не от первой вставки.
+        queue.push(2, 6);
+        queue.push(3, 3);
+        queue.push(4, 2);
+
+        assertEquals(4, queue.poll());
+        assertEquals(2, queue.getCurrentPriority());
+        assertEquals(3, queue.poll());
+        assertEquals(3, queue.getCurrentPriority());
+        assertEquals(2, queue.poll());
+        assertEquals(6, queue.getCurrentPriority());
+    }
+
+    @Test
+    void windowStartsAtInitialPriority() {
+        BucketQueue queue = new BucketQueue(2, 10);
+        queue.push(1, 12);
+        queue.push(2, 10);
+
+        assertEquals(2, queue.poll());
+        assertEquals(1, queue.poll());
+        assertEquals(12, queue.getCurrentPriority());
+    }
+
+    @Test
+    void rejectsPrioritiesOutsideWindow() {
+        BucketQueue queue = new BucketQueue(2);
+        queue.push(1, 1);
+        queue.poll();
+
+        assertThrows(IllegalArgumentException.class, () -> queue.push(2, 0));
+        assertThrows(IllegalArgumentException.class, () -> queue.push(2, 4));
+    }
+
+    @Test
+    void wrapsAroundBucketRing() {
+        BucketQueue queue = new BucketQueue(2);
+        int priority = 0;
+        queue.push(0, 0);
+        for (int i = 1; i <= 100; i++) {
+            queue.poll();
+            assertEquals(priority, queue.getCurrentPriority());
+            priority += 1 + i % 2;
+            queue.push(i, priority);
+        }
+        assertEquals(100, queue.poll());
+        assertEquals(priority, queue.getCurrentPriority());
+    }
+
+    @Test
+    void pollOnEmptyQueueThrows() {
+        assertThrows(IllegalStateException.class, () -> new BucketQueue(1).poll());
+    }
+}
@@ -0,0 +1,56 @@
+package ru.rsreu.savushkin.mazerobot.core.solver.impl;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import ru.rsreu.savushkin.mazerobot.core.model.MazeModel;
+import ru.rsreu.savushkin.mazerobot.core.model.generator.TerrainGenerator;
+import ru.rsreu.savushkin.mazerobot.core.state.maze.MazeEnvironment;
+import ru.rsreu.savushkin.mazerobot.core.state.maze.MazeState;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Тесты {@link BucketAStarSolver}: стоимость пути сравнивается с {@link AStarSolver} для случайных
+ * пар старта и цели, а не только для запроса из угла в угол.
+ */
+class BucketAStarSolverTest {
+    private static final int QUERIES_PER_MAZE = 200;
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 4, 16})
+    void matchesAStarCostsForRandomQueries(int maxTerrainCost) {
+        BucketAStarSolver bucket = new BucketAStarSolver();
+        AStarSolver reference = new AStarSolver();
+        Random random = new Random(maxTerrainCost);
+        for (int seed = 1; seed <= 5; seed++) {
+            MazeModel maze = new MazeModel(10 + seed * 7, 13 + seed * 5, 0.25, seed);
+            if (maxTerrainCost > 0) maze.generateTerrain(new TerrainGenerator(maxTerrainCost, 4), seed);
+            for (int query = 0; query < QUERIES_PER_MAZE; query++) {
+                MazeState start = randomFloor(maze, random);
+                MazeState goal = randomFloor(maze, random);
+                MazeEnvironment env = new MazeEnvironment(maze, start, goal);
+
+                List<MazeState> expected = reference.solve(env, start, null);
+                List<MazeState> actual = bucket.solve(env, start, null);
+
+                String message = "maze " + seed + ", " + start + " -> " + goal;
+                assertEquals(expected.isEmpty(), actual.isEmpty(), message);
+                if (actual.isEmpty()) continue;
+                assertEquals(start, actual.get(0), message);
+                assertEquals(goal, actual.get(actual.size() - 1), message);
+                assertEquals(env.pathCost(expected), env.pathCost(actual), message);
+            }
+        }
+    }
+
+    private static MazeState randomFloor(MazeModel maze, Random random) {
+        while (true) {
+            int x = random.nextInt(maze.getWidth());
+            int y = random.nextInt(maze.getHeight());
+            if (!maze.isWall(x, y)) return new MazeState(x, y);
+        }
+    }
+}
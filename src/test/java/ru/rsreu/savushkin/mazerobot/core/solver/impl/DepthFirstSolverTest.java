@@ -0,0 +1,46 @@
+package ru.rsreu.savushkin.mazerobot.core.solver.impl;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import ru.rsreu.savushkin.mazerobot.core.entity.CellType;
+import ru.rsreu.savushkin.mazerobot.core.model.MazeModel;
+import ru.rsreu.savushkin.mazerobot.core.solver.PathFindingManager;
+import ru.rsreu.savushkin.mazerobot.core.state.maze.MazeEnvironment;
+import ru.rsreu.savushkin.mazerobot.core.state.maze.MazeState;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Тесты {@link DepthFirstSolver}: режим по умолчанию должен оставаться линейным.
+ */
+class DepthFirstSolverTest {
+
+    @Test
+    @Timeout(10)
+    void defaultSolverFinishesWhenGoalIsWalledOff() {
+        MazeModel maze = new MazeModel(10, 10, 0.0, 1);
+        MazeState goal = maze.getGoal();
+        for (int dx = -2; dx <= 2; dx++) {
+            for (int dy = -2; dy <= 2; dy++) {
+                int x = goal.x() + dx;
+                int y = goal.y() + dy;
+                boolean ring = Math.max(Math.abs(dx), Math.abs(dy)) >= 1;
+                if (ring && x >= 0 && y >= 0 && x < maze.getWidth() && y < maze.getHeight()) {
+                    maze.setCell(x, y, CellType.WALL);
+                }
+            }
+        }
+        MazeEnvironment env = new MazeEnvironment(maze);
+        DepthFirstSolver solver = new DepthFirstSolver();
+
+        assertEquals("Depth-First Search (Graph DFS)", solver.getName());
+        assertTrue(solver.solve(env, env.getInitialState(), null).isEmpty());
+    }
+
+    @Test
+    void unboundedTreeSearchIsNotRegistered() {
+        assertFalse(new PathFindingManager().getAvailable().contains("Depth-First Search (Tree DFS)"));
+    }
+}